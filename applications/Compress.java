@@ -5,13 +5,11 @@ package applications;
 import java.io.*;
 import dataStructures.*;
 import utilities.*;
-import wrappers.*;
 
 public class Compress
 {
    // class data members
    // constants
-   final static int D = 4099;      // hash function divisor
    final static int MAX_CODES = 4096;  // 2^12
    final static int BYTE_SIZE = 8;
    final static int EXCESS = 4;    // 12 - ByteSize
@@ -47,11 +45,12 @@ public class Compress
    /** Lempel-Ziv-Welch compressor */
    private static void compress() throws IOException
    {
-      // define and initialize the code dictionary
-      HashChains h = new HashChains(D);
+      // define and initialize the code dictionary, keys and
+      // codes are ints, so no object is created per lookup
+      IntIntHashMap h = new IntIntHashMap(MAX_CODES);
       for (int i = 0; i < ALPHA; i++)
          // initialize code table
-         h.put(new MyInteger(i), new MyInteger(i));
+         h.put(i, i);
 
       int codesUsed = ALPHA;
    
@@ -65,16 +64,15 @@ public class Compress
          {// process byte c
             int k = (pcode << BYTE_SIZE) + c;
             // see if code for k is in the dictionary
-            MyInteger e = (MyInteger) h.get(new MyInteger(k));
-            if (e == null)
+            int e = h.get(k, -1);
+            if (e == -1)
             {// k is not in the table
                output(pcode);
                if (codesUsed < MAX_CODES) // create new code
-                  h.put(new MyInteger((pcode << BYTE_SIZE) + c),
-                        new MyInteger(codesUsed++));
+                  h.put(k, codesUsed++);
                pcode = c;
             }
-            else pcode = e.intValue();
+            else pcode = e;
             c = in.read();
          }
       
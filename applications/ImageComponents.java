@@ -33,6 +33,9 @@ public class ImageComponents
    // data members
    private static int [][] pixel;
    private static int size;      // number of rows and columns in the image
+   // row and column offsets for right, down, left, up
+   private static final int [] rowOffset = {0, 1, 0, -1};
+   private static final int [] colOffset = {1, 0, -1, 0};
    
    // methods
    /* not yet implemented */
@@ -105,6 +108,62 @@ public class ImageComponents
            } // end of if, for c, and for r
    }
    
+   /** label the components of thePixel, which has theSize + 2
+     * rows and columns */
+   public static void labelComponents(int [][] thePixel, int theSize)
+   {
+      pixel = thePixel;
+      size = theSize;
+      labelComponents();
+   }
+
+   /** same as labelComponents(thePixel, theSize), but component
+     * pixels are put on q packed by PackedPosition, so no object
+     * is created per pixel */
+   public static void labelComponents(int [][] thePixel, int theSize,
+                                      LongArrayQueue q)
+   {
+      // initialize wall of 0 pixels
+      for (int i = 0; i <= theSize + 1; i++)
+      {
+         thePixel[0][i] = thePixel[theSize + 1][i] = 0; // bottom and top
+         thePixel[i][0] = thePixel[i][theSize + 1] = 0; // left and right
+      }
+
+      q.clear();
+      int id = 1;  // component id
+
+      // scan all pixels labeling components
+      for (int r = 1; r <= theSize; r++)      // row r of image
+         for (int c = 1; c <= theSize; c++)   // column c of image
+           if (thePixel[r][c] == 1)
+           {// new component
+              thePixel[r][c] = ++id; // get next id
+              int row = r, col = c;  // a component pixel
+
+              while (true)
+              {// find rest of component
+                 for (int i = 0; i < rowOffset.length; i++)
+                 {// check all neighbors of (row, col)
+                    int nbrRow = row + rowOffset[i];
+                    int nbrCol = col + colOffset[i];
+                    if (thePixel[nbrRow][nbrCol] == 1)
+                    {// pixel is part of current component
+                       thePixel[nbrRow][nbrCol] = id;
+                       q.put(PackedPosition.pack(nbrRow, nbrCol));
+                    }
+                 }
+
+                 // any unexplored pixels in component?
+                 if (q.isEmpty()) break;
+                 long here = q.remove();
+                 row = PackedPosition.row(here);
+                 col = PackedPosition.col(here);
+              }
+
+           } // end of if, for c, and for r
+   }
+
    /** output labeled image */
    private static void outputImage()
    {
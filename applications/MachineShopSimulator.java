@@ -26,7 +26,7 @@ public class MachineShopSimulator
    private static class Job
    {
       // data members
-      private LinkedQueue taskQ;  // this job's tasks
+      private SegmentedQueue taskQ;  // this job's tasks
       private int length;         // sum of scheduled task times
       private int arrivalTime;    // arrival time at current queue
       private int id;             // job identifier
@@ -35,7 +35,7 @@ public class MachineShopSimulator
       private Job(int theId)
       {
          id = theId;
-         taskQ = new LinkedQueue();
+         taskQ = new SegmentedQueue(8);  // jobs have few tasks
          // length and arrivalTime have default value 0
       }
 
@@ -57,7 +57,7 @@ public class MachineShopSimulator
    private static class Machine
    {
       // data members
-      LinkedQueue jobQ; // queue of waiting jobs for this machine
+      SegmentedQueue jobQ; // queue of waiting jobs for this machine
       int changeTime;   // machine change-over time
       int totalWait;    // total delay at this machine
       int numTasks;     // number of tasks processed on this machine
@@ -65,7 +65,7 @@ public class MachineShopSimulator
 
       // constructor
       private Machine()
-         {jobQ = new LinkedQueue();}
+         {jobQ = new SegmentedQueue();}
    }
 
    private static class EventList
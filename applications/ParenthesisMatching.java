@@ -10,13 +10,13 @@ public class ParenthesisMatching
    /** output the matched parenthesis pairs in the string expr */
    public static void printMatchedPairs(String expr)
    {
-      ArrayStack s = new ArrayStack();
+      IntArrayStack s = new IntArrayStack();
       int length = expr.length();
    
       // scan expression expr for ( and )
       for (int i = 0; i < length; i++)
          if (expr.charAt(i) == '(')
-            s.push(new Integer(i));
+            s.push(i);
          else
             if (expr.charAt(i) == ')')
       	    try
@@ -32,6 +32,9 @@ public class RatInAMaze
    private static byte [][] maze;
    private static int size;   // number of rows and columns in the maze
    private static ArrayStack path;  // path to current position
+   // row and column offsets for right, down, left, up
+   private static final int [] rowOffset = {0, 1, 0, -1};
+   private static final int [] colOffset = {1, 0, -1, 0};
    
    // methods
    /* not yet implemented */
@@ -116,6 +119,76 @@ public class RatInAMaze
       return true;  // at exit
    }
    
+   /** find a path from (1,1) to the exit (theSize, theSize) in
+     * theMaze, which has theSize + 2 rows and columns
+     * @return true if successful, false if impossible */
+   public static boolean findPath(byte [][] theMaze, int theSize)
+   {
+      maze = theMaze;
+      size = theSize;
+      return findPath();
+   }
+
+   /** same as findPath(theMaze, theSize), but the positions on the
+     * path are pushed onto thePath packed by PackedPosition, so
+     * no object is created per move
+     * @return true if successful, false if impossible */
+   public static boolean findPath(byte [][] theMaze, int theSize,
+                                  LongArrayStack thePath)
+   {
+      // initialize wall of obstacles around maze
+      for (int i = 0; i <= theSize + 1; i++)
+      {
+         theMaze[0][i] = theMaze[theSize + 1][i] = 1; // bottom and top
+         theMaze[i][0] = theMaze[i][theSize + 1] = 1; // left and right
+      }
+
+      thePath.clear();
+      int row = 1, col = 1;   // current position
+      theMaze[1][1] = 1; // prevent return to entrance
+      int option = 0; // next move
+      int lastOption = 3;
+
+      // search for a path
+      while (row != theSize || col != theSize)
+      {// not at exit
+          // find a neighbor to move to
+          int r = 0, c = 0;   // row and column of neighbor
+          while (option <= lastOption)
+          {
+             r = row + rowOffset[option];
+             c = col + colOffset[option];
+             if (theMaze[r][c] == 0) break;
+             option++; // next option
+          }
+
+          // was a neighbor found?
+          if (option <= lastOption)  // yes
+          {// move to theMaze[r][c]
+              thePath.push(PackedPosition.pack(row, col));
+              row = r;
+              col = c;
+              // set to 1 to prevent revisit
+              theMaze[r][c] = 1;
+              option = 0;
+          }
+          else
+          {// no neighbor to move to, back up
+              if (thePath.empty()) return false;  // no place to back up to
+              long next = thePath.pop();
+              int nextRow = PackedPosition.row(next);
+              int nextCol = PackedPosition.col(next);
+              if (nextRow == row)
+                 option = 2 + nextCol - col;
+              else option = 3 + nextRow - row;
+              row = nextRow;
+              col = nextCol;
+          }
+      }
+
+      return true;  // at exit
+   }
+
    /** output path to exit */
    private static void outputPath()
    {
@@ -37,6 +37,9 @@ public class WireRouter
    private static Position start,   // one end point of wire
                            finish;  // other end point
    private static Position [] path; // the shortest path
+   // row and column offsets for right, down, left, up
+   private static final int [] rowOffset = {0, 1, 0, -1};
+   private static final int [] colOffset = {1, 0, -1, 0};
    
    // methods
    /* not yet implemented */
@@ -146,6 +149,96 @@ public class WireRouter
       return true;
    }
    
+   /** find a shortest path from (startRow, startCol) to
+     * (finishRow, finishCol) in theGrid, which has theSize + 2
+     * rows and columns
+     * @return true if successful, false if impossible */
+   public static boolean findPath(int [][] theGrid, int theSize,
+                                  int startRow, int startCol,
+                                  int finishRow, int finishCol)
+   {
+      grid = theGrid;
+      size = theSize;
+      start = new Position(startRow, startCol);
+      finish = new Position(finishRow, finishCol);
+      return findPath();
+   }
+
+   /** same as findPath(theGrid, theSize, ...), but reached positions
+     * are put on q packed by PackedPosition, so no object is created
+     * per labeled grid position
+     * @param theStart packed start position
+     * @param theFinish packed finish position
+     * @return the shortest path as packed positions, finish last
+     * @return null if there is no path */
+   public static long [] findPath(int [][] theGrid, int theSize,
+                                  long theStart, long theFinish,
+                                  LongArrayQueue q)
+   {
+      if (theStart == theFinish)
+         return new long [0];
+      int finishRow = PackedPosition.row(theFinish);
+      int finishCol = PackedPosition.col(theFinish);
+
+      // initialize wall of blocks around the grid
+      for (int i = 0; i <= theSize + 1; i++)
+      {
+         theGrid[0][i] = theGrid[theSize + 1][i] = 1; // bottom and top
+         theGrid[i][0] = theGrid[i][theSize + 1] = 1; // left and right
+      }
+
+      int row = PackedPosition.row(theStart);
+      int col = PackedPosition.col(theStart);
+      theGrid[row][col] = 2; // block
+
+      // label reachable grid positions
+      q.clear();
+      do
+      {// label neighbors of (row, col)
+         for (int i = 0; i < rowOffset.length; i++)
+         {
+            int r = row + rowOffset[i];
+            int c = col + colOffset[i];
+            if (theGrid[r][c] == 0)
+            {  // unlabeled nbr, label it
+               theGrid[r][c] = theGrid[row][col] + 1;
+               if (r == finishRow && c == finishCol) break; // done
+               // put on queue for later expansion
+               q.put(PackedPosition.pack(r, c));
+            }
+         }
+
+         // have we reached finish? labels of reached positions are > 2
+         if (theGrid[finishRow][finishCol] > 2) break;   // done
+
+         // finish not reached, can we move to a nbr?
+         if (q.isEmpty()) return null;          // no path
+         long here = q.remove();  // get next position
+         row = PackedPosition.row(here);
+         col = PackedPosition.col(here);
+      } while (true);
+
+      // construct path, trace backwards from finish
+      int pathLength = theGrid[finishRow][finishCol] - 2;
+      long [] thePath = new long [pathLength];
+      row = finishRow;
+      col = finishCol;
+      for (int j = pathLength - 1; j >= 0; j--)
+      {
+         thePath[j] = PackedPosition.pack(row, col);
+         // move to predecessor position
+         for (int i = 0; i < rowOffset.length; i++)
+            if (theGrid[row + rowOffset[i]][col + colOffset[i]] == j + 2)
+            {
+               row += rowOffset[i];
+               col += colOffset[i];
+               break;
+            }
+      }
+
+      return thePath;
+   }
+
    /** output path to exit */
    private static void outputPath()
    {
@@ -0,0 +1,450 @@
+
+
+/** bounded BlockingQueue that uses a one-dimensional array;
+  * puts hold putLock and removes hold takeLock, so a producer
+  * and a consumer never wait for each other's lock, and the
+  * element count is the only state they share.
+  * Waiting is done with java.util.concurrent.locks rather than
+  * synchronized and wait, so a waiting virtual thread releases
+  * its carrier thread. */
+
+package dataStructures;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.*;
+
+public class ArrayBlockingQueue implements BlockingQueue
+{
+   // data members
+   private final Object [] queue;    // element array
+   private int takeIndex;            // position of front element,
+                                     // guarded by takeLock
+   private int putIndex;             // position for next put,
+                                     // guarded by putLock
+   private final AtomicInteger count = new AtomicInteger();
+                                     // number of elements in queue
+
+   private final ReentrantLock takeLock = new ReentrantLock();
+   private final Condition notEmpty = takeLock.newCondition();
+   private final ReentrantLock putLock = new ReentrantLock();
+   private final Condition notFull = putLock.newCondition();
+
+   // constructors
+   /** create a queue with the given capacity
+     * @throws IllegalArgumentException when capacity < 1 */
+   public ArrayBlockingQueue(int capacity)
+   {
+      if (capacity < 1)
+         throw new IllegalArgumentException
+               ("capacity must be >= 1");
+      queue = new Object [capacity];
+      // default takeIndex = putIndex = 0
+   }
+
+   /** create a queue with capacity 10 */
+   public ArrayBlockingQueue()
+   {// use default capacity of 10
+      this(10);
+   }
+
+   // methods
+   /** @return true iff queue is empty */
+   public boolean isEmpty()
+      {return count.get() == 0;}
+
+   /** @return number of elements in queue */
+   public int size()
+      {return count.get();}
+
+   /** @return number of elements that can be put without waiting */
+   public int remainingCapacity()
+      {return queue.length - count.get();}
+
+   /** @return front element of queue
+     * @return null if queue is empty */
+   public Object getFrontElement()
+   {
+      takeLock.lock();
+      try
+      {
+         return (count.get() == 0) ? null : queue[takeIndex];
+      }
+      finally
+      {
+         takeLock.unlock();
+      }
+   }
+
+   /** @return rear element of queue
+     * @return null if the queue is empty */
+   public Object getRearElement()
+   {
+      // hold both locks so that the rear element cannot be removed
+      putLock.lock();
+      takeLock.lock();
+      try
+      {
+         if (count.get() == 0)
+            return null;
+         return queue[(putIndex == 0) ? queue.length - 1 : putIndex - 1];
+      }
+      finally
+      {
+         takeLock.unlock();
+         putLock.unlock();
+      }
+   }
+
+   /** put theElement at the rear of the queue, caller holds putLock
+     * and the queue is not full
+     * @return number of elements before the put */
+   private int enqueue(Object theElement)
+   {
+      queue[putIndex] = theElement;
+      if (++putIndex == queue.length)
+         putIndex = 0;
+      int c = count.getAndIncrement();   // publishes theElement
+      if (c + 1 < queue.length)
+         // wake another waiting producer
+         notFull.signal();
+      return c;
+   }
+
+   /** remove the front element, caller holds takeLock
+     * and the queue is not empty */
+   private Object dequeue()
+   {
+      Object frontElement = queue[takeIndex];
+      queue[takeIndex] = null;   // enable garbage collection
+      if (++takeIndex == queue.length)
+         takeIndex = 0;
+      return frontElement;
+   }
+
+   /** wake a consumer after a put into an empty queue */
+   private void signalNotEmpty()
+   {
+      takeLock.lock();
+      try
+      {
+         notEmpty.signal();
+      }
+      finally
+      {
+         takeLock.unlock();
+      }
+   }
+
+   /** wake a producer after a remove from a full queue */
+   private void signalNotFull()
+   {
+      putLock.lock();
+      try
+      {
+         notFull.signal();
+      }
+      finally
+      {
+         putLock.unlock();
+      }
+   }
+
+   /** @throws IllegalArgumentException when theElement is null */
+   static void checkElement(Object theElement)
+   {
+      if (theElement == null)
+         throw new IllegalArgumentException("null elements not allowed");
+   }
+
+   /** put theElement at the rear of the queue unless it is full
+     * @return true iff theElement was put
+     * @throws IllegalArgumentException when theElement is null */
+   public boolean offer(Object theElement)
+   {
+      checkElement(theElement);
+      if (count.get() == queue.length)
+         return false;
+
+      int c;
+      putLock.lock();
+      try
+      {
+         if (count.get() == queue.length)
+            return false;
+         c = enqueue(theElement);
+      }
+      finally
+      {
+         putLock.unlock();
+      }
+      if (c == 0)
+         signalNotEmpty();
+      return true;
+   }
+
+   /** insert theElement at the rear of the queue, waiting while
+     * the queue is full; an interrupt does not end the wait, the
+     * interrupt status is set again when put returns
+     * @throws IllegalArgumentException when theElement is null */
+   public void put(Object theElement)
+   {
+      checkElement(theElement);
+
+      int c;
+      putLock.lock();
+      try
+      {
+         while (count.get() == queue.length)
+            notFull.awaitUninterruptibly();
+         c = enqueue(theElement);
+      }
+      finally
+      {
+         putLock.unlock();
+      }
+      if (c == 0)
+         signalNotEmpty();
+   }
+
+   /** insert theElement at the rear of the queue, waiting up to
+     * timeout while the queue is full
+     * @return true iff theElement was put
+     * @throws IllegalArgumentException when theElement is null
+     * @throws InterruptedException when interrupted while waiting */
+   public boolean put(Object theElement, long timeout, TimeUnit unit)
+          throws InterruptedException
+   {
+      checkElement(theElement);
+
+      long nanos = unit.toNanos(timeout);
+      int c;
+      putLock.lockInterruptibly();
+      try
+      {
+         while (count.get() == queue.length)
+         {
+            if (nanos <= 0)
+               return false;
+            nanos = notFull.awaitNanos(nanos);
+         }
+         c = enqueue(theElement);
+      }
+      finally
+      {
+         putLock.unlock();
+      }
+      if (c == 0)
+         signalNotEmpty();
+      return true;
+   }
+
+   /** remove an element from the front of the queue
+     * without waiting
+     * @return removed element
+     * @return null if the queue is empty */
+   public Object remove()
+   {
+      if (count.get() == 0)
+         return null;
+
+      Object frontElement;
+      int c;
+      takeLock.lock();
+      try
+      {
+         if (count.get() == 0)
+            return null;
+         frontElement = dequeue();
+         c = count.getAndDecrement();
+         if (c > 1)
+            // wake another waiting consumer
+            notEmpty.signal();
+      }
+      finally
+      {
+         takeLock.unlock();
+      }
+      if (c == queue.length)
+         signalNotFull();
+      return frontElement;
+   }
+
+   /** remove an element from the front of the queue,
+     * waiting while the queue is empty
+     * @return removed element
+     * @throws InterruptedException when interrupted while waiting */
+   public Object take() throws InterruptedException
+   {
+      Object frontElement;
+      int c;
+      takeLock.lockInterruptibly();
+      try
+      {
+         while (count.get() == 0)
+            notEmpty.await();
+         frontElement = dequeue();
+         c = count.getAndDecrement();
+         if (c > 1)
+            notEmpty.signal();
+      }
+      finally
+      {
+         takeLock.unlock();
+      }
+      if (c == queue.length)
+         signalNotFull();
+      return frontElement;
+   }
+
+   /** remove an element from the front of the queue,
+     * waiting up to timeout while the queue is empty
+     * @return removed element
+     * @return null if the queue stayed empty
+     * @throws InterruptedException when interrupted while waiting */
+   public Object remove(long timeout, TimeUnit unit)
+          throws InterruptedException
+   {
+      long nanos = unit.toNanos(timeout);
+      Object frontElement;
+      int c;
+      takeLock.lockInterruptibly();
+      try
+      {
+         while (count.get() == 0)
+         {
+            if (nanos <= 0)
+               return null;
+            nanos = notEmpty.awaitNanos(nanos);
+         }
+         frontElement = dequeue();
+         c = count.getAndDecrement();
+         if (c > 1)
+            notEmpty.signal();
+      }
+      finally
+      {
+         takeLock.unlock();
+      }
+      if (c == queue.length)
+         signalNotFull();
+      return frontElement;
+   }
+
+   /** wait while the queue is empty, then remove up to maxElements
+     * elements from the front of the queue under one lock hold
+     * @return removed elements, front element first
+     * @throws IllegalArgumentException when maxElements < 1
+     * @throws InterruptedException when interrupted while waiting */
+   public Object [] drain(int maxElements) throws InterruptedException
+   {
+      if (maxElements < 1)
+         throw new IllegalArgumentException
+               ("maxElements must be >= 1");
+
+      Object [] removed;
+      int c;
+      takeLock.lockInterruptibly();
+      try
+      {
+         while (count.get() == 0)
+            notEmpty.await();
+         int n = Math.min(maxElements, count.get());
+         removed = new Object [n];
+         for (int i = 0; i < n; i++)
+            removed[i] = dequeue();
+         c = count.getAndAdd(-n);
+         if (c > n)
+            notEmpty.signal();
+      }
+      finally
+      {
+         takeLock.unlock();
+      }
+      if (c == queue.length)
+         // producers waiting for space signal each other in turn
+         signalNotFull();
+      return removed;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      putLock.lock();
+      takeLock.lock();
+      try
+      {
+         StringBuffer s = new StringBuffer("[");
+         int n = count.get();
+         for (int i = 0, j = takeIndex; i < n; i++)
+         {
+            if (i > 0)
+               s.append(", ");
+            s.append(queue[j].toString());
+            if (++j == queue.length)
+               j = 0;
+         }
+         s.append("]");
+
+         // create equivalent String
+         return new String(s);
+      }
+      finally
+      {
+         takeLock.unlock();
+         putLock.unlock();
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args) throws InterruptedException
+   {
+      final ArrayBlockingQueue q = new ArrayBlockingQueue(3);
+
+      // add a few elements
+      q.put(new Integer(1));
+      q.put(new Integer(2));
+      q.put(new Integer(3));
+      System.out.println("The queue is " + q);
+      System.out.println("Offer when full returns " +
+                         q.offer(new Integer(4)));
+      System.out.println("Timed put when full returns " +
+                         q.put(new Integer(4), 10, TimeUnit.MILLISECONDS));
+      System.out.println("Rear element is " + q.getRearElement());
+      System.out.println("Front element is " + q.getFrontElement());
+
+      // wraparound and drain
+      System.out.println("Removed the element " + q.remove());
+      q.put(new Integer(4));
+      Object [] a = q.drain(10);
+      System.out.print("Drained " + a.length + " elements:");
+      for (int i = 0; i < a.length; i++)
+         System.out.print(" " + a[i]);
+      System.out.println();
+      System.out.println("Timed remove when empty returns " +
+                         q.remove(10, TimeUnit.MILLISECONDS));
+
+      // a producer fills the small queue faster than the
+      // consumer takes from it
+      final int n = 100000;
+      Thread producer = new Thread()
+      {
+         public void run()
+         {
+            for (int i = 1; i <= n; i++)
+               q.put(new Integer(i));
+         }
+      };
+      producer.start();
+      long sum = 0;
+      for (int i = 0; i < n; )
+      {
+         Object [] batch = q.drain(2);
+         for (int j = 0; j < batch.length; j++)
+            sum += ((Integer) batch[j]).intValue();
+         i += batch.length;
+      }
+      producer.join();
+      System.out.println("Sum of elements handed over is " + sum);
+   }
+}
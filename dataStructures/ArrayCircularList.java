@@ -4,6 +4,10 @@
 
 package dataStructures;
 
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
 public class ArrayCircularList implements LinearList
 {
    // data members
@@ -196,6 +200,77 @@ public class ArrayCircularList implements LinearList
       return new String(s);
    }
 
+
+   /** @return a spliterator over the elements, trySplit
+     * hands out the lower half of the remaining index range */
+   public Spliterator spliterator()
+      {return new ArrayCircularListSpliterator(0, size());}
+
+   /** @return a sequential stream of the elements */
+   public Stream stream()
+      {return StreamSupport.stream(spliterator(), false);}
+
+   /** @return a parallel stream of the elements */
+   public Stream parallelStream()
+      {return StreamSupport.stream(spliterator(), true);}
+
+   /** spliterator over the elements with index
+     * nextIndex through fence - 1 */
+   private class ArrayCircularListSpliterator implements Spliterator
+   {
+      // data members
+      private int nextIndex;  // index of next element
+      private int fence;      // one more than index of last element
+
+      // constructor
+      public ArrayCircularListSpliterator(int theNextIndex, int theFence)
+      {
+         nextIndex = theNextIndex;
+         fence = theFence;
+      }
+
+      // methods
+      /** give the next element to action
+        * @return false iff there is no next element */
+      public boolean tryAdvance(Consumer action)
+      {
+         if (nextIndex >= fence)
+            return false;
+         action.accept(element[(first + nextIndex++) % element.length]);
+         return true;
+      }
+
+      /** give the remaining elements to action */
+      public void forEachRemaining(Consumer action)
+      {
+         for (; nextIndex < fence; nextIndex++)
+            action.accept(element[(first + nextIndex) % element.length]);
+      }
+
+      /** @return spliterator for the lower half of the remaining
+        * elements, null if there are too few to split */
+      public Spliterator trySplit()
+      {
+         int middle = (nextIndex + fence) >>> 1;
+         if (middle <= nextIndex)
+            return null;
+         Spliterator lowerHalf =
+               new ArrayCircularListSpliterator(nextIndex, middle);
+         nextIndex = middle;
+         return lowerHalf;
+      }
+
+      /** @return number of remaining elements */
+      public long estimateSize()
+         {return fence - nextIndex;}
+
+      public int characteristics()
+      {
+         return Spliterator.ORDERED | Spliterator.SIZED |
+                Spliterator.SUBSIZED;
+      }
+   }
+
    /** test program */
    public static void main(String [] args)
    {
@@ -248,5 +323,12 @@ public class ArrayCircularList implements LinearList
          System.out.println("The list is not empty");
 
       System.out.println("List size is " + x.size());
+
+      // test stream
+      ArrayCircularList y = new ArrayCircularList(4);
+      for (int i = 1; i <= 100; i++)
+         y.add(0, new Integer(101 - i));
+      System.out.println("Sum by parallel stream is " +
+         y.parallelStream().mapToInt(e -> ((Integer) e).intValue()).sum());
    }
 }
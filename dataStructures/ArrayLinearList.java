@@ -4,6 +4,7 @@
 package dataStructures;
 
 import java.util.*;
+import java.util.stream.*;
 import utilities.*;
 
 public class ArrayLinearList implements LinearList
@@ -141,6 +142,22 @@ public class ArrayLinearList implements LinearList
    public Iterator iterator()
       {return new ArrayLinearListIterator(this);}
 
+   /** @return a spliterator over the elements, trySplit
+     * hands out the lower half of the remaining index range */
+   public Spliterator spliterator()
+   {
+      return Spliterators.spliterator(element, 0, size,
+                                      Spliterator.ORDERED);
+   }
+
+   /** @return a sequential stream of the elements */
+   public Stream stream()
+      {return StreamSupport.stream(spliterator(), false);}
+
+   /** @return a parallel stream of the elements */
+   public Stream parallelStream()
+      {return StreamSupport.stream(spliterator(), true);}
+
    /** test program */
    public static void main(String [] args)
    {
@@ -191,5 +208,12 @@ public class ArrayLinearList implements LinearList
       else System.out.println("The list is not empty");
    
       System.out.println("List size is " + x.size());
+
+      // test stream
+      ArrayLinearList y = new ArrayLinearList();
+      for (int i = 1; i <= 100; i++)
+         y.add(i - 1, new Integer(i));
+      System.out.println("Sum by parallel stream is " +
+         y.parallelStream().mapToInt(e -> ((Integer) e).intValue()).sum());
    }
 }
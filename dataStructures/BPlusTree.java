@@ -0,0 +1,594 @@
+
+
+/** B+ tree dictionary; a node holds up to order keys in a sorted
+  * array that is searched by binary search, so with order in the
+  * tens or hundreds the tree is only a few levels deep and each
+  * level costs a few cache misses rather than one per key compared.
+  * All elements are in the leaves, and the leaves are linked in
+  * ascending order of key for range scans. Every node other than
+  * the root has at least order / 2 keys. */
+
+package dataStructures;
+
+import java.util.*;
+
+public class BPlusTree implements Dictionary
+{
+   // top-level nested classes
+   static class Node
+   {
+      // data members
+      Comparable [] keys;   // keys[0:size-1] in ascending order,
+                            // one extra slot for a key before a split
+      int size;             // number of keys
+
+      // constructor
+      Node(int order)
+         {keys = new Comparable [order + 1];}
+   }
+
+   static final class LeafNode extends Node
+   {
+      // data members
+      Object [] elements;   // elements[i] has key keys[i]
+      LeafNode next;        // leaf with the next larger keys
+
+      // constructor
+      LeafNode(int order)
+      {
+         super(order);
+         elements = new Object [order + 1];
+      }
+   }
+
+   /** keys in children[i] are < keys[i] <= keys in children[i + 1] */
+   static final class InternalNode extends Node
+   {
+      // data member
+      Node [] children;     // children[0:size]
+
+      // constructor
+      InternalNode(int order)
+      {
+         super(order);
+         children = new Node [order + 2];
+      }
+   }
+
+   // data members of BPlusTree
+   protected int order;          // max number of keys in a node
+   protected int minKeys;        // min number of keys in a nonroot node
+   protected Node root;          // root node
+   protected int size;           // number of elements in the tree
+   private Comparable splitKey;  // set by insert when a node splits
+   private Object elementToReturn;  // set by insert
+
+   // constructors
+   /** create an empty tree whose nodes have up to order keys
+     * @throws IllegalArgumentException when order < 4 */
+   public BPlusTree(int order)
+   {
+      if (order < 4)
+         throw new IllegalArgumentException("order must be >= 4");
+      this.order = order;
+      minKeys = order / 2;
+      root = new LeafNode(order);
+   }
+
+   /** create an empty tree whose nodes have up to 64 keys */
+   public BPlusTree()
+      {this(64);}
+
+   /** create a tree of the elements theElements[i] with keys
+     * theKeys[i] in O(n) time; the keys must be in ascending order.
+     * The nodes of each level are filled about equally, as full as
+     * order allows.
+     * @throws IllegalArgumentException when order < 4, a key is null
+     * or the keys are not in ascending order, or theKeys and
+     * theElements differ in length or an element is null */
+   public BPlusTree(int order, Comparable [] theKeys, Object [] theElements)
+   {
+      this(order);
+      int n = theKeys.length;
+      if (n != theElements.length)
+         throw new IllegalArgumentException
+               ("theKeys and theElements must have the same length");
+      for (int i = 0; i < n; i++)
+      {
+         check(theKeys[i], theElements[i]);
+         if (i > 0 && theKeys[i - 1].compareTo(theKeys[i]) >= 0)
+            throw new IllegalArgumentException
+                  ("keys must be in ascending order");
+      }
+      if (n == 0)
+         return;
+
+      // make the leaves, level[j] is node j of the level being made
+      // and lowKey[j] is the smallest key in its subtree
+      int count = (n + order - 1) / order;  // number of leaves
+      Node [] level = new Node [count];
+      Comparable [] lowKey = new Comparable [count];
+      for (int j = 0, k = 0; j < count; j++)
+      {
+         LeafNode leaf = new LeafNode(order);
+         leaf.size = n / count + ((j < n % count) ? 1 : 0);
+         System.arraycopy(theKeys, k, leaf.keys, 0, leaf.size);
+         System.arraycopy(theElements, k, leaf.elements, 0, leaf.size);
+         if (j > 0)
+            ((LeafNode) level[j - 1]).next = leaf;
+         level[j] = leaf;
+         lowKey[j] = theKeys[k];
+         k += leaf.size;
+      }
+
+      // make the internal levels until one node is left
+      while (level.length > 1)
+      {
+         count = (level.length + order) / (order + 1);
+         Node [] parent = new Node [count];
+         Comparable [] parentLowKey = new Comparable [count];
+         for (int j = 0, c = 0; j < count; j++)
+         {
+            InternalNode q = new InternalNode(order);
+            int children = level.length / count
+                           + ((j < level.length % count) ? 1 : 0);
+            System.arraycopy(level, c, q.children, 0, children);
+            System.arraycopy(lowKey, c + 1, q.keys, 0, children - 1);
+            q.size = children - 1;
+            parent[j] = q;
+            parentLowKey[j] = lowKey[c];
+            c += children;
+         }
+         level = parent;
+         lowKey = parentLowKey;
+      }
+      root = level[0];
+      size = n;
+   }
+
+   // methods
+   /** @throws IllegalArgumentException when theKey or
+     * theElement is null */
+   static void check(Object theKey, Object theElement)
+   {
+      if (theKey == null || theElement == null)
+         throw new IllegalArgumentException
+               ("null keys and elements not allowed");
+   }
+
+   /** @return true iff the tree is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return number of elements in the tree */
+   public int size()
+      {return size;}
+
+   /** @return number of levels in the tree */
+   public int height()
+   {
+      int h = 1;
+      for (Node p = root; p instanceof InternalNode;
+           p = ((InternalNode) p).children[0])
+         h++;
+      return h;
+   }
+
+   /** @return index of the child of q whose subtree may hold theKey */
+   static int childIndex(InternalNode q, Object theKey)
+   {
+      int i = Arrays.binarySearch(q.keys, 0, q.size, theKey);
+      return (i >= 0) ? i + 1 : -i - 1;
+   }
+
+   /** @return leaf whose key range holds theKey */
+   LeafNode leaf(Object theKey)
+   {
+      Node p = root;
+      while (p instanceof InternalNode)
+      {
+         InternalNode q = (InternalNode) p;
+         p = q.children[childIndex(q, theKey)];
+      }
+      return (LeafNode) p;
+   }
+
+   /** @return element with specified key
+     * @return null if no matching element */
+   public Object get(Object theKey)
+   {
+      LeafNode p = leaf(theKey);
+      int i = Arrays.binarySearch(p.keys, 0, p.size, theKey);
+      return (i >= 0) ? p.elements[i] : null;
+   }
+
+   /** insert an element with the specified key
+     * overwrite old element if there is already an
+     * element with the given key
+     * @return old element (if any) with key theKey
+     * @throws IllegalArgumentException when theKey or
+     * theElement is null */
+   public Object put(Object theKey, Object theElement)
+   {
+      check(theKey, theElement);
+      elementToReturn = null;
+      Node newNode = insert(root, (Comparable) theKey, theElement);
+      if (newNode != null)
+      {// root has split, create new root
+         InternalNode q = new InternalNode(order);
+         q.keys[0] = splitKey;
+         q.children[0] = root;
+         q.children[1] = newNode;
+         q.size = 1;
+         root = q;
+      }
+      return elementToReturn;
+   }
+
+   /** insert theElement into the subtree with root p
+     * @return new right sibling of p if p split, its smallest
+     * key is then in splitKey; null if p did not split */
+   private Node insert(Node p, Comparable theKey, Object theElement)
+   {
+      if (p instanceof LeafNode)
+      {
+         LeafNode leaf = (LeafNode) p;
+         int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, theKey);
+         if (i >= 0)
+         {// theKey is present, change its element
+            elementToReturn = leaf.elements[i];
+            leaf.elements[i] = theElement;
+            return null;
+         }
+
+         // insert at -i - 1
+         i = -i - 1;
+         System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+         System.arraycopy(leaf.elements, i, leaf.elements, i + 1,
+                          leaf.size - i);
+         leaf.keys[i] = theKey;
+         leaf.elements[i] = theElement;
+         leaf.size++;
+         size++;
+         if (leaf.size <= order)
+            return null;
+
+         // split leaf, the larger half goes to a new leaf
+         LeafNode right = new LeafNode(order);
+         int half = leaf.size / 2;
+         right.size = leaf.size - half;
+         System.arraycopy(leaf.keys, half, right.keys, 0, right.size);
+         System.arraycopy(leaf.elements, half, right.elements, 0,
+                          right.size);
+         Arrays.fill(leaf.keys, half, leaf.size, null);
+         Arrays.fill(leaf.elements, half, leaf.size, null);
+         leaf.size = half;
+         right.next = leaf.next;
+         leaf.next = right;
+         splitKey = right.keys[0];
+         return right;
+      }
+
+      InternalNode q = (InternalNode) p;
+      int i = childIndex(q, theKey);
+      Node newChild = insert(q.children[i], theKey, theElement);
+      if (newChild == null)
+         return null;
+
+      // put splitKey and newChild in q after child i
+      System.arraycopy(q.keys, i, q.keys, i + 1, q.size - i);
+      System.arraycopy(q.children, i + 1, q.children, i + 2, q.size - i);
+      q.keys[i] = splitKey;
+      q.children[i + 1] = newChild;
+      q.size++;
+      if (q.size <= order)
+         return null;
+
+      // split q, the middle key moves up to the parent
+      InternalNode right = new InternalNode(order);
+      int mid = q.size / 2;
+      right.size = q.size - mid - 1;
+      System.arraycopy(q.keys, mid + 1, right.keys, 0, right.size);
+      System.arraycopy(q.children, mid + 1, right.children, 0,
+                       right.size + 1);
+      splitKey = q.keys[mid];
+      Arrays.fill(q.keys, mid, q.size, null);
+      Arrays.fill(q.children, mid + 1, q.size + 1, null);
+      q.size = mid;
+      return right;
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(Object theKey)
+   {
+      Object theElement = delete(root, theKey);
+      if (root instanceof InternalNode && root.size == 0)
+         // root has one child, the tree gets shorter
+         root = ((InternalNode) root).children[0];
+      return theElement;
+   }
+
+   /** remove theKey from the subtree with root p
+     * @return removed element, null if none */
+   private Object delete(Node p, Object theKey)
+   {
+      if (p instanceof LeafNode)
+      {
+         LeafNode leaf = (LeafNode) p;
+         int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, theKey);
+         if (i < 0)
+            return null;  // no matching element
+         Object theElement = leaf.elements[i];
+         leaf.size--;
+         System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i);
+         System.arraycopy(leaf.elements, i + 1, leaf.elements, i,
+                          leaf.size - i);
+         leaf.keys[leaf.size] = null;
+         leaf.elements[leaf.size] = null;
+         size--;
+         return theElement;
+      }
+
+      InternalNode q = (InternalNode) p;
+      int i = childIndex(q, theKey);
+      Object theElement = delete(q.children[i], theKey);
+      if (theElement != null && q.children[i].size < minKeys)
+         fix(q, i);
+      return theElement;
+   }
+
+   /** child i of q has minKeys - 1 keys, borrow a key from a
+     * sibling or merge it with a sibling */
+   private void fix(InternalNode q, int i)
+   {
+      Node c = q.children[i];
+      if (i > 0 && q.children[i - 1].size > minKeys)
+      {// move the largest key of the left sibling to c
+         Node left = q.children[i - 1];
+         System.arraycopy(c.keys, 0, c.keys, 1, c.size);
+         if (c instanceof LeafNode)
+         {
+            LeafNode leaf = (LeafNode) c;
+            LeafNode leftLeaf = (LeafNode) left;
+            System.arraycopy(leaf.elements, 0, leaf.elements, 1, leaf.size);
+            leaf.keys[0] = leftLeaf.keys[left.size - 1];
+            leaf.elements[0] = leftLeaf.elements[left.size - 1];
+            leftLeaf.elements[left.size - 1] = null;
+            q.keys[i - 1] = leaf.keys[0];
+         }
+         else
+         {
+            InternalNode child = (InternalNode) c;
+            InternalNode leftChild = (InternalNode) left;
+            System.arraycopy(child.children, 0, child.children, 1,
+                             child.size + 1);
+            child.keys[0] = q.keys[i - 1];
+            child.children[0] = leftChild.children[left.size];
+            leftChild.children[left.size] = null;
+            q.keys[i - 1] = left.keys[left.size - 1];
+         }
+         left.keys[left.size - 1] = null;
+         left.size--;
+         c.size++;
+      }
+      else if (i < q.size && q.children[i + 1].size > minKeys)
+      {// move the smallest key of the right sibling to c
+         Node right = q.children[i + 1];
+         if (c instanceof LeafNode)
+         {
+            LeafNode leaf = (LeafNode) c;
+            LeafNode rightLeaf = (LeafNode) right;
+            leaf.keys[leaf.size] = rightLeaf.keys[0];
+            leaf.elements[leaf.size] = rightLeaf.elements[0];
+            System.arraycopy(rightLeaf.elements, 1, rightLeaf.elements, 0,
+                             right.size - 1);
+            rightLeaf.elements[right.size - 1] = null;
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size - 1);
+            q.keys[i] = right.keys[0];
+         }
+         else
+         {
+            InternalNode child = (InternalNode) c;
+            InternalNode rightChild = (InternalNode) right;
+            child.keys[child.size] = q.keys[i];
+            child.children[child.size + 1] = rightChild.children[0];
+            q.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size - 1);
+            System.arraycopy(rightChild.children, 1, rightChild.children, 0,
+                             right.size);
+            rightChild.children[right.size] = null;
+         }
+         right.keys[right.size - 1] = null;
+         right.size--;
+         c.size++;
+      }
+      else
+         // both siblings have minKeys keys
+         merge(q, (i > 0) ? i - 1 : i);
+   }
+
+   /** merge child j + 1 of q into child j */
+   private void merge(InternalNode q, int j)
+   {
+      Node left = q.children[j];
+      Node right = q.children[j + 1];
+      if (left instanceof LeafNode)
+      {
+         LeafNode leftLeaf = (LeafNode) left;
+         LeafNode rightLeaf = (LeafNode) right;
+         System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+         System.arraycopy(rightLeaf.elements, 0, leftLeaf.elements,
+                          left.size, right.size);
+         left.size += right.size;
+         leftLeaf.next = rightLeaf.next;
+      }
+      else
+      {// the key between left and right moves down
+         left.keys[left.size] = q.keys[j];
+         System.arraycopy(right.keys, 0, left.keys, left.size + 1,
+                          right.size);
+         System.arraycopy(((InternalNode) right).children, 0,
+                          ((InternalNode) left).children, left.size + 1,
+                          right.size + 1);
+         left.size += right.size + 1;
+      }
+
+      // remove key j and child j + 1 from q
+      System.arraycopy(q.keys, j + 1, q.keys, j, q.size - j - 1);
+      System.arraycopy(q.children, j + 2, q.children, j + 1, q.size - j - 1);
+      q.size--;
+      q.keys[q.size] = null;
+      q.children[q.size + 1] = null;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Iterator i = iterator(); i.hasNext(); )
+      {
+         if (s.length() > 1)
+            s.append(", ");
+         s.append(i.next().toString());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator over the elements
+     * in ascending order of key */
+   public Iterator iterator()
+      {return iterator(null, null);}
+
+   /** create and return an iterator over the elements with
+     * fromKey <= key < toKey in ascending order of key; a null
+     * fromKey or toKey leaves the range open at that end */
+   public Iterator iterator(Object fromKey, Object toKey)
+   {
+      LeafNode p;
+      int i;
+      if (fromKey == null)
+      {// start at the leftmost leaf
+         Node q = root;
+         while (q instanceof InternalNode)
+            q = ((InternalNode) q).children[0];
+         p = (LeafNode) q;
+         i = 0;
+      }
+      else
+      {
+         p = leaf(fromKey);
+         i = Arrays.binarySearch(p.keys, 0, p.size, fromKey);
+         if (i < 0)
+            i = -i - 1;
+      }
+      return new LeafIterator(p, i, (Comparable) toKey);
+   }
+
+   /** iterator that follows the leaf links */
+   private class LeafIterator implements Iterator
+   {
+      // data members
+      private LeafNode leaf;      // leaf of next element
+      private int index;          // index of next element in leaf
+      private Comparable toKey;   // iteration stops at this key,
+                                  // null if it does not stop early
+
+      // constructor
+      public LeafIterator(LeafNode theLeaf, int theIndex,
+                          Comparable theToKey)
+      {
+         leaf = theLeaf;
+         index = theIndex;
+         toKey = theToKey;
+      }
+
+      // methods
+      /** @return true iff there are more elements */
+      public boolean hasNext()
+      {
+         while (leaf != null && index == leaf.size)
+         {// move to the next leaf
+            leaf = leaf.next;
+            index = 0;
+         }
+         return leaf != null
+                && (toKey == null || leaf.keys[index].compareTo(toKey) < 0);
+      }
+
+      /** @return next element
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public Object next()
+      {
+         if (!hasNext())
+            throw new NoSuchElementException("No next element");
+         return leaf.elements[index++];
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+                   ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      BPlusTree x = new BPlusTree(4);
+
+      // test put
+      int n = 20;
+      for (int i = 1; i <= n; i++)
+         x.put(new Integer(2 * i), new Integer(i));
+      System.out.println("The tree is");
+      System.out.println(x);
+      for (int i = 1; i <= n + 1; i++)
+         x.put(new Integer(2 * i - 1), new Integer(n + i));
+      System.out.println("The tree is\n" + x);
+      System.out.println("Size is " + x.size() + ", height is "
+                         + x.height());
+
+      // test get
+      System.out.println("element " + x.get(new Integer(1))
+                         + " has key 1");
+      System.out.println("element " + x.get(new Integer(6))
+                         + " has key 6");
+      System.out.println("element " + x.get(new Integer(99))
+                         + " has key 99");
+
+      // test range iterator
+      System.out.print("keys 10 to 19 have elements");
+      for (Iterator i = x.iterator(new Integer(10), new Integer(20));
+           i.hasNext(); )
+         System.out.print(" " + i.next());
+      System.out.println();
+
+      // test remove
+      for (int i = 1; i <= n + 1; i++)
+         System.out.print("removed " + x.remove(new Integer(2 * i - 1))
+                          + " ");
+      System.out.println();
+      System.out.println("The tree is\n" + x);
+      System.out.println("Size is " + x.size() + ", height is "
+                         + x.height());
+
+      // test bulk load
+      Comparable [] keys = new Comparable [1000];
+      Object [] elements = new Object [1000];
+      for (int i = 0; i < keys.length; i++)
+      {
+         keys[i] = new Integer(i);
+         elements[i] = new Integer(-i);
+      }
+      BPlusTree y = new BPlusTree(32, keys, elements);
+      System.out.println("Loaded tree has size " + y.size() + ", height "
+                         + y.height() + ", element with key 500 is "
+                         + y.get(new Integer(500)));
+   }
+}
@@ -0,0 +1,22 @@
+
+/** interface for bounded queues whose threads can wait for
+  * space or for elements; the inherited put waits while the
+  * queue is full and the inherited remove does not wait,
+  * it returns null when the queue is empty */
+
+package dataStructures;
+
+import java.util.concurrent.TimeUnit;
+
+public interface BlockingQueue extends Queue
+{
+   public int size();
+   public int remainingCapacity();
+   public boolean offer(Object theElement);
+   public boolean put(Object theElement, long timeout, TimeUnit unit)
+          throws InterruptedException;
+   public Object take() throws InterruptedException;
+   public Object remove(long timeout, TimeUnit unit)
+          throws InterruptedException;
+   public Object [] drain(int maxElements) throws InterruptedException;
+}
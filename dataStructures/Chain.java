@@ -5,12 +5,17 @@
 package dataStructures;
 
 import java.util.*;
+import java.util.stream.*;
 
 public class Chain implements LinearList
 {
    // data members
    protected ChainNode firstNode;
    protected int size;
+   // cursor: the most recently visited node and its index,
+   // cursorNode is null when no position is cached
+   protected ChainNode cursorNode;
+   protected int cursorIndex;
 
    // constructors
    /** create a list that is empty */
@@ -48,12 +53,33 @@ public class Chain implements LinearList
    {
       checkIndex(index);
    
-      // move to desired node
+      return nodeAt(index).element;
+   }
+
+   /** Forget the cached position. Subclasses that relink
+     * nodes other than through add and remove must call this. */
+   protected void invalidateCursor()
+      {cursorNode = null;}
+
+   /** @return node with specified index, the walk starts at the
+     * cursor when the cursor is at or before index and at
+     * firstNode otherwise; the cursor moves to the returned node
+     * index must be between 0 and size - 1 */
+   ChainNode nodeAt(int index)
+   {
       ChainNode currentNode = firstNode;
-      for (int i = 0; i < index; i++)
+      int i = 0;  // index of currentNode
+      if (cursorNode != null && cursorIndex <= index)
+      {// start from the cursor
+         currentNode = cursorNode;
+         i = cursorIndex;
+      }
+      for (; i < index; i++)
          currentNode = currentNode.next;
    
-      return currentNode.element;
+      cursorNode = currentNode;
+      cursorIndex = index;
+      return currentNode;
    }
 
    /** @return index of first occurrence of theElement,
@@ -93,12 +119,14 @@ public class Chain implements LinearList
       {
          removedElement = firstNode.element;
          firstNode = firstNode.next;
+         if (cursorIndex == 0)
+            invalidateCursor();  // cursor was at removed node
+         else
+            cursorIndex--;
       }
       else 
       {  // use q to get to predecessor of desired node
-         ChainNode q = firstNode;
-         for (int i = 0; i < index - 1; i++)
-            q = q.next;
+         ChainNode q = nodeAt(index - 1);
       
          removedElement = q.next.element;
          q.next = q.next.next; // remove desired node
@@ -120,13 +148,13 @@ public class Chain implements LinearList
                ("index = " + index + "  size = " + size);
    
       if (index == 0)
-         // insert at front
+      {  // insert at front
          firstNode = new ChainNode(theElement, firstNode);
+         cursorIndex++;  // cursor, if any, moved right by one
+      }
       else
       {   // find predecessor of new element
-         ChainNode p = firstNode;
-         for (int i = 0; i < index - 1; i++)
-            p = p.next;
+         ChainNode p = nodeAt(index - 1);
       
           // insert after p
          p.next = new ChainNode(theElement, p.next);
@@ -161,6 +189,24 @@ public class Chain implements LinearList
    public Iterator iterator()
       {return new ChainIterator();}
 
+   /** @return a spliterator over the elements, trySplit copies
+     * a prefix of the remaining nodes into an array; the prefix
+     * grows with each split so that parallel work comes in
+     * array-backed batches */
+   public Spliterator spliterator()
+   {
+      return Spliterators.spliterator(iterator(), size,
+                                      Spliterator.ORDERED);
+   }
+
+   /** @return a sequential stream of the elements */
+   public Stream stream()
+      {return StreamSupport.stream(spliterator(), false);}
+
+   /** @return a parallel stream of the elements */
+   public Stream parallelStream()
+      {return StreamSupport.stream(spliterator(), true);}
+
    /** chain iterator */
    private class ChainIterator implements Iterator
    {
@@ -256,5 +302,12 @@ public class Chain implements LinearList
       while (y.hasNext())
          System.out.print(y.next() + " ");
       System.out.println();
+
+      // test stream
+      Chain z = new Chain();
+      for (int i = 1; i <= 100; i++)
+         z.add(i - 1, new Integer(i));
+      System.out.println("Sum by parallel stream is " +
+         z.parallelStream().mapToInt(e -> ((Integer) e).intValue()).sum());
    }
 }
@@ -41,6 +41,7 @@ public class ChainWithBinSort extends Chain
         }
       if (y != null)
          y.next = null;
+      invalidateCursor();  // nodes have new indexes
    }
 
 
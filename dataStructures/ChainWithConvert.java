@@ -11,6 +11,7 @@ public class ChainWithConvert extends Chain
    {
       // first make this empty
       firstNode = null;
+      invalidateCursor();
       ChainNode lastNode = null;
       
       // copy elements from f
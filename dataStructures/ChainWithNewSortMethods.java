@@ -107,6 +107,7 @@ public class ChainWithNewSortMethods extends Chain
       for (int i = 1; i < size; i++)
          lastNode = lastNode.next = bin[i];
       lastNode.next = null;
+      invalidateCursor();  // nodes have new indexes
    }
 
    /** test program */
@@ -25,6 +25,7 @@ public class ChainWithReverse extends Chain
       }
       
       firstNode = lastNode; // new first node
+      invalidateCursor();   // nodes have new indexes
    }
    
    /** test program */
@@ -0,0 +1,317 @@
+
+
+/** skip list dictionary laid out to use less memory than SkipList.
+  * The level 0 link is a field of the node, and only a node that is
+  * on level 1 or higher has an array of its higher level links; with
+  * prob = 0.5 half the nodes have no array at all. The list has no
+  * tail node, a null link ends a chain, so no large key is needed,
+  * and the max level grows with the number of elements. */
+
+package dataStructures;
+
+import java.util.*;
+
+public class CompactSkipList implements Dictionary
+{
+   // top-level nested classes
+   /** node that is on level 0 only */
+   static class SkipNode
+   {
+      // data members
+      Comparable key;
+      Object element;
+      SkipNode next;        // next node on level 0
+
+      // constructor
+      SkipNode(Comparable theKey, Object theElement)
+      {
+         key = theKey;
+         element = theElement;
+      }
+   }
+
+   /** node that is also on levels 1 to up.length */
+   static final class TowerNode extends SkipNode
+   {
+      // data member
+      SkipNode [] up;       // up[i - 1] is next node on level i
+
+      // constructor
+      TowerNode(Comparable theKey, Object theElement, int level)
+      {
+         super(theKey, theElement);
+         up = new SkipNode [level];
+      }
+   }
+
+   // data members of CompactSkipList
+   protected float prob;         // probability used to decide level number
+   protected int maxLevel;       // max permissible chain level
+   protected double growSize;    // maxLevel grows when size exceeds this
+   protected int levels;         // max current nonempty chain
+   protected int size;           // current number of elements
+   protected TowerNode headNode; // head node
+   protected SkipNode [] last;   // last node seen on each level
+   protected Random r;           // needed for random numbers
+
+   // constructors
+   /** create an empty skip list
+     * @param theProb probability that element on one
+     * level is also on the next level
+     * @throws IllegalArgumentException when theProb is
+     * not between 0 and 1 */
+   public CompactSkipList(float theProb)
+   {
+      if (theProb <= 0 || theProb >= 1)
+         throw new IllegalArgumentException
+               ("theProb must be between 0 and 1");
+      prob = theProb;
+      maxLevel = 1;
+      growSize = Math.pow(1/prob, maxLevel + 1);
+      headNode = new TowerNode(null, null, maxLevel);
+      last = new SkipNode [maxLevel + 1];
+      r = new Random();
+   }
+
+   /** create an empty skip list with prob = 0.5 */
+   public CompactSkipList()
+      {this(0.5F);}
+
+   // methods
+   /** @return true iff the skip list is empty */
+   public boolean isEmpty()
+       {return size == 0;}
+
+   /** @return current number of elements in the skip list */
+   public int size()
+      {return size;}
+
+   /** @return next node of p on level i */
+   static SkipNode next(SkipNode p, int i)
+      {return (i == 0) ? p.next : ((TowerNode) p).up[i - 1];}
+
+   /** make q the next node of p on level i */
+   static void setNext(SkipNode p, int i, SkipNode q)
+   {
+      if (i == 0)
+         p.next = q;
+      else
+         ((TowerNode) p).up[i - 1] = q;
+   }
+
+   /** @return last node with key less than theKey on level 0,
+     * headNode if there is none; when saveLast is true the last
+     * node seen on each level is saved in the array last */
+   SkipNode search(Object theKey, boolean saveLast)
+   {
+      // position p just before possible node with theKey
+      SkipNode p = headNode;
+      for (int i = levels; i > 0; i--)
+      {
+         SkipNode [] up = ((TowerNode) p).up;
+         SkipNode q = up[i - 1];
+         while (q != null && q.key.compareTo(theKey) < 0)
+         {// follow level i pointers, every node on level
+          // i > 0 is a tower node
+            up = ((TowerNode) q).up;
+            p = q;
+            q = up[i - 1];
+         }
+         if (saveLast)
+            last[i] = p;  // last level i node seen
+      }
+      while (p.next != null && p.next.key.compareTo(theKey) < 0)
+         p = p.next;
+      if (saveLast)
+         last[0] = p;
+      return p;
+   }
+
+   /** @return element with specified key
+     * @return null if there is no matching element */
+   public Object get(Object theKey)
+   {
+      SkipNode p = search(theKey, false).next;
+      return (p != null && p.key.equals(theKey)) ? p.element : null;
+   }
+
+   /** @return a random level number <= maxLevel */
+   int level()
+   {
+      int lev = 0;
+      while (r.nextFloat() <= prob)
+         lev++;
+      return (lev <= maxLevel) ? lev : maxLevel;
+   }
+
+   /** increase maxLevel by 1, so that the list keeps
+     * O(log n) levels as it grows */
+   void grow()
+   {
+      maxLevel++;
+      growSize /= prob;
+      SkipNode [] newUp = new SkipNode [maxLevel];
+      System.arraycopy(headNode.up, 0, newUp, 0, maxLevel - 1);
+      headNode.up = newUp;
+      SkipNode [] newLast = new SkipNode [maxLevel + 1];
+      System.arraycopy(last, 0, newLast, 0, maxLevel);
+      last = newLast;
+   }
+
+   /** insert an element with the specified key
+     * overwrite old element if there is already an
+     * element with the given key
+     * @return old element (if any) with key theKey
+     * @throws IllegalArgumentException when theKey is null */
+   public Object put(Object theKey, Object theElement)
+   {
+      if (theKey == null)
+         throw new IllegalArgumentException("null keys not allowed");
+
+      // see if element with theKey already present
+      SkipNode p = search(theKey, true).next;
+      if (p != null && p.key.equals(theKey))
+      {// update p.element
+         Object elementToReturn = p.element;
+         p.element = theElement;
+         return elementToReturn;
+      }
+
+      // not present, determine level for new node
+      if (size >= growSize)
+         grow();
+      int lev = level(); // level of new node
+      // fix lev to be <= levels + 1
+      if (lev > levels)
+      {
+         lev = ++levels;
+         last[lev] = headNode;
+      }
+
+      // get and insert new node, a tower only if lev > 0
+      SkipNode y = (lev == 0)
+                   ? new SkipNode((Comparable) theKey, theElement)
+                   : new TowerNode((Comparable) theKey, theElement, lev);
+      for (int i = 0; i <= lev; i++)
+      {// insert into level i chain
+         setNext(y, i, next(last[i], i));
+         setNext(last[i], i, y);
+      }
+      size++;
+      return null;
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(Object theKey)
+   {
+      // see if matching element present
+      SkipNode p = search(theKey, true).next;
+      if (p == null || !p.key.equals(theKey)) // not present
+         return null;
+
+      // delete node from skip list
+      for (int i = 0; i <= levels && next(last[i], i) == p; i++)
+         setNext(last[i], i, next(p, i));
+
+      // update levels
+      while (levels > 0 && headNode.up[levels - 1] == null)
+         levels--;
+
+      size--;
+      return p.element;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+
+      // follow level 0 chain
+      for (SkipNode p = headNode.next; p != null; p = p.next)
+      {
+         if (p != headNode.next)
+            s.append(", ");
+         s.append(p.element.toString());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator */
+   public Iterator iterator()
+      {return new SkipListIterator();}
+
+   /** sorted chain iterator */
+   private class SkipListIterator implements Iterator
+   {
+      // data member
+      private SkipNode nextNode;
+
+      // constructor
+      public SkipListIterator()
+         {nextNode = headNode.next;}
+
+      // methods
+      /** @return true iff list has more elements */
+      public boolean hasNext()
+         {return nextNode != null;}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when if there is no next element */
+      public Object next()
+      {
+         if (nextNode != null)
+         {
+            Object obj = nextNode.element;
+            nextNode = nextNode.next;
+            return obj;
+         }
+         else throw new NoSuchElementException("No next element");
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+                   ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      CompactSkipList x = new CompactSkipList();
+
+      // test put
+      int n = 20;
+      for (int i = 1; i <= n; i++)
+         x.put(new Integer(2 * i), new Integer(i));
+      System.out.println("The list is");
+      System.out.println(x);
+
+      for (int i = 1; i <= n + 1; i++)
+         x.put(new Integer(2 * i - 1), new Integer(n + i));
+      System.out.println("The list is\n" + x);
+
+      // test get
+      System.out.println("element " + x.get(new Integer(1))
+                         + " has key 1");
+      System.out.println("element " + x.get(new Integer(2))
+                         + " has key 2");
+      System.out.println("element " + x.get(new Integer(6))
+                         + " has key 6");
+
+      // test remove
+      for (int i = 1; i <= n + 1; i++)
+         System.out.print("removed " + x.remove(new Integer(2 * i - 1))
+                          + " ");
+      System.out.println();
+      System.out.println("The list is\n" + x);
+      System.out.println("Size is " + x.size() + ", max level is "
+                         + x.maxLevel);
+   }
+}
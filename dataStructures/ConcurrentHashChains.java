@@ -0,0 +1,361 @@
+
+
+/** hash tables using chaining that many threads may use at once.
+  * The buckets are divided among a power of 2 number of stripes,
+  * each with its own lock; put and remove lock only the stripe of
+  * their key, get takes no lock. Chain nodes have final next
+  * fields, so a reader always sees a well formed chain; put adds
+  * at the front of a chain and remove copies the nodes ahead of
+  * the removed one.
+  * When the table is resized the buckets are moved one at a time,
+  * each under the lock of its stripe, and a moved bucket is left
+  * holding a forwarding node; other threads keep working on the
+  * buckets that are not being moved. */
+
+package dataStructures;
+
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+public class ConcurrentHashChains implements Dictionary
+{
+   // top-level nested classes
+   static class HashNode
+   {
+      // data members
+      final Object key;
+      final int hash;             // mixed hash code of key
+      volatile Object element;
+      final HashNode next;
+
+      // constructor
+      HashNode(Object theKey, int theHash, Object theElement,
+               HashNode theNext)
+      {
+         key = theKey;
+         hash = theHash;
+         element = theElement;
+         next = theNext;
+      }
+   }
+
+   /** left in a bucket whose chain has been moved to nextTable */
+   static final class ForwardingNode extends HashNode
+   {
+      final AtomicReferenceArray nextTable;
+
+      ForwardingNode(AtomicReferenceArray theNextTable)
+      {
+         super(null, 0, null, null);
+         nextTable = theNextTable;
+      }
+   }
+
+   // data members
+   private volatile AtomicReferenceArray table;  // chain of bucket b
+                                   // is table.get(b)
+   private final ReentrantLock [] lock;  // lock of each stripe
+   private final int stripeMask;   // number of stripes - 1, the
+                                   // stripe of a key is hash & stripeMask
+   private final AtomicIntegerArray count;  // elements in each stripe,
+                                   // stripe s at index s * PAD
+   private final AtomicBoolean resizing = new AtomicBoolean();
+   static final int PAD = 16;      // count entries per stripe, keeps
+                                   // counts of stripes in separate
+                                   // cache lines
+   static final double LOADING_FACTOR = 0.75;
+
+   // constructors
+   /** create a table with at least initialCapacity buckets and at
+     * least concurrencyLevel stripes, both rounded up to a power of 2
+     * @throws IllegalArgumentException when initialCapacity is not
+     * between 1 and 2^30 or concurrencyLevel is not between 1 and 2^16 */
+   public ConcurrentHashChains(int initialCapacity, int concurrencyLevel)
+   {
+      if (initialCapacity < 1 || initialCapacity > 1 << 30)
+         throw new IllegalArgumentException
+               ("initialCapacity must be between 1 and 2^30");
+      if (concurrencyLevel < 1 || concurrencyLevel > 1 << 16)
+         throw new IllegalArgumentException
+               ("concurrencyLevel must be between 1 and 2^16");
+
+      int stripes = 1;
+      while (stripes < concurrencyLevel)
+         stripes <<= 1;
+      lock = new ReentrantLock [stripes];
+      for (int i = 0; i < stripes; i++)
+         lock[i] = new ReentrantLock();
+      stripeMask = stripes - 1;
+      count = new AtomicIntegerArray(stripes * PAD);
+
+      // every bucket must belong to one stripe, so the table
+      // has at least as many buckets as there are stripes
+      int length = stripes;
+      while (length < initialCapacity)
+         length <<= 1;
+      table = new AtomicReferenceArray(length);
+   }
+
+   /** create a table with 16 buckets and 16 stripes */
+   public ConcurrentHashChains()
+      {this(16, 16);}
+
+   // methods
+   /** @throws IllegalArgumentException when theKey or
+     * theElement is null */
+   static void check(Object theKey, Object theElement)
+   {
+      if (theKey == null || theElement == null)
+         throw new IllegalArgumentException
+               ("null keys and elements not allowed");
+   }
+
+   /** @return number of elements, the sum of the stripe counts
+     * read without locking; while other threads put and remove
+     * this is an estimate */
+   public int size()
+   {
+      long sum = 0;
+      for (int s = 0; s <= stripeMask; s++)
+         sum += count.get(s * PAD);
+      return (int) Math.max(0, Math.min(sum, Integer.MAX_VALUE));
+   }
+
+   /** @return true iff size() is 0 */
+   public boolean isEmpty()
+      {return size() == 0;}
+
+   /** @return number of buckets */
+   public int capacity()
+      {return table.length();}
+
+   /** @return element with specified key, does not lock
+     * @return null if no matching element */
+   public Object get(Object theKey)
+   {
+      int h = HashTable.hash(theKey);
+      AtomicReferenceArray t = table;
+      HashNode e = (HashNode) t.get(h & (t.length() - 1));
+      while (e instanceof ForwardingNode)
+      {// bucket has been moved, look in the next table
+         t = ((ForwardingNode) e).nextTable;
+         e = (HashNode) t.get(h & (t.length() - 1));
+      }
+
+      for (; e != null; e = e.next)
+         if (e.hash == h && theKey.equals(e.key))
+            return e.element;
+      return null;  // no matching element
+   }
+
+   /** insert an element with the specified key
+     * overwrite old element if there is already an
+     * element with the given key
+     * @return old element (if any) with key theKey
+     * @throws IllegalArgumentException when theKey or
+     * theElement is null */
+   public Object put(Object theKey, Object theElement)
+   {
+      check(theKey, theElement);
+      int h = HashTable.hash(theKey);
+      int s = h & stripeMask;
+      int newCount;
+      AtomicReferenceArray t;
+      lock[s].lock();
+      try
+      {
+         t = table;
+         int b = h & (t.length() - 1);
+         HashNode first = (HashNode) t.get(b);
+         while (first instanceof ForwardingNode)
+         {
+            t = ((ForwardingNode) first).nextTable;
+            b = h & (t.length() - 1);
+            first = (HashNode) t.get(b);
+         }
+
+         for (HashNode e = first; e != null; e = e.next)
+            if (e.hash == h && theKey.equals(e.key))
+            {// duplicate, change e.element
+               Object elementToReturn = e.element;
+               e.element = theElement;
+               return elementToReturn;
+            }
+
+         t.set(b, new HashNode(theKey, h, theElement, first));
+         newCount = count.get(s * PAD) + 1;
+         count.lazySet(s * PAD, newCount);
+      }
+      finally
+      {
+         lock[s].unlock();
+      }
+
+      // the stripes share the elements about equally, so the
+      // element count is summed only when this stripe has more
+      // than its share of LOADING_FACTOR * t.length() elements
+      if (newCount > LOADING_FACTOR * t.length() / (stripeMask + 1)
+          && size() > LOADING_FACTOR * t.length())
+         resize(t);
+      return null;
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(Object theKey)
+   {
+      int h = HashTable.hash(theKey);
+      int s = h & stripeMask;
+      lock[s].lock();
+      try
+      {
+         AtomicReferenceArray t = table;
+         int b = h & (t.length() - 1);
+         HashNode first = (HashNode) t.get(b);
+         while (first instanceof ForwardingNode)
+         {
+            t = ((ForwardingNode) first).nextTable;
+            b = h & (t.length() - 1);
+            first = (HashNode) t.get(b);
+         }
+
+         HashNode e = first;
+         while (e != null && (e.hash != h || !theKey.equals(e.key)))
+            e = e.next;
+         if (e == null)
+            return null;  // no matching element
+
+         // copy the nodes ahead of e, readers still in the old
+         // chain see it unchanged
+         HashNode newFirst = e.next;
+         for (HashNode p = first; p != e; p = p.next)
+            newFirst = new HashNode(p.key, p.hash, p.element, newFirst);
+         t.set(b, newFirst);
+         count.lazySet(s * PAD, count.get(s * PAD) - 1);
+         return e.element;
+      }
+      finally
+      {
+         lock[s].unlock();
+      }
+   }
+
+   /** double the length of oldTable if it is still the table and
+     * no other thread is resizing; the buckets are moved one at
+     * a time under the lock of their stripe */
+   private void resize(AtomicReferenceArray oldTable)
+   {
+      if (oldTable.length() >= 1 << 30 || !resizing.compareAndSet(false, true))
+         return;
+      try
+      {
+         if (table != oldTable)
+            return;   // another thread has resized
+         int n = oldTable.length();
+         AtomicReferenceArray newTable = new AtomicReferenceArray(2 * n);
+         ForwardingNode forward = new ForwardingNode(newTable);
+         for (int i = 0; i < n; i++)
+         {
+            ReentrantLock l = lock[i & stripeMask];
+            l.lock();
+            try
+            {
+               // the chain of bucket i splits into buckets i and i + n
+               HashNode low = null, high = null;
+               for (HashNode e = (HashNode) oldTable.get(i);
+                    e != null; e = e.next)
+                  if ((e.hash & n) == 0)
+                     low = new HashNode(e.key, e.hash, e.element, low);
+                  else
+                     high = new HashNode(e.key, e.hash, e.element, high);
+               newTable.set(i, low);
+               newTable.set(i + n, high);
+               oldTable.set(i, forward);
+            }
+            finally
+            {
+               l.unlock();
+            }
+         }
+         table = newTable;
+      }
+      finally
+      {
+         resizing.set(false);
+      }
+
+      // puts made during the resize may already call for another
+      AtomicReferenceArray t = table;
+      if (size() > LOADING_FACTOR * t.length())
+         resize(t);
+   }
+
+   /** output the hash table, not safe while other threads
+     * change the table */
+   public void output()
+   {
+      AtomicReferenceArray t = table;
+      for (int i = 0; i < t.length(); i++)
+      {
+         StringBuffer s = new StringBuffer("[");
+         for (HashNode e = (HashNode) t.get(i); e != null; e = e.next)
+         {
+            if (s.length() > 1)
+               s.append(", ");
+            s.append(e.element.toString());
+         }
+         s.append("]");
+         System.out.println(s);
+      }
+      System.out.println("Table size is " + size());
+   }
+
+   /** test method */
+   public static void main (String [] args) throws InterruptedException
+   {
+      ConcurrentHashChains h = new ConcurrentHashChains(4, 2);
+      h.put(new Integer(80), new Integer(80));
+      h.put(new Integer(40), new Integer(40));
+      h.put(new Integer(65), new Integer(65));
+      h.output();
+      System.out.println();
+      h.put(new Integer(58), new Integer(58));
+      h.put(new Integer(24), new Integer(24));
+      h.put(new Integer(2), new Integer(2));
+      h.put(new Integer(13), new Integer(13));
+      h.output();
+      System.out.println();
+
+      // update and remove elements
+      h.put(new Integer(58), new Integer(29));
+      System.out.println("Removed " + h.remove(new Integer(40)) +
+                         " and " + h.remove(new Integer(58)));
+      h.output();
+      System.out.println();
+
+      // four threads put, get and remove their own keys
+      final ConcurrentHashChains g = new ConcurrentHashChains();
+      Thread [] thread = new Thread [4];
+      for (int k = 0; k < thread.length; k++)
+      {
+         final int first = k * 100000;
+         thread[k] = new Thread()
+         {
+            public void run()
+            {
+               for (int i = first; i < first + 100000; i++)
+                  g.put(new Integer(i), new Integer(i));
+               for (int i = first; i < first + 100000; i += 2)
+                  if (g.get(new Integer(i)) == null
+                      || g.remove(new Integer(i)) == null)
+                     System.out.println("Key " + i + " is missing");
+            }
+         };
+         thread[k].start();
+      }
+      for (int k = 0; k < thread.length; k++)
+         thread[k].join();
+      System.out.println("After the threads finish size is " + g.size()
+                         + " and there are " + g.capacity() + " buckets");
+   }
+}
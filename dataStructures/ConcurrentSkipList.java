@@ -0,0 +1,422 @@
+
+
+/** skip list dictionary that many threads may use at once without
+  * locks. A node is an AtomicReferenceArray of its level pointers;
+  * a node is removed by first setting its element to null with a
+  * compare-and-set, which decides the remove, then marking its
+  * level pointers from the top down, and then unlinking it. A marked
+  * pointer is a Marked object that holds the successor, so unmarked
+  * pointers, the common case, cost no more to follow than those of
+  * SkipList. Every
+  * search keeps its own predecessor and successor arrays and unlinks
+  * marked nodes it passes, so get never waits and put and remove
+  * retry only when a compare-and-set fails. Iterators are weakly
+  * consistent: they never fail, and they show every element that is
+  * in the list for the whole iteration. */
+
+package dataStructures;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.*;
+
+public class ConcurrentSkipList implements Dictionary
+{
+   // top-level nested classes
+   /** element i is the next node on level i, or a Marked
+     * object once the node is being removed */
+   static final class SkipNode extends AtomicReferenceArray
+   {
+      // data members
+      final Comparable key;          // null in head and tail nodes
+      volatile Object element;       // null once the node is removed
+
+      // constructor
+      SkipNode(Comparable theKey, Object theElement, int size)
+      {
+         super(size);
+         key = theKey;
+         element = theElement;
+      }
+   }
+
+   /** marked level pointer of a node that is being removed */
+   static final class Marked
+   {
+      final SkipNode next;
+
+      Marked(SkipNode theNext)
+         {next = theNext;}
+   }
+
+   private static final AtomicReferenceFieldUpdater elementUpdater =
+      AtomicReferenceFieldUpdater.newUpdater
+            (SkipNode.class, Object.class, "element");
+
+   // data members of ConcurrentSkipList
+   private final int maxLevel;        // max permissible chain level
+   private final SkipNode headNode;   // head node
+   private final SkipNode tailNode;   // tail node
+   private final LongAdder size = new LongAdder();  // number of elements
+
+   // constructors
+   /** create an empty skip list whose levels suit up to
+     * maxElements elements
+     * @throws IllegalArgumentException when maxElements < 1 */
+   public ConcurrentSkipList(int maxElements)
+   {
+      if (maxElements < 1)
+         throw new IllegalArgumentException
+               ("maxElements must be >= 1");
+      // an element on one level is on the next with probability 1/2
+      maxLevel = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxElements));
+
+      // create head & tail nodes, headNode points to tailNode
+      // at all levels initially
+      headNode = new SkipNode(null, null, maxLevel + 1);
+      tailNode = new SkipNode(null, null, maxLevel + 1);
+      for (int i = 0; i <= maxLevel; i++)
+         headNode.set(i, tailNode);
+   }
+
+   /** create an empty skip list whose levels suit up to
+     * 2^20 elements */
+   public ConcurrentSkipList()
+      {this(1 << 20);}
+
+   // methods
+   /** @return true iff the skip list is empty, a snapshot when
+     * other threads change the list */
+   public boolean isEmpty()
+      {return headNode.get(0) == tailNode;}
+
+   /** @return number of elements, an estimate when other
+     * threads change the list */
+   public int size()
+      {return (int) Math.max(0, size.sum());}
+
+   /** @return negative, zero or positive as the key of node p is
+     * less than, equal to or greater than theKey */
+   private int compare(SkipNode p, Comparable theKey)
+      {return (p == tailNode) ? 1 : p.key.compareTo(theKey);}
+
+   /** find the last node with key less than theKey on each level and
+     * put it in pred, and its successor in succ; marked nodes that are
+     * passed are unlinked
+     * @return true iff succ[0] has key theKey */
+   private boolean search(Comparable theKey, SkipNode [] pred,
+                          SkipNode [] succ)
+   {
+      retry:
+      while (true)
+      {
+         SkipNode p = headNode;
+         SkipNode q = null;
+         for (int i = maxLevel; i >= 0; i--)
+         {
+            Object pNext = p.get(i);
+            if (pNext instanceof Marked)
+               continue retry;   // p is being removed, start again
+            q = (SkipNode) pNext;
+            while (true)
+            {
+               Object qNext = q.get(i);
+               while (qNext instanceof Marked)
+               {// q is being removed, unlink it on level i
+                  SkipNode r = ((Marked) qNext).next;
+                  if (!p.compareAndSet(i, q, r))
+                     continue retry;  // p changed, start again
+                  q = r;
+                  qNext = q.get(i);
+               }
+               if (compare(q, theKey) < 0)
+               {// follow level i pointers
+                  p = q;
+                  q = (SkipNode) qNext;
+               }
+               else
+                  break;
+            }
+            pred[i] = p;
+            succ[i] = q;
+         }
+         return compare(q, theKey) == 0;
+      }
+   }
+
+   /** @return element with specified key, does not lock or
+     * change the list
+     * @return null if there is no matching element */
+   public Object get(Object theKey)
+   {
+      Comparable searchKey = (Comparable) theKey;
+      SkipNode p = headNode;
+      SkipNode q = null;
+      for (int i = maxLevel; i >= 0; i--)
+      {
+         Object pNext = p.get(i);
+         q = (pNext instanceof Marked) ? ((Marked) pNext).next
+                                       : (SkipNode) pNext;
+         while (true)
+         {
+            Object qNext = q.get(i);
+            while (qNext instanceof Marked)
+            {// skip removed nodes
+               q = ((Marked) qNext).next;
+               qNext = q.get(i);
+            }
+            if (compare(q, searchKey) < 0)
+            {
+               p = q;
+               q = (SkipNode) qNext;
+            }
+            else
+               break;
+         }
+      }
+
+      // check if q has theKey, element is null if q was removed
+      return (compare(q, searchKey) == 0) ? q.element : null;
+   }
+
+   /** @return a random level number <= maxLevel, level i is
+     * chosen with probability 1/2^(i+1) */
+   private int level()
+   {
+      int lev = Integer.numberOfTrailingZeros
+                       (ThreadLocalRandom.current().nextInt() | 1 << 31);
+      return Math.min(lev, maxLevel);
+   }
+
+   /** mark the level pointers of p from the top down,
+     * so that searches unlink p */
+   private static void markAll(SkipNode p)
+   {
+      for (int i = p.length() - 1; i >= 0; i--)
+         while (true)
+         {
+            Object q = p.get(i);
+            if (q instanceof Marked
+                || p.compareAndSet(i, q, new Marked((SkipNode) q)))
+               break;
+         }
+   }
+
+   /** insert an element with the specified key
+     * overwrite old element if there is already an
+     * element with the given key
+     * @return old element (if any) with key theKey
+     * @throws IllegalArgumentException when theKey or
+     * theElement is null */
+   public Object put(Object theKey, Object theElement)
+   {
+      if (theKey == null || theElement == null)
+         throw new IllegalArgumentException
+               ("null keys and elements not allowed");
+      Comparable newKey = (Comparable) theKey;
+      SkipNode [] pred = new SkipNode [maxLevel + 1];
+      SkipNode [] succ = new SkipNode [maxLevel + 1];
+      int lev = level();   // level of new node
+
+      while (true)
+      {
+         if (search(newKey, pred, succ))
+         {// theKey is present, update its element
+            SkipNode p = succ[0];
+            Object oldElement = p.element;
+            if (oldElement == null)
+            {// p is being removed, help and search again
+               markAll(p);
+               continue;
+            }
+            if (elementUpdater.compareAndSet(p, oldElement, theElement))
+               return oldElement;
+            continue;  // p changed, try again
+         }
+
+         // get a node for theElement and link it in on level 0,
+         // this makes theElement part of the list
+         SkipNode y = new SkipNode(newKey, theElement, lev + 1);
+         for (int i = 0; i <= lev; i++)
+            y.lazySet(i, succ[i]);
+         if (!pred[0].compareAndSet(0, succ[0], y))
+            continue;   // level 0 changed, search again
+         size.increment();
+
+         // link y in on the higher levels
+         for (int i = 1; i <= lev; i++)
+            while (!pred[i].compareAndSet(i, succ[i], y))
+            {// level i changed, find new neighbors
+               search(newKey, pred, succ);
+               Object yNext = y.get(i);
+               if (y.element == null || yNext instanceof Marked
+                   || !y.compareAndSet(i, yNext, succ[i]))
+                  // y is being removed, leave it off the higher levels
+                  return null;
+            }
+         return null;
+      }
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(Object theKey)
+   {
+      Comparable searchKey = (Comparable) theKey;
+      SkipNode [] pred = new SkipNode [maxLevel + 1];
+      SkipNode [] succ = new SkipNode [maxLevel + 1];
+      if (!search(searchKey, pred, succ))
+         return null;  // no matching element
+
+      SkipNode p = succ[0];
+      while (true)
+      {
+         Object theElement = p.element;
+         if (theElement == null)
+            return null;  // another thread removed p
+         if (elementUpdater.compareAndSet(p, theElement, null))
+         {// this thread removes p
+            size.decrement();
+            markAll(p);
+            search(searchKey, pred, succ);  // unlinks p
+            return theElement;
+         }
+      }
+   }
+
+   /** convert to a string, a weakly consistent snapshot */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Iterator i = iterator(); i.hasNext(); )
+      {
+         if (s.length() > 1)
+            s.append(", ");
+         s.append(i.next().toString());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return a weakly consistent iterator
+     * over the elements in ascending order of key */
+   public Iterator iterator()
+      {return new SkipListIterator();}
+
+   /** weakly consistent skip list iterator */
+   private class SkipListIterator implements Iterator
+   {
+      // data members
+      private SkipNode nextNode;      // node of nextElement
+      private Object nextElement;     // element next returns, null
+                                      // when there is none
+
+      // constructor
+      public SkipListIterator()
+      {
+         nextNode = headNode;
+         advance();
+      }
+
+      // methods
+      /** move to the next node that has not been removed */
+      private void advance()
+      {
+         nextElement = null;
+         while (nextElement == null)
+         {
+            Object q = nextNode.get(0);
+            nextNode = (q instanceof Marked) ? ((Marked) q).next
+                                             : (SkipNode) q;
+            if (nextNode == tailNode)
+               return;
+            nextElement = nextNode.element;
+         }
+      }
+
+      /** @return true iff list has more elements */
+      public boolean hasNext()
+         {return nextElement != null;}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when if there is no next element */
+      public Object next()
+      {
+         if (nextElement == null)
+            throw new NoSuchElementException("No next element");
+         Object obj = nextElement;
+         advance();
+         return obj;
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+                   ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args) throws InterruptedException
+   {
+      ConcurrentSkipList x = new ConcurrentSkipList(100);
+
+      // test put
+      int n = 20;
+      for (int i = 1; i <= n; i++)
+         x.put(new Integer(2 * i), new Integer(i));
+      System.out.println("The list is");
+      System.out.println(x);
+
+      for (int i = 1; i <= n + 1; i++)
+         x.put(new Integer(2 * i - 1), new Integer(n + i));
+      System.out.println("The list is\n" + x);
+
+      // test get
+      System.out.println("element " + x.get(new Integer(1))
+                         + " has key 1");
+      System.out.println("element " + x.get(new Integer(2))
+                         + " has key 2");
+      System.out.println("element " + x.get(new Integer(6))
+                         + " has key 6");
+
+      // test remove
+      for (int i = 1; i <= n + 1; i++)
+         System.out.print("removed " + x.remove(new Integer(2 * i - 1))
+                          + " ");
+      System.out.println();
+      System.out.println("The list is\n" + x);
+
+      // four threads put and remove their own keys
+      final ConcurrentSkipList y = new ConcurrentSkipList();
+      Thread [] thread = new Thread [4];
+      for (int k = 0; k < thread.length; k++)
+      {
+         final int first = k;
+         thread[k] = new Thread()
+         {
+            public void run()
+            {
+               for (int i = first; i < 40000; i += 4)
+                  y.put(new Integer(i), new Integer(i));
+               for (int i = first; i < 40000; i += 8)
+                  if (y.remove(new Integer(i)) == null)
+                     System.out.println("Key " + i + " is missing");
+            }
+         };
+         thread[k].start();
+      }
+      for (int k = 0; k < thread.length; k++)
+         thread[k].join();
+      int count = 0;
+      for (Iterator i = y.iterator(); i.hasNext(); i.next())
+         count++;
+      System.out.println("After the threads finish size is " + y.size()
+                         + " and the iterator visits " + count
+                         + " elements");
+   }
+}
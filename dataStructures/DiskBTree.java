@@ -0,0 +1,931 @@
+
+
+/** B-tree dictionary kept in a file, so it may be larger than the
+  * heap and survives a restart. The file is a sequence of pages read
+  * and written through memory mapped regions of up to 64 MB; a region
+  * is mapped only as far as the pages in use need, and the mapping
+  * doubles as the file grows, so a small tree makes a small file.
+  * Page 0 holds two header slots and every other page holds a node,
+  * or is free. Elements are
+  * in the leaves, and a node is split when it no longer fits in its
+  * page. Keys and elements are converted to bytes by Serializers.
+  *
+  * Changes are copy on write: a node of the last committed tree is
+  * never written over, a changed node goes to a new page and so do
+  * its ancestors up to the root. commit() writes the changed nodes,
+  * forces them to disk, and then writes a header with the new root to
+  * the header slot not used by the last commit; a header carries a
+  * checksum, so a torn header write leaves the other one in use. After
+  * a crash the file therefore holds the tree as of the last commit;
+  * at worst pages freed since the file was opened are lost for reuse.
+  * close() saves the list of free pages in free pages; a session that
+  * only reads writes nothing.
+  * Opening a file reads only the header, nodes are read as they are
+  * needed.
+  *
+  * Nodes read from pages are kept in a page cache of a fixed number
+  * of slots, and a slot is reused by the clock algorithm; a changed
+  * node is written to its page when its slot is reused or at commit.
+  * A DiskBTree must not be used by more than one thread at a time. */
+
+package dataStructures;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+public class DiskBTree implements Dictionary, Closeable
+{
+   // top-level nested class
+   /** a node as read from its page */
+   static final class Node
+   {
+      // data members
+      int page;              // page that holds the node
+      boolean leaf;          // true iff node is a leaf
+      int size;              // number of keys
+      Comparable [] keys;    // keys[0:size-1] in ascending order
+      Object [] elements;    // leaf only, elements[i] has key keys[i]
+      int [] children;       // internal only, children[0:size]; keys in
+                             // children[i] are < keys[i] <= keys in
+                             // children[i + 1]
+      int bytes;             // bytes the node takes in its page
+      boolean dirty;         // true iff changed since written to its page
+
+      // constructor
+      Node(int thePage, boolean isLeaf, int capacity)
+      {
+         page = thePage;
+         leaf = isLeaf;
+         keys = new Comparable [capacity];
+         if (leaf)
+            elements = new Object [capacity];
+         else
+            children = new int [capacity + 1];
+         bytes = NODE_HEADER + (leaf ? 0 : 4);
+      }
+
+      /** make room for n keys */
+      void ensureCapacity(int n)
+      {
+         if (n > keys.length)
+         {
+            int capacity = Math.max(n, 2 * keys.length);
+            keys = Arrays.copyOf(keys, capacity);
+            if (leaf)
+               elements = Arrays.copyOf(elements, capacity);
+            else
+               children = Arrays.copyOf(children, capacity + 1);
+         }
+      }
+   }
+
+   // class data members
+   static final long MAGIC = 0x4469736b42547265L;  // "DiskBTre"
+   static final int HEADER_SLOT = 512;   // header slots are at 0 and 512
+   static final int HEADER_BYTES = 52;   // bytes of a header
+   static final int NODE_HEADER = 5;     // leaf flag and number of keys
+   static final int REGION_SHIFT = 26;   // file is mapped in 64 MB regions
+   static final int NIL = -1;            // no page
+
+   // data members
+   private FileChannel channel;
+   private MappedByteBuffer [] region = new MappedByteBuffer [16];
+   private int pageSize;                 // bytes per page, a power of 2
+   private Serializer keySerializer;
+   private Serializer elementSerializer;
+
+   // the tree, as changed since the last commit
+   private long generation;              // number of last commit
+   private int root;                     // page of root node
+   private int height;                   // number of levels
+   private int size;                     // number of elements
+   private int pageCount;                // pages 0 to pageCount - 1 are used
+   private IntArrayStack freePages = new IntArrayStack();   // may be reused
+   private IntArrayStack pendingFree = new IntArrayStack(); // freed since
+                                         // last commit, reused after next
+   private BitSet fresh = new BitSet();  // pages allocated since last commit
+   private boolean changed;              // true iff changed since commit
+   private long openGeneration;          // generation when file was opened
+
+   // page cache
+   private Node [] cached;               // node in each slot, or null
+   private boolean [] referenced;        // clock bit of each slot
+   private int [] pins;                  // pin count of each slot
+   private int hand;                     // clock hand
+   private IntIntHashMap slotOf = new IntIntHashMap();  // slot of a page
+   private IntArrayStack pinned = new IntArrayStack();  // slots pinned by
+                                         // the current operation
+
+   // constructors
+   /** open the tree in file fileName, or create it if the file does
+     * not exist or is empty; the serializers must be those the tree
+     * was created with
+     * @param cachePages number of slots in the page cache
+     * @param thePageSize bytes per page of a new file, a power
+     * of 2 between 1024 and 65536; an existing file keeps its own
+     * @throws IllegalArgumentException when cachePages < 16 or
+     * thePageSize is not allowed
+     * @throws IOException when the file cannot be opened or
+     * has no valid header */
+   public DiskBTree(String fileName, Serializer theKeySerializer,
+                    Serializer theElementSerializer, int cachePages,
+                    int thePageSize) throws IOException
+   {
+      if (cachePages < 16)
+         throw new IllegalArgumentException("cachePages must be >= 16");
+      if (thePageSize < 1024 || thePageSize > 65536
+          || Integer.bitCount(thePageSize) != 1)
+         throw new IllegalArgumentException
+               ("thePageSize must be a power of 2 between 1024 and 65536");
+      keySerializer = theKeySerializer;
+      elementSerializer = theElementSerializer;
+      cached = new Node [cachePages];
+      referenced = new boolean [cachePages];
+      pins = new int [cachePages];
+      channel = FileChannel.open(Paths.get(fileName),
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE);
+      if (channel.size() == 0)
+      {// new file, the root is an empty leaf in page 1
+         pageSize = thePageSize;
+         root = 1;
+         height = 1;
+         pageCount = 2;
+         Node r = new Node(root, true, 16);
+         fresh.set(root);
+         install(r);
+         releasePins();
+         changed = true;
+         commit();
+         openGeneration = generation;
+         return;
+      }
+
+      // use the valid header with the larger generation
+      ByteBuffer b = ByteBuffer.allocate(HEADER_SLOT + HEADER_BYTES);
+      while (b.hasRemaining() && channel.read(b, b.position()) > 0);
+      int freeList = NIL;
+      generation = -1;
+      for (int slot = 0; slot < 2; slot++)
+      {
+         b.position(slot * HEADER_SLOT);
+         if (b.remaining() < HEADER_BYTES)
+            break;
+         CRC32 crc = new CRC32();
+         crc.update(b.array(), slot * HEADER_SLOT, HEADER_BYTES - 8);
+         if (b.getLong() != MAGIC
+             || b.getLong(slot * HEADER_SLOT + HEADER_BYTES - 8)
+                != crc.getValue())
+            continue;  // not a header, or a torn one
+         int thisPageSize = b.getInt();
+         long thisGeneration = b.getLong();
+         if (thisGeneration > generation)
+         {
+            pageSize = thisPageSize;
+            generation = thisGeneration;
+            root = b.getInt();
+            height = b.getInt();
+            size = (int) b.getLong();
+            pageCount = b.getInt();
+            freeList = b.getInt();
+         }
+      }
+      if (generation < 0)
+      {
+         channel.close();
+         throw new IOException(fileName + " has no valid DiskBTree header");
+      }
+
+      // the free pages saved by close may be reused, the pages that
+      // hold the list only after the next commit
+      for (int p = freeList; p != NIL; )
+      {
+         ByteBuffer page = pageBuffer(p);
+         int next = page.getInt();
+         for (int i = page.getInt(); i > 0; i--)
+            freePages.push(page.getInt());
+         pendingFree.push(p);
+         p = next;
+      }
+      openGeneration = generation;
+   }
+
+   /** open or create the tree in file fileName with 1024 cache
+     * slots and, for a new file, 4096 byte pages */
+   public DiskBTree(String fileName, Serializer theKeySerializer,
+                    Serializer theElementSerializer) throws IOException
+      {this(fileName, theKeySerializer, theElementSerializer, 1024, 4096);}
+
+   // methods
+   /** @return true iff the tree is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return number of elements in the tree */
+   public int size()
+      {return size;}
+
+   /** @return number of levels in the tree */
+   public int height()
+      {return height;}
+
+   /** @return number of pages in the file, used and free */
+   public int pageCount()
+      {return pageCount;}
+
+   /** @return page p of the file, positioned at its start */
+   private ByteBuffer pageBuffer(int p)
+   {
+      long offset = (long) p * pageSize;
+      int r = (int) (offset >>> REGION_SHIFT);
+      int start = (int) (offset & ((1 << REGION_SHIFT) - 1));
+      if (r >= region.length)
+         region = Arrays.copyOf(region, Math.max(r + 1, 2 * region.length));
+      if (region[r] == null || region[r].capacity() < start + pageSize)
+         try
+         {
+            mapRegion(r, start + pageSize);
+         }
+         catch (IOException e)
+            {throw new UncheckedIOException(e);}
+      ByteBuffer b = region[r].duplicate();
+      b.position(start);
+      b.limit(start + pageSize);
+      return b.slice();
+   }
+
+   /** map region r with at least length bytes: the part of the
+     * region that is in the file, or twice the old mapping, but
+     * not more than the region; mapping extends the file */
+   private void mapRegion(int r, int length) throws IOException
+   {
+      long regionStart = (long) r << REGION_SHIFT;
+      long newLength = Math.max(length, channel.size() - regionStart);
+      if (region[r] != null)
+      {// changes made through the old mapping go to disk first
+         region[r].force();
+         newLength = Math.max(newLength, 2L * region[r].capacity());
+      }
+      newLength = Math.min(newLength, 1 << REGION_SHIFT);
+      region[r] = channel.map(FileChannel.MapMode.READ_WRITE,
+                              regionStart, newLength);
+   }
+
+   /** @return node read from page p */
+   private Node readNode(int p)
+   {
+      ByteBuffer b = pageBuffer(p);
+      boolean isLeaf = b.get() == 0;
+      int n = b.getInt();
+      Node x = new Node(p, isLeaf, Math.max(n, 4));
+      x.size = n;
+      if (!isLeaf)
+         x.children[0] = b.getInt();
+      for (int i = 0; i < n; i++)
+      {
+         x.keys[i] = (Comparable) keySerializer.read(b);
+         if (isLeaf)
+            x.elements[i] = elementSerializer.read(b);
+         else
+            x.children[i + 1] = b.getInt();
+      }
+      x.bytes = b.position();
+      return x;
+   }
+
+   /** write x to its page */
+   private void writeNode(Node x)
+   {
+      ByteBuffer b = pageBuffer(x.page);
+      b.put((byte) (x.leaf ? 0 : 1));
+      b.putInt(x.size);
+      if (!x.leaf)
+         b.putInt(x.children[0]);
+      for (int i = 0; i < x.size; i++)
+      {
+         keySerializer.write(b, x.keys[i]);
+         if (x.leaf)
+            elementSerializer.write(b, x.elements[i]);
+         else
+            b.putInt(x.children[i + 1]);
+      }
+      x.dirty = false;
+   }
+
+   /** @return node of page p; when pin is true the node stays
+     * in the cache until the operation ends */
+   private Node fetch(int p, boolean pin)
+   {
+      int s = slotOf.get(p, -1);
+      if (s < 0)
+      {// not in the cache, read it
+         s = victim();
+         cached[s] = readNode(p);
+         slotOf.put(p, s);
+      }
+      referenced[s] = true;
+      if (pin)
+      {
+         pins[s]++;
+         pinned.push(s);
+      }
+      return cached[s];
+   }
+
+   /** put the new node x in the cache, pinned and dirty */
+   private void install(Node x)
+   {
+      int s = victim();
+      cached[s] = x;
+      slotOf.put(x.page, s);
+      referenced[s] = true;
+      pins[s]++;
+      pinned.push(s);
+      x.dirty = true;
+   }
+
+   /** @return an empty slot; the clock hand passes over pinned slots
+     * and clears the clock bit of referenced ones, and the first
+     * slot it finds with neither is emptied */
+   private int victim()
+   {
+      for (int step = 0; step <= 2 * cached.length; step++)
+      {
+         int s = hand;
+         hand = (hand + 1) % cached.length;
+         if (cached[s] == null)
+            return s;
+         if (pins[s] > 0)
+            continue;
+         if (referenced[s])
+         {
+            referenced[s] = false;
+            continue;
+         }
+         Node x = cached[s];
+         if (x.dirty)
+            writeNode(x);
+         if (slotOf.get(x.page, -1) == s)
+            slotOf.remove(x.page);
+         cached[s] = null;
+         return s;
+      }
+      throw new IllegalStateException("all slots of the page cache are pinned");
+   }
+
+   /** unpin the slots pinned by the current operation */
+   private void releasePins()
+   {
+      while (!pinned.empty())
+         pins[pinned.pop()]--;
+   }
+
+   /** @return a page for a new node */
+   private int allocate()
+   {
+      int p = freePages.empty() ? pageCount++ : freePages.pop();
+      fresh.set(p);
+      changed = true;
+      return p;
+   }
+
+   /** page p no longer holds a node of the tree; a page of the
+     * last committed tree is reused only after the next commit */
+   private void free(int p)
+   {
+      int s = slotOf.get(p, -1);
+      if (s >= 0)
+      {// drop it from the cache, it is not written again
+         cached[s].dirty = false;
+         slotOf.remove(p);
+      }
+      if (fresh.get(p))
+      {
+         fresh.clear(p);
+         freePages.push(p);
+      }
+      else
+         pendingFree.push(p);
+      changed = true;
+   }
+
+   /** @return node path[d] made safe to change: a node of the last
+     * committed tree is copied to a new page, and so, to point to
+     * the copy, are its ancestors; index[d] is the child of path[d]
+     * on the path */
+   private Node writable(Node [] path, int [] index, int d)
+   {
+      Node x = path[d];
+      if (fresh.get(x.page))
+      {
+         x.dirty = true;
+         return x;
+      }
+      Node y = new Node(allocate(), x.leaf, x.keys.length);
+      y.size = x.size;
+      y.bytes = x.bytes;
+      System.arraycopy(x.keys, 0, y.keys, 0, x.size);
+      if (x.leaf)
+         System.arraycopy(x.elements, 0, y.elements, 0, x.size);
+      else
+         System.arraycopy(x.children, 0, y.children, 0, x.size + 1);
+      install(y);
+      free(x.page);
+      if (d == 0)
+         root = y.page;
+      else
+         writable(path, index, d - 1).children[index[d - 1]] = y.page;
+      path[d] = y;
+      return y;
+   }
+
+   /** @return index of the child of x whose subtree may hold theKey */
+   static int childIndex(Node x, Object theKey)
+   {
+      int i = Arrays.binarySearch(x.keys, 0, x.size, theKey);
+      return (i >= 0) ? i + 1 : -i - 1;
+   }
+
+   /** @return bytes entry i of x takes in its page */
+   private int entryBytes(Node x, int i)
+   {
+      return keySerializer.size(x.keys[i])
+             + (x.leaf ? elementSerializer.size(x.elements[i]) : 4);
+   }
+
+   /** @return element with specified key
+     * @return null if no matching element */
+   public Object get(Object theKey)
+   {
+      Node x = fetch(root, false);
+      while (!x.leaf)
+         x = fetch(x.children[childIndex(x, theKey)], false);
+      int i = Arrays.binarySearch(x.keys, 0, x.size, theKey);
+      return (i >= 0) ? x.elements[i] : null;
+   }
+
+   /** fill path with the nodes from the root to the leaf whose key
+     * range holds theKey, pinned, and index with the child taken at
+     * each internal node */
+   private void search(Object theKey, Node [] path, int [] index)
+   {
+      Node x = fetch(root, true);
+      path[0] = x;
+      for (int d = 0; d < height - 1; d++)
+      {
+         index[d] = childIndex(x, theKey);
+         x = fetch(x.children[index[d]], true);
+         path[d + 1] = x;
+      }
+   }
+
+   /** insert an element with the specified key
+     * overwrite old element if there is already an
+     * element with the given key; the change is durable
+     * after the next commit
+     * @return old element (if any) with key theKey
+     * @throws IllegalArgumentException when theKey or
+     * theElement is null or they take more than a quarter
+     * of a page */
+   public Object put(Object theKey, Object theElement)
+   {
+      if (theKey == null || theElement == null)
+         throw new IllegalArgumentException
+               ("null keys and elements not allowed");
+      int newBytes = keySerializer.size(theKey)
+                     + elementSerializer.size(theElement);
+      if (newBytes > (pageSize - NODE_HEADER - 4) / 4)
+         throw new IllegalArgumentException
+               ("key and element take more than a quarter of a page");
+
+      try
+      {
+         Node [] path = new Node [height];
+         int [] index = new int [height];
+         search(theKey, path, index);
+         int d = height - 1;
+         int i = Arrays.binarySearch(path[d].keys, 0, path[d].size, theKey);
+         Node x = writable(path, index, d);
+         Object elementToReturn = null;
+         if (i >= 0)
+         {// theKey is present, change its element
+            elementToReturn = x.elements[i];
+            x.bytes += newBytes - entryBytes(x, i);
+            x.elements[i] = theElement;
+         }
+         else
+         {// insert at -i - 1
+            i = -i - 1;
+            x.ensureCapacity(x.size + 1);
+            System.arraycopy(x.keys, i, x.keys, i + 1, x.size - i);
+            System.arraycopy(x.elements, i, x.elements, i + 1, x.size - i);
+            x.keys[i] = (Comparable) theKey;
+            x.elements[i] = theElement;
+            x.size++;
+            x.bytes += newBytes;
+            size++;
+         }
+
+         // split the nodes that no longer fit in their page
+         for (; d >= 0 && path[d].bytes > pageSize; d--)
+            split(path, index, d);
+         return elementToReturn;
+      }
+      finally
+      {
+         releasePins();
+      }
+   }
+
+   /** split path[d], which is writable, into two nodes of about
+     * equal bytes, and put the new node in its parent */
+   private void split(Node [] path, int [] index, int d)
+   {
+      Node x = path[d];
+
+      // x keeps entries 0 to m - 1, about half its bytes
+      int head = NODE_HEADER + (x.leaf ? 0 : 4);
+      int half = (x.bytes - head) / 2;
+      int m = 0;
+      int leftBytes = head;
+      while (leftBytes - head < half)
+         leftBytes += entryBytes(x, m++);
+      m = Math.max(1, Math.min(m, x.size - (x.leaf ? 1 : 2)));
+      leftBytes = head;
+      for (int i = 0; i < m; i++)
+         leftBytes += entryBytes(x, i);
+
+      Node y = new Node(allocate(), x.leaf, x.keys.length);
+      Comparable splitKey;
+      if (x.leaf)
+      {// y gets entries m and up
+         y.size = x.size - m;
+         System.arraycopy(x.keys, m, y.keys, 0, y.size);
+         System.arraycopy(x.elements, m, y.elements, 0, y.size);
+         Arrays.fill(x.elements, m, x.size, null);
+         y.bytes = NODE_HEADER + x.bytes - leftBytes;
+         splitKey = y.keys[0];
+      }
+      else
+      {// key m moves up, y gets the entries after it
+         splitKey = x.keys[m];
+         y.size = x.size - m - 1;
+         System.arraycopy(x.keys, m + 1, y.keys, 0, y.size);
+         System.arraycopy(x.children, m + 1, y.children, 0, y.size + 1);
+         y.bytes = head + x.bytes - leftBytes - entryBytes(x, m);
+      }
+      Arrays.fill(x.keys, m, x.size, null);
+      x.size = m;
+      x.bytes = leftBytes;
+      install(y);
+
+      if (d == 0)
+      {// root has split, create new root
+         Node r = new Node(allocate(), false, 4);
+         r.keys[0] = splitKey;
+         r.children[0] = x.page;
+         r.children[1] = y.page;
+         r.size = 1;
+         r.bytes += keySerializer.size(splitKey) + 4;
+         install(r);
+         root = r.page;
+         height++;
+         return;
+      }
+
+      // put splitKey and y in the parent after x
+      Node q = writable(path, index, d - 1);
+      int i = index[d - 1];
+      q.ensureCapacity(q.size + 1);
+      System.arraycopy(q.keys, i, q.keys, i + 1, q.size - i);
+      System.arraycopy(q.children, i + 1, q.children, i + 2, q.size - i);
+      q.keys[i] = splitKey;
+      q.children[i + 1] = y.page;
+      q.size++;
+      q.bytes += keySerializer.size(splitKey) + 4;
+   }
+
+   /** @return matching element and remove it, the change
+     * is durable after the next commit
+     * @return null if no matching element */
+   public Object remove(Object theKey)
+   {
+      try
+      {
+         Node [] path = new Node [height];
+         int [] index = new int [height];
+         search(theKey, path, index);
+         int d = height - 1;
+         int i = Arrays.binarySearch(path[d].keys, 0, path[d].size, theKey);
+         if (i < 0)
+            return null;  // no matching element
+
+         Node x = writable(path, index, d);
+         Object theElement = x.elements[i];
+         x.bytes -= entryBytes(x, i);
+         x.size--;
+         System.arraycopy(x.keys, i + 1, x.keys, i, x.size - i);
+         System.arraycopy(x.elements, i + 1, x.elements, i, x.size - i);
+         x.keys[x.size] = null;
+         x.elements[x.size] = null;
+         size--;
+
+         // merge nodes that are less than a quarter full
+         for (; d > 0 && path[d].bytes < pageSize / 4; d--)
+            if (!merge(path, index, d))
+               break;
+
+         if (!path[0].leaf && path[0].size == 0)
+         {// root has one child, the tree gets shorter
+            root = path[0].children[0];
+            free(path[0].page);
+            height--;
+         }
+         return theElement;
+      }
+      finally
+      {
+         releasePins();
+      }
+   }
+
+   /** merge path[d], which is writable, with a sibling if the two
+     * fit in one page
+     * @return true iff the nodes were merged */
+   private boolean merge(Node [] path, int [] index, int d)
+   {
+      Node x = path[d];
+      Node q = writable(path, index, d - 1);
+      if (q.size == 0)
+         return false;   // x has no sibling
+      int i = index[d - 1];
+      boolean left = i > 0;   // merge with left sibling if there is one
+      int k = left ? i - 1 : i;    // key of q between x and sibling
+      Node s = fetch(q.children[left ? i - 1 : i + 1], true);
+      int mergedBytes = x.bytes + s.bytes - NODE_HEADER;
+      if (!x.leaf)
+         // the key of q moves down, with the first child of the
+         // right node
+         mergedBytes += keySerializer.size(q.keys[k]);
+      if (mergedBytes > pageSize)
+         return false;
+
+      // x gets the entries of s, and the key of q if internal
+      int moved = s.size + (x.leaf ? 0 : 1);
+      x.ensureCapacity(x.size + moved);
+      int at;   // where the entries of s go in x
+      if (left)
+      {
+         System.arraycopy(x.keys, 0, x.keys, moved, x.size);
+         if (x.leaf)
+            System.arraycopy(x.elements, 0, x.elements, moved, x.size);
+         else
+         {
+            System.arraycopy(x.children, 0, x.children, moved, x.size + 1);
+            x.keys[s.size] = q.keys[k];
+         }
+         at = 0;
+      }
+      else
+      {
+         if (!x.leaf)
+            x.keys[x.size] = q.keys[k];
+         at = x.size + (x.leaf ? 0 : 1);
+      }
+      System.arraycopy(s.keys, 0, x.keys, at, s.size);
+      if (x.leaf)
+         System.arraycopy(s.elements, 0, x.elements, at, s.size);
+      else
+         System.arraycopy(s.children, 0, x.children, at, s.size + 1);
+      x.size += moved;
+      x.bytes = mergedBytes;
+
+      // remove key k and the child s from q
+      int c = left ? i - 1 : i + 1;
+      q.bytes -= keySerializer.size(q.keys[k]) + 4;
+      System.arraycopy(q.keys, k + 1, q.keys, k, q.size - k - 1);
+      System.arraycopy(q.children, c + 1, q.children, c, q.size - c);
+      q.size--;
+      q.keys[q.size] = null;
+      free(s.page);
+      return true;
+   }
+
+   /** make the changes since the last commit durable; they are
+     * forced to disk before the header that makes them part of
+     * the tree is written
+     * @throws IOException when a write fails */
+   public void commit() throws IOException
+   {
+      if (!changed)
+         return;
+      for (int s = 0; s < cached.length; s++)
+         if (cached[s] != null && cached[s].dirty)
+            writeNode(cached[s]);
+      for (int r = 0; r < region.length; r++)
+         if (region[r] != null)
+            region[r].force();
+      writeHeader(NIL);
+      fresh.clear();
+      while (!pendingFree.empty())
+         freePages.push(pendingFree.pop());
+      changed = false;
+   }
+
+   /** write a header for the current tree in the header slot not
+     * used by the last commit, and force it to disk
+     * @param freeList first page of the saved free page list */
+   private void writeHeader(int freeList) throws IOException
+   {
+      ByteBuffer b = ByteBuffer.allocate(HEADER_BYTES);
+      b.putLong(MAGIC);
+      b.putInt(pageSize);
+      b.putLong(generation + 1);
+      b.putInt(root);
+      b.putInt(height);
+      b.putLong(size);
+      b.putInt(pageCount);
+      b.putInt(freeList);
+      CRC32 crc = new CRC32();
+      crc.update(b.array(), 0, b.position());
+      b.putLong(crc.getValue());
+      b.flip();
+      long offset = ((generation + 1) & 1) * HEADER_SLOT;
+      while (b.hasRemaining())
+         offset += channel.write(b, offset);
+      channel.force(false);
+      generation++;
+   }
+
+   /** commit, save the list of free pages so that the next session
+     * can reuse them, and close the file; when nothing was changed
+     * since the file was opened nothing is written
+     * @throws IOException when a write fails */
+   public void close() throws IOException
+   {
+      if (channel == null)
+         return;
+      commit();
+      if (generation != openGeneration && !freePages.empty())
+      {// write the list to free pages, each list page holds the
+       // next list page, a count, and page numbers
+         int first = NIL;
+         int perPage = (pageSize - 8) / 4;
+         while (!freePages.empty())
+         {
+            int p = freePages.pop();
+            ByteBuffer b = pageBuffer(p);
+            int count = Math.min(perPage, freePages.size());
+            b.putInt(first);
+            b.putInt(count);
+            for (int i = 0; i < count; i++)
+               b.putInt(freePages.pop());
+            first = p;
+         }
+         for (int r = 0; r < region.length; r++)
+            if (region[r] != null)
+               region[r].force();
+         writeHeader(first);
+      }
+      channel.close();
+      channel = null;
+      region = null;
+      cached = null;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Iterator i = iterator(); i.hasNext(); )
+      {
+         if (s.length() > 1)
+            s.append(", ");
+         s.append(i.next().toString());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator over the elements in
+     * ascending order of key; the tree must not change while
+     * the iterator is used */
+   public Iterator iterator()
+      {return new TreeIterator();}
+
+   /** iterator that walks the tree with a stack of nodes */
+   private class TreeIterator implements Iterator
+   {
+      // data members
+      private Node [] node = new Node [height];  // node at each depth
+      private int [] next = new int [height];    // next element of a
+                                     // leaf, next child of a node
+      private int depth;             // depth of leaf of next element,
+                                     // -1 when there is none
+
+      // constructor
+      public TreeIterator()
+      {
+         node[0] = fetch(root, false);
+         advance();
+      }
+
+      // methods
+      /** move to the leaf of the next element */
+      private void advance()
+      {
+         while (true)
+         {
+            Node x = node[depth];
+            if (x.leaf)
+            {
+               if (next[depth] < x.size)
+                  return;
+            }
+            else if (next[depth] <= x.size)
+            {// go down to the next child
+               node[depth + 1] = fetch(x.children[next[depth]++], false);
+               next[++depth] = 0;
+               continue;
+            }
+            if (depth-- == 0)
+               return;  // no more elements
+         }
+      }
+
+      /** @return true iff there are more elements */
+      public boolean hasNext()
+         {return depth >= 0;}
+
+      /** @return next element
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public Object next()
+      {
+         if (depth < 0)
+            throw new NoSuchElementException("No next element");
+         Object obj = node[depth].elements[next[depth]++];
+         advance();
+         return obj;
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+                   ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args) throws IOException
+   {
+      File file = File.createTempFile("DiskBTree", ".db");
+      String name = file.getPath();
+
+      // small pages and cache, so that nodes split and are evicted
+      DiskBTree x = new DiskBTree(name, Serializer.STRING,
+                                  Serializer.MY_INTEGER, 16, 1024);
+      for (int i = 0; i < 2000; i++)
+         x.put("key" + i, new wrappers.MyInteger(i));
+      for (int i = 0; i < 2000; i += 2)
+         x.remove("key" + i);
+      System.out.println("Size is " + x.size() + ", height is "
+                         + x.height() + ", element with key key7 is "
+                         + x.get("key7") + ", with key key8 is "
+                         + x.get("key8"));
+      x.commit();
+
+      // changes made after the commit are lost if the program stops
+      // without commit or close, a new instance sees the last commit
+      for (int i = 0; i < 1000; i++)
+         x.put("new" + i, new wrappers.MyInteger(i));
+      DiskBTree y = new DiskBTree(name, Serializer.STRING,
+                                  Serializer.MY_INTEGER);
+      System.out.println("Before the commit another instance sees size "
+                         + y.size() + ", element with key new5 is "
+                         + y.get("new5"));
+      y.close();
+      x.close();
+
+      // reopen, only the header is read
+      x = new DiskBTree(name, Serializer.STRING, Serializer.MY_INTEGER);
+      System.out.println("After reopening size is " + x.size()
+                         + ", element with key new5 is " + x.get("new5")
+                         + ", with key key1999 is " + x.get("key1999"));
+      int count = 0;
+      for (Iterator i = x.iterator(); i.hasNext(); i.next())
+         count++;
+      System.out.println("The iterator visits " + count + " elements in "
+                         + x.pageCount() + " pages");
+      x.close();
+      file.delete();
+   }
+}
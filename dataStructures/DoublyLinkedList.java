@@ -3,6 +3,7 @@
 package dataStructures;
 
 import java.util.*;
+import java.util.stream.*;
 
 public class DoublyLinkedList implements ExtendedLinearList
 {
@@ -40,16 +41,12 @@ public class DoublyLinkedList implements ExtendedLinearList
              ("index = " + index + "  size = " + size);
    }
 
-   /** @return element with specified index
-     * @throws IndexOutOfBoundsException when
-     * index is not between 0 and size - 1 */
-   public Object get(int index)
+   /** @return node with specified index, reached by moving
+     * from the nearer end of the list; index must be
+     * between 0 and size - 1 */
+   DoubleNode nodeAt(int index)
    {
-      checkIndex(index);
-
       DoubleNode currentNode;
-
-      // move to desired node
       if (index < size / 2)
       {// move from left to right
          currentNode = firstNode;
@@ -63,8 +60,16 @@ public class DoublyLinkedList implements ExtendedLinearList
          for (int i = 0; i < numberToMove; i++)
             currentNode = currentNode.previous;
       }
+      return currentNode;
+   }
 
-      return currentNode.element;
+   /** @return element with specified index
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   public Object get(int index)
+   {
+      checkIndex(index);
+      return nodeAt(index).element;
    }
    
    /** @return index of first occurrence of elem,
@@ -99,27 +104,12 @@ public class DoublyLinkedList implements ExtendedLinearList
    {
       checkIndex(index);
 
-      DoubleNode currentNode;  // will point to node with element that is
-                               // to be removed
-
       // move to element that is to be removed
-      if (index < size / 2)
-      {// move from left to right
-         currentNode = firstNode;
-         for (int i = 0; i < index; i++)
-            currentNode = currentNode.next;
-      }
-      else
-      {// move from right to left
-         currentNode = lastNode;
-         int numberToMove = size - index - 1;
-         for (int i = 0; i < numberToMove; i++)
-            currentNode = currentNode.previous;
-      }
+      DoubleNode currentNode = nodeAt(index);
 
       // currentNode has the element that is to be removed
       if (size == 1)    // list becomes empty
-         firstNode = null;
+         firstNode = lastNode = null;
       else              // nonempty list remains
          if (index == 0)
          {// remove first node
@@ -171,20 +161,7 @@ public class DoublyLinkedList implements ExtendedLinearList
          else
          {// insert in interior
             // find index - 1'th node
-            DoubleNode currentNode;
-            if (index <= size / 2)
-            {// move from left to right
-               currentNode = firstNode;
-               for (int i = 0; i < index - 1; i++)
-                  currentNode = currentNode.next;
-            }
-            else
-            {// move from right to left
-               currentNode = lastNode;
-               int numberToMove = size - index;
-               for (int i = 0; i < numberToMove; i++)
-                  currentNode = currentNode.previous;
-            }
+            DoubleNode currentNode = nodeAt(index - 1);
 
             // insert after currentNode
             currentNode.next =
@@ -219,6 +196,24 @@ public class DoublyLinkedList implements ExtendedLinearList
    public Iterator iterator()
       {return new DoubleIterator();}
 
+   /** @return a spliterator over the elements, trySplit copies
+     * a prefix of the remaining nodes into an array; the prefix
+     * grows with each split so that parallel work comes in
+     * array-backed batches */
+   public Spliterator spliterator()
+   {
+      return Spliterators.spliterator(iterator(), size,
+                                      Spliterator.ORDERED);
+   }
+
+   /** @return a sequential stream of the elements */
+   public Stream stream()
+      {return StreamSupport.stream(spliterator(), false);}
+
+   /** @return a parallel stream of the elements */
+   public Stream parallelStream()
+      {return StreamSupport.stream(spliterator(), true);}
+
    /** iterator */
    private class DoubleIterator implements Iterator
    {
@@ -260,10 +255,207 @@ public class DoublyLinkedList implements ExtendedLinearList
    /** Make the list empty. */
    public void clear()
    {
-      firstNode = null;
+      firstNode = lastNode = null;
       size = 0;
    }
 
+   /** detach the run of count nodes first through last
+     * from this list, the run keeps its internal links */
+   void unlinkRun(DoubleNode first, DoubleNode last, int count)
+   {
+      if (first.previous == null)
+         firstNode = last.next;
+      else
+         first.previous.next = last.next;
+      if (last.next == null)
+         lastNode = first.previous;
+      else
+         last.next.previous = first.previous;
+
+      first.previous = last.next = null;
+      size -= count;
+   }
+
+   /** link the run of count nodes first through last into
+     * this list so that first gets index index */
+   void linkRun(int index, DoubleNode first, DoubleNode last, int count)
+   {
+      DoubleNode after = (index == size) ? null : nodeAt(index);
+      DoubleNode before = (index == 0) ? null
+                          : (after == null) ? lastNode : after.previous;
+
+      first.previous = before;
+      last.next = after;
+      if (before == null)
+         firstNode = first;
+      else
+         before.next = first;
+      if (after == null)
+         lastNode = last;
+      else
+         after.previous = last;
+      size += count;
+   }
+
+   /** Move the elements of source with index fromIndex through
+     * toIndex - 1 into this list so that they start at index index.
+     * The nodes are relinked, not copied; apart from walking to the
+     * end points of the range and to index, from the nearer end of
+     * each list, the move takes O(1) time.
+     * When source is this list, the range is taken out first and
+     * index refers to the list that remains.
+     * @throws IndexOutOfBoundsException when the range is not
+     * within source or index is not a valid insert position */
+   public void splice(int index, DoublyLinkedList source,
+                      int fromIndex, int toIndex)
+   {
+      if (fromIndex < 0 || toIndex > source.size || fromIndex > toIndex)
+         throw new IndexOutOfBoundsException
+                   ("fromIndex = " + fromIndex + "  toIndex = " + toIndex
+                    + "  size = " + source.size);
+      int count = toIndex - fromIndex;
+      int newSize = (source == this) ? size - count : size;
+      if (index < 0 || index > newSize)
+         throw new IndexOutOfBoundsException
+                   ("index = " + index + "  size = " + newSize);
+      if (count == 0)
+         return;
+
+      DoubleNode first = source.nodeAt(fromIndex);
+      DoubleNode last = (count == 1) ? first : source.nodeAt(toIndex - 1);
+      source.unlinkRun(first, last, count);
+      linkRun(index, first, last, count);
+   }
+
+   /** Move all elements of source into this list so that they start
+     * at index index, source becomes empty.
+     * @throws IllegalArgumentException when source is this list
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void splice(int index, DoublyLinkedList source)
+   {
+      if (source == this)
+         throw new IllegalArgumentException
+                   ("cannot splice a list into itself");
+      splice(index, source, 0, source.size);
+   }
+
+   /** @return a view of the elements with index fromIndex through
+     * toIndex - 1; changes made through the view are made to this
+     * list, the view is undefined once this list is changed
+     * other than through the view
+     * @throws IndexOutOfBoundsException when
+     * the range is not within the list */
+   public ExtendedLinearList subList(int fromIndex, int toIndex)
+   {
+      if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+         throw new IndexOutOfBoundsException
+                   ("fromIndex = " + fromIndex + "  toIndex = " + toIndex
+                    + "  size = " + size);
+      return new SubList(fromIndex, toIndex - fromIndex);
+   }
+
+   /** view of a range of this list */
+   private class SubList implements ExtendedLinearList
+   {
+      // data members
+      private int offset;  // index in the list of first element of view
+      private int size;    // number of elements in view
+
+      // constructor
+      public SubList(int theOffset, int theSize)
+      {
+         offset = theOffset;
+         size = theSize;
+      }
+
+      // methods
+      /** @throws IndexOutOfBoundsException when
+        * index is not between 0 and size - 1 */
+      void checkIndex(int index)
+      {
+         if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException
+                ("index = " + index + "  size = " + size);
+      }
+
+      public boolean isEmpty()
+         {return size == 0;}
+
+      public int size()
+         {return size;}
+
+      public Object get(int index)
+      {
+         checkIndex(index);
+         return nodeAt(offset + index).element;
+      }
+
+      public int indexOf(Object theElement)
+      {
+         if (size == 0)
+            return -1;
+         DoubleNode currentNode = nodeAt(offset);
+         for (int i = 0; i < size; i++)
+         {
+            if (currentNode.element.equals(theElement))
+               return i;
+            currentNode = currentNode.next;
+         }
+         return -1;
+      }
+
+      public Object remove(int index)
+      {
+         checkIndex(index);
+         size--;
+         return DoublyLinkedList.this.remove(offset + index);
+      }
+
+      public void add(int index, Object theElement)
+      {
+         if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException
+                      ("index = " + index + "  size = " + size);
+         DoublyLinkedList.this.add(offset + index, theElement);
+         size++;
+      }
+
+      public void add(Object theElement)
+         {add(size, theElement);}
+
+      /** remove the elements of the view from the list,
+        * the nodes are unlinked as one run */
+      public void clear()
+      {
+         if (size == 0)
+            return;
+         DoubleNode first = nodeAt(offset);
+         DoubleNode last = (size == 1) ? first : nodeAt(offset + size - 1);
+         unlinkRun(first, last, size);
+         size = 0;
+      }
+
+      public String toString()
+      {
+         StringBuffer s = new StringBuffer("[");
+         if (size != 0)
+         {// nonempty view
+            DoubleNode currentNode = nodeAt(offset);
+            s.append(currentNode.element.toString());
+            for (int i = 1; i < size; i++)
+            {
+               currentNode = currentNode.next;
+               s.append(", " + currentNode.element.toString());
+            }
+         }
+         s.append("]");
+
+         // create equivalent String
+         return new String(s);
+      }
+   }
+
    /** Add theElement to the right end of the list. */
    public void add(Object theElement)
    {
@@ -361,5 +553,31 @@ public class DoublyLinkedList implements ExtendedLinearList
       x.add(new Integer(6));
       System.out.println("After appending 6 to an empty list, the list is " + x);
       System.out.println("List size is " + x.size());
+
+      // test splice and subList
+      DoublyLinkedList w = new DoublyLinkedList();
+      for (int i = 0; i < 10; i++)
+         w.add(new Integer(i));
+      DoublyLinkedList v = new DoublyLinkedList();
+      v.add(new Integer(100));
+      v.add(new Integer(200));
+      v.splice(1, w, 3, 7);
+      System.out.println("After splicing w[3:7) into v, v is " + v
+                         + " and w is " + w);
+      w.splice(2, w, 0, 2);
+      System.out.println("After moving w[0:2) to index 2, w is " + w);
+      ExtendedLinearList u = v.subList(1, 5);
+      System.out.println("v.subList(1, 5) is " + u);
+      u.remove(0);
+      u.add(new Integer(7));
+      System.out.println("After changing the view, v is " + v);
+      u.clear();
+      System.out.println("After clearing the view, v is " + v);
+
+      // test stream
+      for (int i = 2; i <= 100; i++)
+         x.add(new Integer(i));
+      System.out.println("Sum by parallel stream is " +
+         x.parallelStream().mapToInt(e -> ((Integer) e).intValue()).sum());
    }
 }
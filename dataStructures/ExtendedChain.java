@@ -31,12 +31,14 @@ public class ExtendedChain extends Chain
          if (size == 1)
             // list becomes empty
             lastNode = null;  // needed for garbage collection
+         if (cursorIndex == 0)
+            invalidateCursor();  // cursor was at removed node
+         else
+            cursorIndex--;
       }
       else 
       {  // use q to get to predecessor of desired node
-         ChainNode q = firstNode;
-         for (int i = 0; i < index - 1; i++)
-            q = q.next;
+         ChainNode q = nodeAt(index - 1);
 
          removedElement = q.next.element;
          q.next = q.next.next; // remove desired node
@@ -64,13 +66,12 @@ public class ExtendedChain extends Chain
           firstNode = new ChainNode(theElement, firstNode);
           if (firstNode.next == null)
              lastNode = firstNode;
+          cursorIndex++;  // cursor, if any, moved right by one
       }
       else
       {// insert in interior or end  
           // find predecessor of new element
-          ChainNode p = firstNode;
-          for (int i = 0; i < index - 1; i++)
-             p = p.next;
+          ChainNode p = nodeAt(index - 1);
 
           // insert after p
           p.next = new ChainNode(theElement, p.next);
@@ -84,6 +85,7 @@ public class ExtendedChain extends Chain
    {
       firstNode = lastNode = null;
       size = 0;
+      invalidateCursor();
    }
 
    /** Add theElement to the right end of the chain. */
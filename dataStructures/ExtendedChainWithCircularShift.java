@@ -36,6 +36,7 @@ public class ExtendedChainWithCircularShift extends ExtendedChain
       firstNode = lastNodeToMove.next;
       lastNode = lastNodeToMove;
       lastNode.next = null;
+      invalidateCursor();  // nodes have new indexes
    }
 
 
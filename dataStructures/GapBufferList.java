@@ -0,0 +1,337 @@
+
+
+/** gap buffer implementation of ExtendedLinearList,
+  * elements are kept in one array with a gap of unused
+  * positions at the most recent edit point; an add or remove
+  * at index i moves the gap to i, which costs time proportional
+  * to the distance moved, so bursts of edits near one position
+  * take O(1) amortized time each */
+
+package dataStructures;
+
+import java.util.*;
+
+public class GapBufferList implements ExtendedLinearList
+{
+   // data members
+   protected Object [] element;  // array of elements
+   protected int gapStart;       // first position of the gap
+   protected int gapEnd;         // first position after the gap,
+                                 // element[gapStart:gapEnd-1] is unused
+
+   // constructors
+   /** create a list with initial capacity initialCapacity
+     * @throws IllegalArgumentException when
+     * initialCapacity < 1 */
+   public GapBufferList(int initialCapacity)
+   {
+      if (initialCapacity < 1)
+         throw new IllegalArgumentException
+               ("initialCapacity must be >= 1");
+      element = new Object [initialCapacity];
+      // gapStart has the default initial value of 0
+      gapEnd = initialCapacity;
+   }
+
+   /** create a list with initial capacity 10 */
+   public GapBufferList()
+   {// use default capacity of 10
+      this(10);
+   }
+
+   // methods
+   /** @return true iff list is empty */
+   public boolean isEmpty()
+      {return size() == 0;}
+
+   /** @return current number of elements in list */
+   public int size()
+      {return element.length - (gapEnd - gapStart);}
+
+   /** @return index at which the gap is, the next add
+     * at this index does not move any element */
+   public int gapIndex()
+      {return gapStart;}
+
+   /** @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   void checkIndex(int index)
+   {
+      if (index < 0 || index >= size())
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size());
+   }
+
+   /** @return array position of the element with specified index */
+   int position(int index)
+      {return (index < gapStart) ? index : index + (gapEnd - gapStart);}
+
+   /** move the gap so that it starts at index */
+   void moveGap(int index)
+   {
+      if (index < gapStart)
+      {// move elements [index:gapStart-1] to the right end of the gap
+         int count = gapStart - index;
+         System.arraycopy(element, index, element, gapEnd - count, count);
+         gapStart = index;
+         gapEnd -= count;
+         Arrays.fill(element, gapStart, Math.min(gapStart + count, gapEnd),
+                     null);
+      }
+      else if (index > gapStart)
+      {// move elements after the gap to the left end of the gap
+         int count = index - gapStart;
+         System.arraycopy(element, gapEnd, element, gapStart, count);
+         gapStart = index;
+         gapEnd += count;
+         Arrays.fill(element, Math.max(gapStart, gapEnd - count), gapEnd,
+                     null);
+      }
+   }
+
+   /** make the gap at least minGap positions long,
+     * the gap stays at the same index */
+   void ensureGap(int minGap)
+   {
+      int gapLength = gapEnd - gapStart;
+      if (gapLength >= minGap)
+         return;
+
+      // no space, at least double capacity
+      int newLength = Math.max(2 * element.length,
+                               element.length + minGap - gapLength);
+      Object [] newElement = new Object [newLength];
+      int tailLength = element.length - gapEnd;
+      System.arraycopy(element, 0, newElement, 0, gapStart);
+      System.arraycopy(element, gapEnd, newElement,
+                       newLength - tailLength, tailLength);
+      element = newElement;
+      gapEnd = newLength - tailLength;
+   }
+
+   /** @return element with specified index
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   public Object get(int index)
+   {
+      checkIndex(index);
+      return element[position(index)];
+   }
+
+   /** @return index of first occurrence of theElement,
+     * return -1 if theElement not in list */
+   public int indexOf(Object theElement)
+   {
+      // search the part before the gap
+      for (int i = 0; i < gapStart; i++)
+         if (element[i].equals(theElement))
+            return i;
+
+      // search the part after the gap
+      for (int i = gapEnd; i < element.length; i++)
+         if (element[i].equals(theElement))
+            return i - (gapEnd - gapStart);
+
+      // theElement not found
+      return -1;
+   }
+
+   /** Remove the element with specified index.
+     * All elements with higher index have their
+     * index reduced by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1
+     * @return removed element */
+   public Object remove(int index)
+   {
+      checkIndex(index);
+
+      Object removedElement;
+      if (index == gapStart - 1)
+      {// element just before the gap, extend the gap to the left
+         removedElement = element[--gapStart];
+         element[gapStart] = null;
+      }
+      else
+      {// move the gap to index and extend it to the right
+         moveGap(index);
+         removedElement = element[gapEnd];
+         element[gapEnd++] = null;
+      }
+      return removedElement;
+   }
+
+   /** Insert an element with specified index.
+     * All elements with equal or higher index
+     * have their index increased by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void add(int index, Object theElement)
+   {
+      if (index < 0 || index > size())
+         // invalid list position
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size());
+
+      moveGap(index);
+      ensureGap(1);
+      element[gapStart++] = theElement;
+   }
+
+   /** Insert the elements of theElements so that the first
+     * one has specified index.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void addAll(int index, Object [] theElements)
+   {
+      if (index < 0 || index > size())
+         // invalid list position
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size());
+
+      moveGap(index);
+      ensureGap(theElements.length);
+      System.arraycopy(theElements, 0, element, gapStart,
+                       theElements.length);
+      gapStart += theElements.length;
+   }
+
+   /** Add theElement to the right end of the list. */
+   public void add(Object theElement)
+      {add(size(), theElement);}
+
+   /** Make the list empty. */
+   public void clear()
+   {
+      Arrays.fill(element, null);
+      gapStart = 0;
+      gapEnd = element.length;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+
+      // put elements into the buffer
+      for (Iterator y = iterator(); y.hasNext(); )
+      {
+         Object theElement = y.next();
+         if (theElement == null)
+            s.append("null, ");
+         else
+            s.append(theElement.toString() + ", ");
+      }
+
+      if (size() > 0)
+         s.delete(s.length() - 2, s.length());  // remove last ", "
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator */
+   public Iterator iterator()
+      {return new GapBufferIterator();}
+
+   /** iterator that skips over the gap */
+   private class GapBufferIterator implements Iterator
+   {
+      // data member
+      private int nextPosition;  // array position of next element
+
+      // constructor
+      public GapBufferIterator()
+         {nextPosition = (gapStart == 0) ? gapEnd : 0;}
+
+      // methods
+      /** @return true iff list has a next element */
+      public boolean hasNext()
+         {return nextPosition < element.length;}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public Object next()
+      {
+         if (nextPosition >= element.length)
+            throw new NoSuchElementException("No next element");
+
+         Object elementToReturn = element[nextPosition++];
+         if (nextPosition == gapStart)
+            // skip over the gap
+            nextPosition = gapEnd;
+         return elementToReturn;
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+               ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      // test default constructor
+      GapBufferList x = new GapBufferList();
+
+      // test size
+      System.out.println("Initial size is " + x.size());
+
+      // test isEmpty
+      if (x.isEmpty())
+         System.out.println("The list is empty");
+      else System.out.println("The list is not empty");
+
+      // test add
+      x.add(0, new Integer(2));
+      x.add(1, new Integer(6));
+      x.add(0, new Integer(1));
+      x.add(2, new Integer(4));
+      System.out.println("List size is " + x.size());
+
+      // test toString
+      System.out.println("The list is " + x);
+
+      // test indexOf
+      int index = x.indexOf(new Integer(4));
+      if (index < 0)
+         System.out.println("4 not found");
+      else System.out.println("The index of 4 is " + index);
+
+      index = x.indexOf(new Integer(3));
+      if (index < 0)
+         System.out.println("3 not found");
+      else System.out.println("The index of 3 is " + index);
+
+      // test get
+      System.out.println("Element at 0 is " + x.get(0));
+      System.out.println("Element at 3 is " + x.get(3));
+
+      // test remove
+      System.out.println(x.remove(1) + " removed");
+      System.out.println("The list is " + x);
+      System.out.println(x.remove(2) + " removed");
+      System.out.println("The list is " + x);
+
+      // test bulk insert at the gap
+      Object [] a = new Object [12];
+      for (int i = 0; i < a.length; i++)
+         a[i] = new Integer(10 + i);
+      x.addAll(1, a);
+      System.out.println("After addAll at 1 the list is " + x);
+      System.out.println("The gap is at index " + x.gapIndex());
+
+      // typing and backspacing at the gap
+      x.add(x.gapIndex(), new Integer(99));
+      x.remove(x.gapIndex() - 1);
+      x.remove(x.gapIndex() - 1);
+      System.out.println("After an insert and two backspaces the list is "
+                         + x);
+      System.out.println("List size is " + x.size());
+   }
+}
@@ -35,6 +35,7 @@ public class GraphChain extends Chain
          firstNode = current.next; // current is first node
    
       size--;
+      invalidateCursor();
       return theElement;
    }
 }
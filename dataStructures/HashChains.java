@@ -1,5 +1,10 @@
 
-/** hash tables using chaining and division */
+/** hash tables using chaining and division;
+  * a bucket is a sorted chain, and a chain longer than
+  * TREEIFY_THRESHOLD becomes an AVL tree so that poor hash
+  * codes cannot make a search take linear time; the tree
+  * becomes a chain again when it shrinks below
+  * UNTREEIFY_THRESHOLD */
 
 package dataStructures;
 
@@ -9,8 +14,12 @@ public class HashChains
 {
    // data members
    private int divisor;               // hash function divisor
-   private SortedChain [] table;      // hash table array
+   private Dictionary [] table;       // hash table array, each bucket
+                                      // is a SortedChain or an AVLtree
+   private int [] bucketSize;         // number of elements in each bucket
    private int size;                  // number of elements in table
+   static final int TREEIFY_THRESHOLD = 8;
+   static final int UNTREEIFY_THRESHOLD = 4;
 
    // constructor
    public HashChains(int theDivisor)
@@ -18,7 +27,8 @@ public class HashChains
       divisor = theDivisor;
    
       // allocate hash table array
-      table = new SortedChain [divisor];
+      table = new Dictionary [divisor];
+      bucketSize = new int [divisor];
 
       // allocate the chains
       for (int i = 0; i < divisor; i++)
@@ -47,7 +57,13 @@ public class HashChains
    {
       int b = Math.abs(theKey.hashCode()) % divisor;  // home bucket
       Object elementToReturn = table[b].put(theKey, theElement);
-      if (elementToReturn == null) size++;            // new key
+      if (elementToReturn == null)
+      {// new key
+         size++;
+         if (++bucketSize[b] > TREEIFY_THRESHOLD
+             && table[b] instanceof SortedChain)
+            treeify(b);
+      }
       return elementToReturn;
    }
 
@@ -55,17 +71,84 @@ public class HashChains
      * @return null if no matching element */
    public Object remove(Object theKey)
    {
-      Object x = table[Math.abs(theKey.hashCode()) % divisor]
-                 .remove(theKey);
-      if (x != null) size--;
+      int b = Math.abs(theKey.hashCode()) % divisor;  // home bucket
+      Object x = table[b].remove(theKey);
+      if (x != null)
+      {
+         size--;
+         if (--bucketSize[b] < UNTREEIFY_THRESHOLD
+             && table[b] instanceof AVLtree)
+            untreeify(b);
+      }
       return x;
    }
+
+   /** replace the chain of bucket b by an AVL tree */
+   private void treeify(int b)
+   {
+      AVLtree t = new AVLtree();
+      for (SortedChain.SortedChainNode p = ((SortedChain) table[b]).firstNode;
+           p != null; p = p.next)
+         t.put(p.key, p.element);
+      table[b] = t;
+   }
+
+   /** replace the AVL tree of bucket b by a chain */
+   private void untreeify(int b)
+   {
+      SortedChain c = new SortedChain();
+      putAll(((AVLtree) table[b]).root, c);
+      table[b] = c;
+   }
+
+   /** put the elements in the AVL subtree with root t into c */
+   private static void putAll(BinaryTreeNode t, SortedChain c)
+   {
+      if (t != null)
+      {
+         putAll(t.leftChild, c);
+         BinarySearchTree.Data d = (BinarySearchTree.Data) t.element;
+         c.put(d.key, ((AVLtree.AVLElement) d.element).element);
+         putAll(t.rightChild, c);
+      }
+   }
+
+   /** @return the bucket length distribution, element i is the
+     * number of buckets that have i elements; a long array, or
+     * many trees, points to poor hash codes */
+   public int [] bucketLengthHistogram()
+   {
+      int maxLength = 0;
+      for (int i = 0; i < divisor; i++)
+         maxLength = Math.max(maxLength, bucketSize[i]);
+      int [] histogram = new int [maxLength + 1];
+      for (int i = 0; i < divisor; i++)
+         histogram[bucketSize[i]]++;
+      return histogram;
+   }
+
+   /** @return number of buckets that are AVL trees */
+   public int treeBuckets()
+   {
+      int count = 0;
+      for (int i = 0; i < divisor; i++)
+         if (table[i] instanceof AVLtree)
+            count++;
+      return count;
+   }
    
    /** output the hash table */
    public void output()
    {
       for (int i = 0; i < divisor; i++)
-         System.out.println(table[i]);
+         if (table[i] instanceof AVLtree)
+         {
+            System.out.print("tree: ");
+            ((AVLtree) table[i]).ascend();
+            System.out.println();
+         }
+         else
+            System.out.println(table[i]);
       System.out.println("Table size is " + size);
    }
    
@@ -95,5 +178,26 @@ public class HashChains
       // update element
       h.put(new Integer(7), new Integer(29));
       h.output();
+      System.out.println();
+
+      // keys that are multiples of the divisor all go to bucket 0,
+      // which becomes a tree
+      for (int i = 1; i <= 12; i++)
+         h.put(new Integer(11 * i * 100), new Integer(i));
+      h.output();
+      System.out.println("There are " + h.treeBuckets() + " tree buckets");
+      int [] histogram = h.bucketLengthHistogram();
+      for (int i = 0; i < histogram.length; i++)
+         if (histogram[i] > 0)
+            System.out.println(histogram[i] + " buckets have "
+                               + i + " elements");
+
+      // removes make the tree a chain again
+      for (int i = 1; i <= 10; i++)
+         h.remove(new Integer(11 * i * 100));
+      System.out.println("After removes there are " + h.treeBuckets()
+                         + " tree buckets, element with key 1100 is "
+                         + h.get(new Integer(1100)) + ", with key 13200 is "
+                         + h.get(new Integer(13200)));
    }
 }
@@ -1,10 +1,14 @@
-/** hash tables using linear open addressing and division */
+/** hash tables using linear open addressing with Robin Hood
+  * displacement; the table length is a power of 2, the home
+  * bucket is a mixed hash code masked by table.length - 1,
+  * and remove shifts the following entries back instead of
+  * leaving a deleted marker */
 
 package dataStructures;
 
 import java.util.*;
 
-public class HashTable
+public class HashTable implements Dictionary
 {
    // top-level nested class
    protected static class HashEntry
@@ -12,29 +16,41 @@ public class HashTable
       // data members
       protected Object key;
       protected Object element;
+      protected int hash;        // mixed hash code of key
 
       // constructors
       private HashEntry() {}
-     
-      private HashEntry(Object theKey, Object theElement)
+
+      private HashEntry(Object theKey, Object theElement, int theHash)
       {
          key = theKey;
          element = theElement;
+         hash = theHash;
       }
    }
 
    // data members of HashTable
-   protected int divisor;         // hash function divisor
+   protected int mask;            // table.length - 1
    protected HashEntry [] table;  // hash table array
    protected int size;            // number of elements in table
 
    // constructor
-   public HashTable(int theDivisor)
+   /** create a table with theCapacity buckets rounded up
+     * to a power of 2
+     * @throws IllegalArgumentException when theCapacity < 1
+     * or theCapacity > 2^30 */
+   public HashTable(int theCapacity)
    {
-      divisor = theDivisor;
-   
+      if (theCapacity < 1 || theCapacity > 1 << 30)
+         throw new IllegalArgumentException
+               ("theCapacity must be between 1 and 2^30");
+      int length = 1;
+      while (length < theCapacity)
+         length <<= 1;
+
       // allocate hash table array
-      table = new HashEntry [divisor];
+      table = new HashEntry [length];
+      mask = length - 1;
    }
 
    // methods
@@ -45,39 +61,96 @@ public class HashTable
    /** @return current number of elements in the table */
    public int size()
       {return size;}
-   
-   /** search an open addressed hash table for an element with key theKey
-     * @return location of matching element if found, otherwise return
-     * location where an element with key theKey may be inserted
-     * provided the hash table is not full */
-   private int search(Object theKey)
+
+   /** @return hash code of theKey with its bits mixed so that
+     * keys whose codes differ only in high bits get different
+     * home buckets */
+   static int hash(Object theKey)
+   {
+      int h = theKey.hashCode() * 0x9e3779b9;
+      return h ^ (h >>> 16);
+   }
+
+   /** @return distance of the entry in t[b] from its home bucket */
+   static int probeDistance(HashEntry [] t, int b)
+      {return (b - t[b].hash) & (t.length - 1);}
+
+   /** @return distance of the entry in bucket b from its home bucket */
+   protected final int probeDistance(int b)
+      {return probeDistance(table, b);}
+
+   /** search the hash table t for an element with key theKey;
+     * entries on a probe sequence are at least as far from their
+     * home buckets as the sequence is long, so the search stops
+     * at the first entry that is closer to its home bucket
+     * @return location of matching element
+     * @return -1 if no matching element */
+   static int search(HashEntry [] t, Object theKey, int theHash)
    {
-      int i = Math.abs(theKey.hashCode()) % divisor;  // home bucket
-      int j = i;    // start at home bucket
-      do
+      int m = t.length - 1;
+      int j = theHash & m;   // start at home bucket
+      for (int d = 0; d <= m; d++)
       {
-         if (table[j] == null || table[j].key.equals(theKey))
+         HashEntry e = t[j];
+         if (e == null || probeDistance(t, j) < d)
+            return -1;
+         if (e.hash == theHash && e.key.equals(theKey))
             return j;
-         j = (j + 1) % divisor;  // next bucket
-      } while (j != i);          // returned to home bucket?
-   
-      return j;  // table full
+         j = (j + 1) & m;  // next bucket
+      }
+
+      return -1;  // table full and no match
    }
-   
+
+   /** empty bucket b of the hash table t, shifting following
+     * entries that are not in their home bucket back by one so
+     * that the probe sequences stay unbroken */
+   static void removeEntry(HashEntry [] t, int b)
+   {
+      int m = t.length - 1;
+      int next = (b + 1) & m;
+      while (t[next] != null && probeDistance(t, next) > 0)
+      {
+         t[b] = t[next];
+         b = next;
+         next = (next + 1) & m;
+      }
+      t[b] = null;
+   }
+
    /** @return element with specified key
      * @return null if no matching element */
    public Object get(Object theKey)
    {
-      // search the table
-      int b = search(theKey);
-
-      // see if a match was found at table[b]
-      if (table[b] == null || !table[b].key.equals(theKey))
-         return null;           // no match
+      int b = search(table, theKey, hash(theKey));
+      return (b == -1) ? null : table[b].element;
+   }
 
-      return table[b].element;  // matching element
+   /** put the entry e, whose key is not in the table, into the
+     * table; entries closer to their home buckets than e is to
+     * its home bucket give up their bucket to e and move on,
+     * the table must not be full */
+   protected void insertNew(HashEntry e)
+   {
+      int j = e.hash & mask;
+      int d = 0;              // distance of e from its home bucket
+      while (table[j] != null)
+      {
+         int dj = probeDistance(j);
+         if (dj < d)
+         {// e takes bucket j, continue with the displaced entry
+            HashEntry displaced = table[j];
+            table[j] = e;
+            e = displaced;
+            d = dj;
+         }
+         j = (j + 1) & mask;  // next bucket
+         d++;
+      }
+      table[j] = e;
+      size++;
    }
-   
+
    /** insert an element with the specified key
      * overwrite old element if there is already an
      * element with the given key
@@ -85,40 +158,66 @@ public class HashTable
      * @return old element (if any) with key theKey */
    public Object put(Object theKey, Object theElement)
    {
-      // search the table for a matching element
-      int b = search(theKey);
-   
-      // check if matching element found
-      if (table[b] == null)
-      {
-         // no matching element and table not full
-         table[b] = new HashEntry(theKey, theElement);
-         size++;
-         return null;
-      }
-      else
-      {// check if duplicate or table full
-         if (table[b].key.equals(theKey))
-         {// duplicate, change table[b].element
-            Object elementToReturn = table[b].element;
-            table[b].element = theElement;
-            return elementToReturn;
-         }
-         else // table is full
-            throw new IllegalArgumentException("table is full");
+      int h = hash(theKey);
+      int b = search(table, theKey, h);
+      if (b != -1)
+      {// duplicate, change table[b].element
+         Object elementToReturn = table[b].element;
+         table[b].element = theElement;
+         return elementToReturn;
       }
+
+      if (size == table.length)
+         throw new IllegalArgumentException("table is full");
+      insertNew(new HashEntry(theKey, theElement, h));
+      return null;
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(Object theKey)
+   {
+      int b = search(table, theKey, hash(theKey));
+      if (b == -1)
+         return null;
+      Object elementToReturn = table[b].element;
+      removeEntry(table, b);
+      size--;
+      return elementToReturn;
+   }
+
+   /** @return average number of buckets examined by a successful
+     * search, 0 when the table is empty */
+   public double averageProbeLength()
+   {
+      long sum = 0;
+      for (int i = 0; i < table.length; i++)
+         if (table[i] != null)
+            sum += probeDistance(i) + 1;
+      return (size == 0) ? 0 : (double) sum / size;
+   }
+
+   /** @return largest number of buckets examined by a
+     * successful search */
+   public int maxProbeLength()
+   {
+      int max = 0;
+      for (int i = 0; i < table.length; i++)
+         if (table[i] != null)
+            max = Math.max(max, probeDistance(i) + 1);
+      return max;
    }
-   
+
    /** output the hash table */
    public void output()
    {
-      for (int i = 0; i < divisor; i++)
+      for (int i = 0; i < table.length; i++)
          if (table[i] == null)
             System.out.println("null");
          else
             System.out.println(table[i].element);
    }
-   
+
    /** test method */
    public static void main (String [] args)
    {
@@ -140,6 +239,14 @@ public class HashTable
       h.put(new Integer(21), new Integer(21));
       h.output();
       System.out.println();
+      System.out.println("Average probe length is " +
+                         h.averageProbeLength() + ", maximum is " +
+                         h.maxProbeLength());
+      System.out.println();
+
+      // fill the 16 buckets
+      for (int i = 100; h.size() < 16; i++)
+         h.put(new Integer(i), new Integer(i));
       try {h.put(new Integer(99), new Integer(99));}
       catch (Exception e)
       {System.out.println(" No memory for 99");}
@@ -147,5 +254,14 @@ public class HashTable
       // update element
       h.put(new Integer(7), new Integer(29));
       h.output();
+      System.out.println();
+
+      // remove elements
+      System.out.println("Removed " + h.remove(new Integer(40)) +
+                         " and " + h.remove(new Integer(7)));
+      System.out.println("Removing 40 again gives " +
+                         h.remove(new Integer(40)));
+      System.out.println("Element with key 65 is " +
+                         h.get(new Integer(65)) + ", size is " + h.size());
    }
 }
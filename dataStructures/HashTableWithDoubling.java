@@ -1,4 +1,10 @@
-/** extension of HashTable to double table size as needed */
+/** extension of HashTable to double table size as needed
+  * and halve it when the table becomes sparse.
+  * In incremental mode a resize does not rehash all entries
+  * at once; the old table is kept beside the new one and each
+  * get, put and remove moves a few of its buckets to the new
+  * table, so the old table empties even when only gets are done;
+  * until it is empty gets look in both tables. */
 
 package dataStructures;
 
@@ -9,17 +15,147 @@ public class HashTableWithDoubling extends HashTable
    // double hash table capacity when loading factor
    // exceeds threshold
    private double threshold;
+   private boolean incremental;    // true iff resizes are incremental
+   private int minCapacity;        // table is not shrunk below this
 
-   public HashTableWithDoubling(int theDivisor)
+   // migration state, oldTable is null when no migration is going on
+   private HashEntry [] oldTable;  // table whose entries are being moved
+   private int migrateIndex;       // next bucket of oldTable to move
+   private int bucketsLeft;        // buckets of oldTable not yet moved
+   static final int MIGRATION_STEP = 16; // buckets moved per operation
+
+   // constructors
+   /** create a table with theCapacity buckets, rounded up to a
+     * power of 2, that doubles when its loading factor exceeds
+     * theThreshold
+     * @param incremental true to resize a few buckets per operation
+     * @throws IllegalArgumentException when theCapacity is out
+     * of range or theThreshold is not in (0, 1] */
+   public HashTableWithDoubling(int theCapacity, double theThreshold,
+                                boolean incremental)
    {
-      super(theDivisor);
-      threshold = 0.75;
+      super(theCapacity);
+      if (!(theThreshold > 0 && theThreshold <= 1))
+         throw new IllegalArgumentException
+               ("theThreshold must be in (0, 1]");
+      threshold = theThreshold;
+      this.incremental = incremental;
+      minCapacity = table.length;
    }
 
+   public HashTableWithDoubling(int theCapacity)
+      {this(theCapacity, 0.75, false);}
+
    public HashTableWithDoubling(double theThreshold)
+      {this(11, theThreshold, false);}
+
+   // methods
+   /** @return true iff a migration to a resized table is going on */
+   public boolean isMigrating()
+      {return oldTable != null;}
+
+   /** move table to oldTable and allocate a table of length newLength;
+     * when atOnce is true or the mode is not incremental all
+     * entries are moved now, otherwise a migration is started */
+   private void resize(int newLength, boolean atOnce)
    {
-      super(11);
-      threshold = theThreshold;
+      if (oldTable != null)
+         // finish the migration that is going on
+         migrate(bucketsLeft);
+
+      HashEntry [] from = table;
+      table = new HashEntry [newLength];
+      mask = newLength - 1;
+
+      // find an empty bucket of from to start the migration at,
+      // no cluster of entries then wraps around the start
+      int start = -1;
+      for (int i = 0; i < from.length && start == -1; i++)
+         if (from[i] == null)
+            start = i;
+
+      if (atOnce || !incremental || start == -1)
+      {// rehash all entries now
+         size = 0;
+         for (int i = 0; i < from.length; i++)
+            if (from[i] != null)
+               insertNew(from[i]);
+         return;
+      }
+
+      oldTable = from;
+      migrateIndex = start;
+      bucketsLeft = from.length;
+   }
+
+   /** move the entries in at least steps buckets of oldTable to
+     * table; a cluster of entries between two empty buckets is
+     * moved as a whole, so the entries left in oldTable keep
+     * unbroken probe sequences */
+   private void migrate(int steps)
+   {
+      int oldMask = oldTable.length - 1;
+      while (steps > 0 && bucketsLeft > 0)
+      {
+         // move the cluster that starts at migrateIndex, if any
+         while (oldTable[migrateIndex] != null)
+         {
+            HashEntry e = oldTable[migrateIndex];
+            oldTable[migrateIndex] = null;
+            size--;        // insertNew counts e again
+            insertNew(e);
+            migrateIndex = (migrateIndex + 1) & oldMask;
+            bucketsLeft--;
+            steps--;
+         }
+
+         if (bucketsLeft > 0)
+         {// skip the empty bucket that ends the cluster; when the
+          // cluster ran up to the start bucket that one was counted
+          // first
+            migrateIndex = (migrateIndex + 1) & oldMask;
+            bucketsLeft--;
+            steps--;
+         }
+      }
+
+      if (bucketsLeft == 0)
+         oldTable = null;   // migration done
+   }
+
+   /** make the table large enough for n elements, so that no
+     * resize is needed until there are more than n elements;
+     * the table is resized at once and is not shrunk below
+     * this capacity by later removes
+     * @throws IllegalArgumentException when n < 0 */
+   public void ensureCapacity(int n)
+   {
+      if (n < 0)
+         throw new IllegalArgumentException("n must be >= 0");
+      int length = table.length;
+      while (n > threshold * length && length < 1 << 30)
+         length <<= 1;
+      if (minCapacity < length)
+         minCapacity = length;
+      if (length > table.length)
+         resize(length, true);
+   }
+
+   /** @return element with specified key
+     * @return null if no matching element */
+   public Object get(Object theKey)
+   {
+      if (oldTable != null)
+         migrate(MIGRATION_STEP);
+
+      Object theElement = super.get(theKey);
+      if (theElement == null && oldTable != null)
+      {// theKey may not have been moved yet
+         int b = search(oldTable, theKey, hash(theKey));
+         if (b != -1)
+            theElement = oldTable[b].element;
+      }
+      return theElement;
    }
 
    /** insert an element with the specified key
@@ -30,25 +166,72 @@ public class HashTableWithDoubling extends HashTable
      * @return old element (if any) with key theKey */
    public Object put(Object theKey, Object theElement)
    {
+      if (oldTable != null)
+         migrate(MIGRATION_STEP);
+
       if (((double)(size + 1)) / table.length > threshold)
-      {// double table capacity, we assume theKey is not a duplicate
-       // doesn't hurt even if theKey is a duplicate
-         HashEntry [] oldTable = table;
-         // approximately double capacity, keeping length odd 
-         table = new HashEntry [oldTable.length * 2 + 1];
-         divisor = table.length;
-         size = 0;
+         // we assume theKey is not a duplicate
+         // doesn't hurt even if theKey is a duplicate
+         resize(2 * table.length, false);
 
-         // insert old elements into new table
-         for (int i = 0; i < oldTable.length; i++)
-            if (oldTable[i] != null)
-               super.put(oldTable[i].key, oldTable[i].element);
+      if (oldTable != null)
+      {// theKey may not have been moved yet
+         int b = search(oldTable, theKey, hash(theKey));
+         if (b != -1)
+         {// duplicate, change oldTable[b].element
+            Object elementToReturn = oldTable[b].element;
+            oldTable[b].element = theElement;
+            return elementToReturn;
+         }
       }
 
       // insert new item
       return super.put(theKey, theElement);
    }
-   
+
+   /** @return matching element and remove it
+     * @return null if no matching element;
+     * halve table size when loading factor falls below
+     * a quarter of threshold */
+   public Object remove(Object theKey)
+   {
+      if (oldTable != null)
+         migrate(MIGRATION_STEP);
+
+      Object elementToReturn = super.remove(theKey);
+      if (elementToReturn == null && oldTable != null)
+      {// theKey may not have been moved yet
+         int b = search(oldTable, theKey, hash(theKey));
+         if (b != -1)
+         {
+            elementToReturn = oldTable[b].element;
+            removeEntry(oldTable, b);
+            size--;
+         }
+      }
+
+      if (elementToReturn != null && table.length > minCapacity
+          && size < threshold * table.length / 4)
+         resize(table.length / 2, false);
+      return elementToReturn;
+   }
+
+   /** output the hash table, and the buckets of the
+     * old table while a migration is going on */
+   public void output()
+   {
+      super.output();
+      if (oldTable != null)
+      {
+         System.out.println("old table");
+         for (int i = 0; i < oldTable.length; i++)
+            if (oldTable[i] == null)
+               System.out.println("null");
+            else
+               System.out.println(oldTable[i].element);
+      }
+   }
+
    /** test method */
    public static void main (String [] args)
    {
@@ -77,5 +260,27 @@ public class HashTableWithDoubling extends HashTable
       // update element
       h.put(new Integer(7), new Integer(29));
       h.output();
+      System.out.println();
+
+      // incremental mode, a migration is spread over many puts
+      HashTableWithDoubling g = new HashTableWithDoubling(16, 0.75, true);
+      int migratingPuts = 0;
+      for (int i = 0; i < 1000; i++)
+      {
+         g.put(new Integer(i), new Integer(i));
+         if (g.isMigrating())
+            migratingPuts++;
+      }
+      System.out.println(migratingPuts + " of 1000 puts left a "
+                         + "migration going on");
+      System.out.println("Element with key 500 is " +
+                         g.get(new Integer(500)));
+
+      // removes shrink the table
+      for (int i = 0; i < 990; i++)
+         g.remove(new Integer(i));
+      System.out.println("After removes size is " + g.size() +
+                         ", element with key 995 is " +
+                         g.get(new Integer(995)));
    }
 }
@@ -35,21 +35,16 @@ public class HashTableWithDoubling2 extends HashTable
       {// double table capacity, we assume theKey is not a duplicate
        // doesn't hurt even if theKey is a duplicate
          HashEntry [] oldTable = table;
-         // approximately double capacity, keeping length odd 
-         table = new HashEntry [oldTable.length * 2 + 1];
-         divisor = table.length;
+         // double capacity, keeping length a power of 2
+         table = new HashEntry [oldTable.length * 2];
+         mask = table.length - 1;
+         size = 0;
 
-         // insert old elements into new table
+         // enter the old entries into the new table, keys are
+         // distinct and their hash codes are cached in the entries
          for (int i = 0; i < oldTable.length; i++)
             if (oldTable[i] != null)
-            {// enter oldTable[i] into new table
-                // find an empty bucket
-                int j = Math.abs(oldTable[i].key.hashCode()) % divisor;
-                while (table[j] != null)
-                   j = (j + 1) % divisor;  // next bucket
-      
-                table[j] = oldTable[i];
-            }
+               insertNew(oldTable[i]);
       }
 
       // insert new item
@@ -45,19 +45,34 @@ public class HeadDoubleCircularList implements ExtendedLinearList
              ("index = " + index + "  size = " + size);
    }
 
+   /** @return node with specified index, reached by moving
+     * from the nearer end of the list; index must be between
+     * -1 and size, both -1 and size give the header node */
+   DoubleNode nodeAt(int index)
+   {
+      DoubleNode currentNode;
+      if (index < size / 2)
+      {// move from left to right
+         currentNode = headerNode;
+         for (int i = -1; i < index; i++)
+            currentNode = currentNode.next;
+      }
+      else
+      {// move from right to left
+         currentNode = headerNode;
+         for (int i = size; i > index; i--)
+            currentNode = currentNode.previous;
+      }
+      return currentNode;
+   }
+
    /** @return element with specified index
      * @throws IndexOutOfBoundsException when
      * index is not between 0 and size - 1 */
    public Object get(int index)
    {
       checkIndex(index);
-
-      // move to desired node
-      DoubleNode currentNode = headerNode.next;
-      for (int i = 0; i < index; i++)
-         currentNode = currentNode.next;
-
-      return currentNode.element;
+      return nodeAt(index).element;
    }
    
    /** @return index of first occurrence of elem,
@@ -90,23 +105,8 @@ public class HeadDoubleCircularList implements ExtendedLinearList
    {
       checkIndex(index);
 
-      DoubleNode currentNode;  // will point to node with element that is
-                               // to be removed
-
       // move to element that is to be removed
-      if (index < size / 2)
-      {// move from left to right
-         currentNode = headerNode.next;
-         for (int i = 0; i < index; i++)
-            currentNode = currentNode.next;
-      }
-      else
-      {// move from right to left
-         currentNode = headerNode.previous;
-         int numberToMove = size - index - 1;
-         for (int i = 0; i < numberToMove; i++)
-            currentNode = currentNode.previous;
-      }
+      DoubleNode currentNode = nodeAt(index);
 
       // remove currentNode
       currentNode.previous.next = currentNode.next;
@@ -128,22 +128,8 @@ public class HeadDoubleCircularList implements ExtendedLinearList
          throw new IndexOutOfBoundsException
                    ("index = " + index + "  size = " + size);
 
-      // define a pointer that will eventually point to node
-      // just before insertion point
-      DoubleNode currentNode;
-      if (index <= size / 2)
-      {// move from left to right
-         currentNode = headerNode;
-         for (int i = 0; i < index; i++)
-            currentNode = currentNode.next;
-      }
-      else
-      {// move from right to left
-         currentNode = headerNode.previous;
-         int numberToMove = size - index;
-         for (int i = 0; i < numberToMove; i++)
-            currentNode = currentNode.previous;
-      }
+      // node just before insertion point
+      DoubleNode currentNode = nodeAt(index - 1);
 
       // insert after currentNode
       currentNode.next =
@@ -233,6 +219,175 @@ public class HeadDoubleCircularList implements ExtendedLinearList
       newNode.previous.next = newNode;
       size++;
    }
+
+   /** Move the elements of source with index fromIndex through
+     * toIndex - 1 into this list so that they start at index index.
+     * The nodes are relinked, not copied; apart from walking to the
+     * end points of the range and to index, from the nearer end of
+     * each list, the move takes O(1) time.
+     * When source is this list, the range is taken out first and
+     * index refers to the list that remains.
+     * @throws IndexOutOfBoundsException when the range is not
+     * within source or index is not a valid insert position */
+   public void splice(int index, HeadDoubleCircularList source,
+                      int fromIndex, int toIndex)
+   {
+      if (fromIndex < 0 || toIndex > source.size || fromIndex > toIndex)
+         throw new IndexOutOfBoundsException
+                   ("fromIndex = " + fromIndex + "  toIndex = " + toIndex
+                    + "  size = " + source.size);
+      int count = toIndex - fromIndex;
+      int newSize = (source == this) ? size - count : size;
+      if (index < 0 || index > newSize)
+         throw new IndexOutOfBoundsException
+                   ("index = " + index + "  size = " + newSize);
+      if (count == 0)
+         return;
+
+      // unlink the run from source
+      DoubleNode first = source.nodeAt(fromIndex);
+      DoubleNode last = (count == 1) ? first : source.nodeAt(toIndex - 1);
+      first.previous.next = last.next;
+      last.next.previous = first.previous;
+      source.size -= count;
+
+      // link the run in after the node with index index - 1
+      DoubleNode before = nodeAt(index - 1);
+      first.previous = before;
+      last.next = before.next;
+      before.next.previous = last;
+      before.next = first;
+      size += count;
+   }
+
+   /** Move all elements of source into this list so that they start
+     * at index index, source becomes empty.
+     * @throws IllegalArgumentException when source is this list
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void splice(int index, HeadDoubleCircularList source)
+   {
+      if (source == this)
+         throw new IllegalArgumentException
+                   ("cannot splice a list into itself");
+      splice(index, source, 0, source.size);
+   }
+
+   /** @return a view of the elements with index fromIndex through
+     * toIndex - 1; changes made through the view are made to this
+     * list, the view is undefined once this list is changed
+     * other than through the view
+     * @throws IndexOutOfBoundsException when
+     * the range is not within the list */
+   public ExtendedLinearList subList(int fromIndex, int toIndex)
+   {
+      if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+         throw new IndexOutOfBoundsException
+                   ("fromIndex = " + fromIndex + "  toIndex = " + toIndex
+                    + "  size = " + size);
+      return new SubList(fromIndex, toIndex - fromIndex);
+   }
+
+   /** view of a range of this list */
+   private class SubList implements ExtendedLinearList
+   {
+      // data members
+      private int offset;  // index in the list of first element of view
+      private int size;    // number of elements in view
+
+      // constructor
+      public SubList(int theOffset, int theSize)
+      {
+         offset = theOffset;
+         size = theSize;
+      }
+
+      // methods
+      /** @throws IndexOutOfBoundsException when
+        * index is not between 0 and size - 1 */
+      void checkIndex(int index)
+      {
+         if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException
+                ("index = " + index + "  size = " + size);
+      }
+
+      public boolean isEmpty()
+         {return size == 0;}
+
+      public int size()
+         {return size;}
+
+      public Object get(int index)
+      {
+         checkIndex(index);
+         return nodeAt(offset + index).element;
+      }
+
+      public int indexOf(Object theElement)
+      {
+         DoubleNode currentNode = nodeAt(offset);
+         for (int i = 0; i < size; i++)
+         {
+            if (currentNode.element.equals(theElement))
+               return i;
+            currentNode = currentNode.next;
+         }
+         return -1;
+      }
+
+      public Object remove(int index)
+      {
+         checkIndex(index);
+         size--;
+         return HeadDoubleCircularList.this.remove(offset + index);
+      }
+
+      public void add(int index, Object theElement)
+      {
+         if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException
+                      ("index = " + index + "  size = " + size);
+         HeadDoubleCircularList.this.add(offset + index, theElement);
+         size++;
+      }
+
+      public void add(Object theElement)
+         {add(size, theElement);}
+
+      /** remove the elements of the view from the list,
+        * the nodes are unlinked as one run */
+      public void clear()
+      {
+         if (size == 0)
+            return;
+         DoubleNode first = nodeAt(offset);
+         DoubleNode last = nodeAt(offset + size - 1);
+         first.previous.next = last.next;
+         last.next.previous = first.previous;
+         HeadDoubleCircularList.this.size -= size;
+         size = 0;
+      }
+
+      public String toString()
+      {
+         StringBuffer s = new StringBuffer("[");
+         if (size != 0)
+         {// nonempty view
+            DoubleNode currentNode = nodeAt(offset);
+            s.append(currentNode.element.toString());
+            for (int i = 1; i < size; i++)
+            {
+               currentNode = currentNode.next;
+               s.append(", " + currentNode.element.toString());
+            }
+         }
+         s.append("]");
+
+         // create equivalent String
+         return new String(s);
+      }
+   }
    
    /** test program */
    public static void main(String [] args)
@@ -313,5 +468,25 @@ public class HeadDoubleCircularList implements ExtendedLinearList
       x.add(new Integer(6));
       System.out.println("After appending 6 to an empty list, the list is " + x);
       System.out.println("List size is " + x.size());
+
+      // test splice and subList
+      HeadDoubleCircularList w = new HeadDoubleCircularList();
+      for (int i = 0; i < 10; i++)
+         w.add(new Integer(i));
+      HeadDoubleCircularList v = new HeadDoubleCircularList();
+      v.add(new Integer(100));
+      v.add(new Integer(200));
+      v.splice(1, w, 3, 7);
+      System.out.println("After splicing w[3:7) into v, v is " + v
+                         + " and w is " + w);
+      w.splice(2, w, 0, 2);
+      System.out.println("After moving w[0:2) to index 2, w is " + w);
+      ExtendedLinearList u = v.subList(1, 5);
+      System.out.println("v.subList(1, 5) is " + u);
+      u.remove(0);
+      u.add(new Integer(7));
+      System.out.println("After changing the view, v is " + v);
+      u.clear();
+      System.out.println("After clearing the view, v is " + v);
    }
 }
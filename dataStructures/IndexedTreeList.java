@@ -0,0 +1,400 @@
+
+
+/** linear list represented as an AVL tree ordered by index,
+  * each node keeps the size of its left subtree (as in
+  * IndexedAVLtree) so get, add and remove at any index
+  * take O(log n) time */
+
+package dataStructures;
+
+import java.util.*;
+
+public class IndexedTreeList implements ExtendedLinearList
+{
+   // top-level nested class
+   static class TreeNode
+   {
+      // data members
+      Object element;        // element in node
+      TreeNode leftChild;    // left subtree
+      TreeNode rightChild;   // right subtree
+      int leftSize;          // number of elements in left subtree
+      int height;            // height of subtree rooted here
+
+      // constructor
+      TreeNode(Object theElement)
+      {
+         element = theElement;
+         height = 1;
+      }
+   }
+
+   // data members
+   protected TreeNode root;
+   protected int size;
+
+   // constructors
+   /** create a list that is empty */
+   public IndexedTreeList()
+   {
+    // the default initial values of root and size
+    // are null and 0, respectively
+   }
+
+   /** create a list holding the elements of theElements,
+     * in O(n) time */
+   public IndexedTreeList(Object [] theElements)
+   {
+      root = build(theElements, 0, theElements.length - 1);
+      size = theElements.length;
+   }
+
+   /** @return perfectly balanced tree holding
+     * theElements[low:high] in order */
+   static TreeNode build(Object [] theElements, int low, int high)
+   {
+      if (low > high)
+         return null;
+
+      int middle = (low + high) / 2;
+      TreeNode t = new TreeNode(theElements[middle]);
+      t.leftChild = build(theElements, low, middle - 1);
+      t.rightChild = build(theElements, middle + 1, high);
+      t.leftSize = middle - low;
+      update(t);
+      return t;
+   }
+
+   // methods
+   /** @return true iff list is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return current number of elements in list */
+   public int size()
+      {return size;}
+
+   /** @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+   }
+
+   /** @return element with specified index
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   public Object get(int index)
+   {
+      checkIndex(index);
+
+      TreeNode p = root;
+      while (index != p.leftSize)
+         if (index < p.leftSize)
+            // desired element is in left subtree
+            p = p.leftChild;
+         else
+         {// desired element is in right subtree
+            index -= p.leftSize + 1;
+            p = p.rightChild;
+         }
+
+      return p.element;
+   }
+
+   /** @return index of first occurrence of theElement,
+     * return -1 if theElement not in list */
+   public int indexOf(Object theElement)
+   {
+      int index = 0;
+      for (Iterator y = iterator(); y.hasNext(); index++)
+         if (y.next().equals(theElement))
+            return index;
+
+      // theElement not found
+      return -1;
+   }
+
+   /** Remove the element with specified index.
+     * All elements with higher index have their
+     * index reduced by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1
+     * @return removed element */
+   public Object remove(int index)
+   {
+      checkIndex(index);
+
+      Object removedElement = get(index);
+      root = remove(root, index);
+      size--;
+      return removedElement;
+   }
+
+   /** Insert an element with specified index.
+     * All elements with equal or higher index
+     * have their index increased by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void add(int index, Object theElement)
+   {
+      if (index < 0 || index > size)
+         // invalid list position
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+
+      root = add(root, index, new TreeNode(theElement));
+      size++;
+   }
+
+   /** Add theElement to the right end of the list. */
+   public void add(Object theElement)
+      {add(size, theElement);}
+
+   /** Make the list empty. */
+   public void clear()
+   {
+      root = null;
+      size = 0;
+   }
+
+   /** insert newNode so that it has index theIndex in subtree t
+     * @return root of the resulting subtree */
+   static TreeNode add(TreeNode t, int theIndex, TreeNode newNode)
+   {
+      if (t == null)
+         return newNode;
+
+      if (theIndex <= t.leftSize)
+      {// insert in left subtree
+         t.leftChild = add(t.leftChild, theIndex, newNode);
+         t.leftSize++;
+      }
+      else
+         // insert in right subtree
+         t.rightChild = add(t.rightChild, theIndex - t.leftSize - 1,
+                            newNode);
+
+      return balance(t);
+   }
+
+   /** remove the node with index theIndex from subtree t
+     * @return root of the resulting subtree */
+   static TreeNode remove(TreeNode t, int theIndex)
+   {
+      if (theIndex < t.leftSize)
+      {// remove from left subtree
+         t.leftChild = remove(t.leftChild, theIndex);
+         t.leftSize--;
+      }
+      else if (theIndex > t.leftSize)
+         // remove from right subtree
+         t.rightChild = remove(t.rightChild, theIndex - t.leftSize - 1);
+      else
+      {// remove t
+         if (t.leftChild == null)
+            return t.rightChild;
+         if (t.rightChild == null)
+            return t.leftChild;
+
+         // two children, replace t by its successor, the
+         // leftmost node of its right subtree
+         TreeNode successor = t.rightChild;
+         while (successor.leftChild != null)
+            successor = successor.leftChild;
+         successor.rightChild = remove(t.rightChild, 0);
+         successor.leftChild = t.leftChild;
+         successor.leftSize = t.leftSize;
+         t = successor;
+      }
+
+      return balance(t);
+   }
+
+   /** @return height of subtree t */
+   static int height(TreeNode t)
+      {return (t == null) ? 0 : t.height;}
+
+   /** recompute the height of t from its children */
+   static void update(TreeNode t)
+      {t.height = 1 + Math.max(height(t.leftChild), height(t.rightChild));}
+
+   /** restore the AVL property at t, the subtrees of t are AVL
+     * trees whose heights differ by at most 2
+     * @return root of the balanced subtree */
+   static TreeNode balance(TreeNode t)
+   {
+      int bf = height(t.leftChild) - height(t.rightChild);
+      if (bf == 2)
+      {// left subtree is too high, LL or LR imbalance
+         if (height(t.leftChild.leftChild) < height(t.leftChild.rightChild))
+            t.leftChild = rotateLeft(t.leftChild);
+         return rotateRight(t);
+      }
+      if (bf == -2)
+      {// right subtree is too high, RR or RL imbalance
+         if (height(t.rightChild.rightChild) < height(t.rightChild.leftChild))
+            t.rightChild = rotateRight(t.rightChild);
+         return rotateLeft(t);
+      }
+      update(t);
+      return t;
+   }
+
+   /** rotate right around a, a.leftChild becomes the root
+     * @return new root */
+   static TreeNode rotateRight(TreeNode a)
+   {
+      TreeNode b = a.leftChild;
+      a.leftChild = b.rightChild;
+      b.rightChild = a;
+      a.leftSize -= b.leftSize + 1;
+      update(a);
+      update(b);
+      return b;
+   }
+
+   /** rotate left around a, a.rightChild becomes the root
+     * @return new root */
+   static TreeNode rotateLeft(TreeNode a)
+   {
+      TreeNode b = a.rightChild;
+      a.rightChild = b.leftChild;
+      b.leftChild = a;
+      b.leftSize += a.leftSize + 1;
+      update(a);
+      update(b);
+      return b;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+
+      // put elements into the buffer
+      for (Iterator y = iterator(); y.hasNext(); )
+      {
+         Object theElement = y.next();
+         if (theElement == null)
+            s.append("null, ");
+         else
+            s.append(theElement.toString() + ", ");
+      }
+
+      if (size > 0)
+         s.delete(s.length() - 2, s.length());  // remove last ", "
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator */
+   public Iterator iterator()
+      {return new TreeListIterator();}
+
+   /** inorder iterator, next takes O(1) amortized time */
+   private class TreeListIterator implements Iterator
+   {
+      // data member
+      private ArrayStack path;  // nodes whose element is yet to be returned,
+                                // the top is the next node
+
+      // constructor
+      public TreeListIterator()
+      {
+         path = new ArrayStack(Math.max(2 * height(root), 1));
+         pushLeftPath(root);
+      }
+
+      /** push t and its chain of left children */
+      private void pushLeftPath(TreeNode t)
+      {
+         for (; t != null; t = t.leftChild)
+            path.push(t);
+      }
+
+      // methods
+      /** @return true iff list has a next element */
+      public boolean hasNext()
+         {return !path.empty();}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public Object next()
+      {
+         if (path.empty())
+            throw new NoSuchElementException("No next element");
+
+         TreeNode t = (TreeNode) path.pop();
+         pushLeftPath(t.rightChild);
+         return t.element;
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+               ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      // test default constructor
+      IndexedTreeList x = new IndexedTreeList();
+
+      // test size
+      System.out.println("Initial size is " + x.size());
+
+      // test isEmpty
+      if (x.isEmpty())
+         System.out.println("The list is empty");
+      else System.out.println("The list is not empty");
+
+      // test add
+      x.add(0, new Integer(2));
+      x.add(1, new Integer(6));
+      x.add(0, new Integer(1));
+      x.add(2, new Integer(4));
+      System.out.println("List size is " + x.size());
+
+      // test toString
+      System.out.println("The list is " + x);
+
+      // test indexOf
+      int index = x.indexOf(new Integer(4));
+      if (index < 0)
+         System.out.println("4 not found");
+      else System.out.println("The index of 4 is " + index);
+
+      index = x.indexOf(new Integer(3));
+      if (index < 0)
+         System.out.println("3 not found");
+      else System.out.println("The index of 3 is " + index);
+
+      // test get
+      System.out.println("Element at 0 is " + x.get(0));
+      System.out.println("Element at 3 is " + x.get(3));
+
+      // test remove
+      System.out.println(x.remove(1) + " removed");
+      System.out.println("The list is " + x);
+      System.out.println(x.remove(2) + " removed");
+      System.out.println("The list is " + x);
+
+      // test bulk construction
+      Object [] a = new Object [10];
+      for (int i = 0; i < a.length; i++)
+         a[i] = new Integer(i);
+      IndexedTreeList y = new IndexedTreeList(a);
+      y.add(5, new Integer(100));
+      System.out.println("The bulk built list is " + y);
+      System.out.println("Element at 6 is " + y.get(6));
+   }
+}
@@ -0,0 +1,303 @@
+
+
+/** array implementation of a linear list of int values,
+  * elements are stored unboxed in an int [] */
+
+package dataStructures;
+
+import java.util.*;
+
+public class IntArrayLinearList
+{
+   // data members
+   protected int [] element;  // array of elements
+   protected int size;        // number of elements in array
+
+   // constructors
+   /** create a list with initial capacity initialCapacity
+     * @throws IllegalArgumentException when
+     * initialCapacity < 1 */
+   public IntArrayLinearList(int initialCapacity)
+   {
+      if (initialCapacity < 1)
+         throw new IllegalArgumentException
+               ("initialCapacity must be >= 1");
+      // size has the default initial value of 0
+      element = new int [initialCapacity];
+   }
+
+   /** create a list with initial capacity 10 */
+   public IntArrayLinearList()
+   {// use default capacity of 10
+      this(10);
+   }
+
+   // methods
+   /** @return true iff list is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return current number of elements in list */
+   public int size()
+      {return size;}
+
+   /** @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+   }
+
+   /** make sure element has room for minCapacity elements */
+   void ensureCapacity(int minCapacity)
+   {
+      if (minCapacity > element.length)
+         // no space, at least double capacity
+         element = Arrays.copyOf(element,
+                      Math.max(minCapacity, 2 * element.length));
+   }
+
+   /** @return element with specified index
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   public int get(int index)
+   {
+      checkIndex(index);
+      return element[index];
+   }
+
+   /** @return index of first occurrence of theElement,
+     * return -1 if theElement not in list */
+   public int indexOf(int theElement)
+   {
+      // search element[] for theElement
+      for (int i = 0; i < size; i++)
+         if (element[i] == theElement)
+            return i;
+
+      // theElement not found
+      return -1;
+   }
+
+   /** Remove the element with specified index.
+     * All elements with higher index have their
+     * index reduced by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1
+     * @return removed element */
+   public int remove(int index)
+   {
+      checkIndex(index);
+
+      // valid index, shift elements with higher index
+      int removedElement = element[index];
+      System.arraycopy(element, index + 1, element, index, size - index - 1);
+      size--;
+      return removedElement;
+   }
+
+   /** Insert an element with specified index.
+     * All elements with equal or higher index
+     * have their index increased by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void add(int index, int theElement)
+   {
+      if (index < 0 || index > size)
+         // invalid list position
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+
+      // valid index, make sure we have space
+      ensureCapacity(size + 1);
+
+      // shift elements right one position
+      System.arraycopy(element, index, element, index + 1, size - index);
+
+      element[index] = theElement;
+      size++;
+   }
+
+   /** Add theElement to the right end of the list. */
+   public void add(int theElement)
+   {
+      ensureCapacity(size + 1);
+      element[size++] = theElement;
+   }
+
+   /** Add the elements of theElements to the right end of the list. */
+   public void addAll(int [] theElements)
+   {
+      ensureCapacity(size + theElements.length);
+      System.arraycopy(theElements, 0, element, size, theElements.length);
+      size += theElements.length;
+   }
+
+   /** Make the list empty. */
+   public void clear()
+      {size = 0;}
+
+   /** @return array containing the elements of the list */
+   public int [] toArray()
+   {
+      int [] array = new int [size];
+      System.arraycopy(element, 0, array, 0, size);
+      return array;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+
+      // put elements into the buffer
+      for (int i = 0; i < size; i++)
+         s.append(element[i] + ", ");
+
+      if (size > 0)
+         s.delete(s.length() - 2, s.length());  // remove last ", "
+
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator whose nextInt
+     * method returns elements without boxing */
+   public PrimitiveIterator.OfInt iterator()
+      {return new IntArrayIterator();}
+
+   /** @return a LinearList view of this list, elements are
+     * boxed as Integer on the way out and unboxed on the way in */
+   public LinearList asLinearList()
+      {return new LinearListView();}
+
+   /** iterator over an IntArrayLinearList */
+   private class IntArrayIterator implements PrimitiveIterator.OfInt
+   {
+      // data member
+      private int nextIndex;  // index of next element
+
+      // methods
+      /** @return true iff the list has a next element */
+      public boolean hasNext()
+         {return nextIndex < size;}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public int nextInt()
+      {
+         if (nextIndex < size)
+            return element[nextIndex++];
+         else
+            throw new NoSuchElementException("No next element");
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+               ("remove not supported");
+      }
+   }
+
+   /** LinearList adapter, elements must be Integer */
+   private class LinearListView implements LinearList
+   {
+      public boolean isEmpty()
+         {return IntArrayLinearList.this.isEmpty();}
+
+      public int size()
+         {return size;}
+
+      public Object get(int index)
+         {return Integer.valueOf(IntArrayLinearList.this.get(index));}
+
+      public int indexOf(Object theElement)
+      {
+         if (theElement instanceof Integer)
+            return IntArrayLinearList.this.indexOf
+                      (((Integer) theElement).intValue());
+         else
+            return -1;
+      }
+
+      public Object remove(int index)
+         {return Integer.valueOf(IntArrayLinearList.this.remove(index));}
+
+      public void add(int index, Object theElement)
+      {
+         IntArrayLinearList.this.add(index,
+                               ((Integer) theElement).intValue());
+      }
+
+      public String toString()
+         {return IntArrayLinearList.this.toString();}
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      // test default constructor
+      IntArrayLinearList x = new IntArrayLinearList();
+
+      // test size
+      System.out.println("Initial size is " + x.size());
+
+      // test isEmpty
+      if (x.isEmpty())
+         System.out.println("The list is empty");
+      else System.out.println("The list is not empty");
+
+      // test add
+      x.add(0, 2);
+      x.add(1, 6);
+      x.add(0, 1);
+      x.add(2, 4);
+      System.out.println("List size is " + x.size());
+
+      // test toString
+      System.out.println("The list is " + x);
+
+      // test indexOf
+      int index = x.indexOf(4);
+      if (index < 0)
+         System.out.println("4 not found");
+      else System.out.println("The index of 4 is " + index);
+
+      index = x.indexOf(3);
+      if (index < 0)
+         System.out.println("3 not found");
+      else System.out.println("The index of 3 is " + index);
+
+      // test get
+      System.out.println("Element at 0 is " + x.get(0));
+      System.out.println("Element at 3 is " + x.get(3));
+
+      // test remove
+      System.out.println(x.remove(1) + " removed");
+      System.out.println("The list is " + x);
+
+      // test addAll and toArray
+      x.addAll(new int [] {7, 8, 9, 10, 11, 12, 13, 14, 15});
+      System.out.println("After addAll the list is " + x);
+      System.out.println("toArray has length " + x.toArray().length);
+
+      // output using an iterator
+      PrimitiveIterator.OfInt y = x.iterator();
+      System.out.print("The list is ");
+      while (y.hasNext())
+         System.out.print(y.nextInt() + " ");
+      System.out.println();
+
+      // test the LinearList view
+      LinearList v = x.asLinearList();
+      v.add(0, new Integer(0));
+      System.out.println("Element at 0 of the view is " + v.get(0));
+      System.out.println("The list is " + x);
+   }
+}
@@ -0,0 +1,128 @@
+
+
+/** a queue of int values that uses a circular int array whose
+  * length is a power of 2; values are stored unboxed, so a put
+  * allocates nothing unless the array has to be doubled */
+
+package dataStructures;
+
+import exceptions.*;
+
+public class IntArrayQueue
+{
+   // data members
+   int front;        // position of front element
+   int size;         // number of elements in queue
+   int [] queue;     // element array, element i of the queue
+                     // is in queue[(front + i) & (queue.length - 1)]
+
+   // constructors
+   /** create a queue with initial capacity at least initialCapacity
+     * @throws IllegalArgumentException when initialCapacity < 1
+     * or initialCapacity > 2^30 */
+   public IntArrayQueue(int initialCapacity)
+   {
+      if (initialCapacity < 1 || initialCapacity > 1 << 30)
+         throw new IllegalArgumentException
+               ("initialCapacity must be between 1 and 2^30");
+      int length = 2;
+      while (length < initialCapacity)
+         length <<= 1;
+      queue = new int [length];
+      // default front = size = 0
+   }
+
+   /** create a queue with initial capacity 16 */
+   public IntArrayQueue()
+      {this(16);}
+
+   // methods
+   /** @return true iff queue is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return number of elements in queue */
+   public int size()
+      {return size;}
+
+   /** @return front element of queue
+     * @throws EmptyQueueException when the queue is empty */
+   public int getFrontElement()
+   {
+      if (size == 0)
+         throw new EmptyQueueException();
+      return queue[front];
+   }
+
+   /** @return rear element of queue
+     * @throws EmptyQueueException when the queue is empty */
+   public int getRearElement()
+   {
+      if (size == 0)
+         throw new EmptyQueueException();
+      return queue[(front + size - 1) & (queue.length - 1)];
+   }
+
+   /** insert theElement at the rear of the queue */
+   public void put(int theElement)
+   {
+      if (size == queue.length)
+      {// double array length, front element goes to position 0
+         int [] newQueue = new int [2 * queue.length];
+         System.arraycopy(queue, front, newQueue, 0, queue.length - front);
+         System.arraycopy(queue, 0, newQueue, queue.length - front, front);
+         queue = newQueue;
+         front = 0;
+      }
+      queue[(front + size++) & (queue.length - 1)] = theElement;
+   }
+
+   /** remove an element from the front of the queue
+     * @return removed element
+     * @throws EmptyQueueException when the queue is empty */
+   public int remove()
+   {
+      if (size == 0)
+         throw new EmptyQueueException();
+      int frontElement = queue[front];
+      front = (front + 1) & (queue.length - 1);
+      size--;
+      return frontElement;
+   }
+
+   /** make the queue empty, the array is kept */
+   public void clear()
+      {front = size = 0;}
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      IntArrayQueue q = new IntArrayQueue(3);
+      // add a few elements
+      q.put(1);
+      q.put(2);
+      q.put(3);
+      q.put(4);
+
+      // remove and add to test wraparound array doubling
+      q.remove();
+      q.remove();
+      q.put(5);
+      q.put(6);
+      q.put(7);
+      q.put(8);
+      System.out.println("Size is " + q.size());
+      System.out.println("Front element is " + q.getFrontElement());
+      System.out.println("Rear element is " + q.getRearElement());
+
+      // delete all elements
+      while (!q.isEmpty())
+         System.out.println("Removed the element " + q.remove());
+
+      try {q.remove();}
+      catch (EmptyQueueException e)
+      {
+         System.out.println("Remove from an empty queue failed");
+      }
+   }
+}
@@ -0,0 +1,97 @@
+
+
+/** a stack of int values that uses a one-dimensional int array;
+  * values are stored unboxed, so a push allocates nothing unless
+  * the array has to be doubled */
+
+package dataStructures;
+
+import java.util.*;
+
+public class IntArrayStack
+{
+   // data members
+   int top;        // current top of stack
+   int [] stack;   // element array
+
+   // constructors
+   /** create a stack with the given initial capacity
+     * @throws IllegalArgumentException when initialCapacity < 1 */
+   public IntArrayStack(int initialCapacity)
+   {
+      if (initialCapacity < 1)
+         throw new IllegalArgumentException
+               ("initialCapacity must be >= 1");
+      stack = new int [initialCapacity];
+      top = -1;
+   }
+
+   /** create a stack with initial capacity 10 */
+   public IntArrayStack()
+      {this(10);}
+
+   // methods
+   /** @return true iff stack is empty */
+   public boolean empty()
+      {return top == -1;}
+
+   /** @return number of elements in stack */
+   public int size()
+      {return top + 1;}
+
+   /** @return top element of stack
+     * @throws EmptyStackException when the stack is empty */
+   public int peek()
+   {
+      if (empty())
+         throw new EmptyStackException();
+      return stack[top];
+   }
+
+   /** add theElement to the top of the stack */
+   public void push(int theElement)
+   {
+      // increase array size if necessary
+      if (top == stack.length - 1)
+         stack = Arrays.copyOf(stack, 2 * stack.length);
+
+      // put theElement at the top of the stack
+      stack[++top] = theElement;
+   }
+
+   /** remove top element of stack and return it
+     * @throws EmptyStackException when the stack is empty */
+   public int pop()
+   {
+      if (empty())
+         throw new EmptyStackException();
+      return stack[top--];
+   }
+
+   /** make the stack empty, the array is kept */
+   public void clear()
+      {top = -1;}
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      IntArrayStack s = new IntArrayStack(3);
+      // add a few elements
+      s.push(1);
+      s.push(2);
+      s.push(3);
+      s.push(4);
+      System.out.println("Size is " + s.size());
+      System.out.println("Top element is " + s.peek());
+
+      // delete all elements
+      while (!s.empty())
+         System.out.println("Popped " + s.pop());
+
+      try {s.pop();}
+      catch (EmptyStackException e)
+      {
+         System.out.println("Last pop failed");
+      }
+   }
+}
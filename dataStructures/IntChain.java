@@ -0,0 +1,362 @@
+
+
+/** linked implementation of a linear list of int values,
+  * each node holds its element unboxed */
+
+package dataStructures;
+
+import java.util.*;
+
+public class IntChain
+{
+   // top-level nested class
+   static class IntNode
+   {
+      // data members
+      int element;
+      IntNode next;
+
+      // constructor
+      IntNode(int element, IntNode next)
+      {
+         this.element = element;
+         this.next = next;
+      }
+   }
+
+   // data members
+   protected IntNode firstNode;
+   protected IntNode lastNode;
+   protected int size;
+
+   // constructors
+   /** create a list that is empty */
+   public IntChain(int initialCapacity)
+   {
+    // the default initial values of firstNode, lastNode
+    // and size are null, null and 0, respectively
+   }
+
+   public IntChain()
+      {this(0);}
+
+   // methods
+   /** @return true iff list is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return current number of elements in list */
+   public int size()
+      {return size;}
+
+   /** @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+   }
+
+   /** @return element with specified index
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   public int get(int index)
+   {
+      checkIndex(index);
+
+      // move to desired node
+      IntNode currentNode = firstNode;
+      for (int i = 0; i < index; i++)
+         currentNode = currentNode.next;
+
+      return currentNode.element;
+   }
+
+   /** @return index of first occurrence of theElement,
+     * return -1 if theElement not in list */
+   public int indexOf(int theElement)
+   {
+      // search the chain for theElement
+      IntNode currentNode = firstNode;
+      int index = 0;  // index of currentNode
+      while (currentNode != null && currentNode.element != theElement)
+      {
+         // move to next node
+         currentNode = currentNode.next;
+         index++;
+      }
+
+      // make sure we found matching element
+      if (currentNode == null)
+         return -1;
+      else
+         return index;
+   }
+
+   /** Remove the element with specified index.
+     * All elements with higher index have their
+     * index reduced by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1
+     * @return removed element */
+   public int remove(int index)
+   {
+      checkIndex(index);
+
+      int removedElement;
+      if (index == 0) // remove first node
+      {
+         removedElement = firstNode.element;
+         firstNode = firstNode.next;
+         if (size == 1)
+            // list becomes empty
+            lastNode = null;
+      }
+      else
+      {  // use q to get to predecessor of desired node
+         IntNode q = firstNode;
+         for (int i = 0; i < index - 1; i++)
+            q = q.next;
+
+         removedElement = q.next.element;
+         q.next = q.next.next; // remove desired node
+         if (q.next == null)
+            lastNode = q;
+      }
+      size--;
+      return removedElement;
+   }
+
+   /** Insert an element with specified index.
+     * All elements with equal or higher index
+     * have their index increased by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void add(int index, int theElement)
+   {
+      if (index < 0 || index > size)
+         // invalid list position
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+
+      if (index == size)
+         // insert at end, no need to walk the chain
+         add(theElement);
+      else
+      {
+         if (index == 0)
+            // insert at front
+            firstNode = new IntNode(theElement, firstNode);
+         else
+         {   // find predecessor of new element
+            IntNode p = firstNode;
+            for (int i = 0; i < index - 1; i++)
+               p = p.next;
+
+            // insert after p
+            p.next = new IntNode(theElement, p.next);
+         }
+         size++;
+      }
+   }
+
+   /** Add theElement to the right end of the chain. */
+   public void add(int theElement)
+   {
+      IntNode y = new IntNode(theElement, null);
+      if (firstNode == null)
+         // chain is empty
+         firstNode = lastNode = y;
+      else
+      {   // attach y next to lastNode
+          lastNode.next = y;
+          lastNode = y;
+      }
+      size++;
+   }
+
+   /** Add the elements of theElements to the right end of the chain. */
+   public void addAll(int [] theElements)
+   {
+      for (int i = 0; i < theElements.length; i++)
+         add(theElements[i]);
+   }
+
+   /** Make the chain empty. */
+   public void clear()
+   {
+      firstNode = lastNode = null;
+      size = 0;
+   }
+
+   /** @return array containing the elements of the chain */
+   public int [] toArray()
+   {
+      int [] array = new int [size];
+      int index = 0;
+      for (IntNode currentNode = firstNode; currentNode != null;
+           currentNode = currentNode.next)
+         array[index++] = currentNode.element;
+      return array;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+
+      // put elements into the buffer
+      for (IntNode currentNode = firstNode; currentNode != null;
+           currentNode = currentNode.next)
+         s.append(currentNode.element + ", ");
+
+      if (size > 0)
+         s.delete(s.length() - 2, s.length());  // remove last ", "
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator whose nextInt
+     * method returns elements without boxing */
+   public PrimitiveIterator.OfInt iterator()
+      {return new IntChainIterator();}
+
+   /** @return a LinearList view of this chain, elements are
+     * boxed as Integer on the way out and unboxed on the way in */
+   public LinearList asLinearList()
+      {return new LinearListView();}
+
+   /** chain iterator */
+   private class IntChainIterator implements PrimitiveIterator.OfInt
+   {
+      // data member
+      private IntNode nextNode;
+
+      // constructor
+      public IntChainIterator()
+         {nextNode = firstNode;}
+
+      // methods
+      /** @return true iff list has a next element */
+      public boolean hasNext()
+         {return nextNode != null;}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public int nextInt()
+      {
+         if (nextNode != null)
+         {
+            int elementToReturn = nextNode.element;
+            nextNode = nextNode.next;
+            return elementToReturn;
+         }
+         else
+            throw new NoSuchElementException("No next element");
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+               ("remove not supported");
+      }
+   }
+
+   /** LinearList adapter, elements must be Integer */
+   private class LinearListView implements LinearList
+   {
+      public boolean isEmpty()
+         {return IntChain.this.isEmpty();}
+
+      public int size()
+         {return size;}
+
+      public Object get(int index)
+         {return Integer.valueOf(IntChain.this.get(index));}
+
+      public int indexOf(Object theElement)
+      {
+         if (theElement instanceof Integer)
+            return IntChain.this.indexOf(((Integer) theElement).intValue());
+         else
+            return -1;
+      }
+
+      public Object remove(int index)
+         {return Integer.valueOf(IntChain.this.remove(index));}
+
+      public void add(int index, Object theElement)
+         {IntChain.this.add(index, ((Integer) theElement).intValue());}
+
+      public String toString()
+         {return IntChain.this.toString();}
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      // test default constructor
+      IntChain x = new IntChain();
+
+      // test size
+      System.out.println("Initial size is " + x.size());
+
+      // test isEmpty
+      if (x.isEmpty())
+         System.out.println("The list is empty");
+      else System.out.println("The list is not empty");
+
+      // test add
+      x.add(0, 2);
+      x.add(1, 6);
+      x.add(0, 1);
+      x.add(2, 4);
+      System.out.println("List size is " + x.size());
+
+      // test toString
+      System.out.println("The list is " + x);
+
+      // test indexOf
+      int index = x.indexOf(4);
+      if (index < 0)
+         System.out.println("4 not found");
+      else System.out.println("The index of 4 is " + index);
+
+      index = x.indexOf(3);
+      if (index < 0)
+         System.out.println("3 not found");
+      else System.out.println("The index of 3 is " + index);
+
+      // test get
+      System.out.println("Element at 0 is " + x.get(0));
+      System.out.println("Element at 3 is " + x.get(3));
+
+      // test remove
+      System.out.println(x.remove(1) + " removed");
+      System.out.println(x.remove(2) + " removed");
+      System.out.println("The list is " + x);
+
+      // test addAll and toArray
+      x.addAll(new int [] {7, 8, 9});
+      System.out.println("After addAll the list is " + x);
+      System.out.println("toArray has length " + x.toArray().length);
+
+      // output using an iterator
+      PrimitiveIterator.OfInt y = x.iterator();
+      System.out.print("The list is ");
+      while (y.hasNext())
+         System.out.print(y.nextInt() + " ");
+      System.out.println();
+
+      // test the LinearList view
+      LinearList v = x.asLinearList();
+      v.add(0, new Integer(0));
+      System.out.println("Element at 0 of the view is " + v.get(0));
+      System.out.println("The list is " + x);
+   }
+}
@@ -0,0 +1,260 @@
+
+
+/** hash map from int keys to int values using linear open
+  * addressing; keys and values are kept in two int arrays, so
+  * an entry takes 8 bytes of array space and no objects.
+  * Key 0 marks an empty bucket, a pair with key 0 is kept in
+  * separate data members. The array length is a power of 2 and
+  * is doubled when more than 3/4 of the buckets are used. */
+
+package dataStructures;
+
+import java.util.*;
+
+public class IntIntHashMap
+{
+   // data members
+   protected int [] keys;         // key of each bucket, 0 if empty
+   protected int [] values;       // value of each bucket
+   protected int mask;            // keys.length - 1
+   protected int size;            // number of pairs in map
+   protected boolean hasZeroKey;  // true iff key 0 is in map
+   protected int zeroValue;       // value of key 0
+
+   // constructors
+   /** create a map that holds expectedSize pairs without growing
+     * @throws IllegalArgumentException when expectedSize < 0
+     * or expectedSize > 3 * 2^28 */
+   public IntIntHashMap(int expectedSize)
+   {
+      if (expectedSize < 0 || expectedSize > 3 << 28)
+         throw new IllegalArgumentException
+               ("expectedSize must be between 0 and 3 * 2^28");
+      int length = 2;
+      while (length / 4 * 3 < expectedSize)
+         length <<= 1;
+      keys = new int [length];
+      values = new int [length];
+      mask = length - 1;
+   }
+
+   /** create a map with 16 buckets */
+   public IntIntHashMap()
+      {this(12);}
+
+   // methods
+   /** @return true iff the map is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return number of pairs in the map */
+   public int size()
+      {return size;}
+
+   /** @return home bucket of theKey, the hash code is mixed so that
+     * keys that differ only in high bits get different buckets */
+   protected final int home(int theKey)
+   {
+      int h = theKey * 0x9e3779b9;
+      return (h ^ (h >>> 16)) & mask;
+   }
+
+   /** @return bucket that holds theKey, or the empty bucket
+     * where theKey would go; theKey is not 0 */
+   private int search(int theKey)
+   {
+      int b = home(theKey);
+      while (keys[b] != 0 && keys[b] != theKey)
+         b = (b + 1) & mask;  // next bucket
+      return b;
+   }
+
+   /** @return true iff theKey is in the map */
+   public boolean containsKey(int theKey)
+   {
+      if (theKey == 0)
+         return hasZeroKey;
+      return keys[search(theKey)] != 0;
+   }
+
+   /** @return value of theKey
+     * @return defaultValue if theKey is not in the map */
+   public int get(int theKey, int defaultValue)
+   {
+      if (theKey == 0)
+         return hasZeroKey ? zeroValue : defaultValue;
+      int b = search(theKey);
+      return (keys[b] == 0) ? defaultValue : values[b];
+   }
+
+   /** map theKey to theValue, replacing its old value if any
+     * @return true iff theKey was not in the map */
+   public boolean put(int theKey, int theValue)
+   {
+      if (theKey == 0)
+      {
+         boolean isNew = !hasZeroKey;
+         if (isNew)
+            size++;
+         hasZeroKey = true;
+         zeroValue = theValue;
+         return isNew;
+      }
+
+      int b = search(theKey);
+      if (keys[b] != 0)
+      {// theKey is in the map, change its value
+         values[b] = theValue;
+         return false;
+      }
+      keys[b] = theKey;
+      values[b] = theValue;
+      if (++size > keys.length / 4 * 3)
+         rehash(2 * keys.length);
+      return true;
+   }
+
+   /** remove theKey and its value
+     * @return true iff theKey was in the map */
+   public boolean remove(int theKey)
+   {
+      if (theKey == 0)
+      {
+         boolean wasThere = hasZeroKey;
+         if (wasThere)
+            size--;
+         hasZeroKey = false;
+         return wasThere;
+      }
+
+      int gap = search(theKey);
+      if (keys[gap] == 0)
+         return false;
+
+      // move back each following key whose home bucket is not
+      // between the gap and its bucket, the probe sequences
+      // then stay unbroken
+      int b = gap;
+      while (true)
+      {
+         b = (b + 1) & mask;
+         if (keys[b] == 0)
+            break;
+         if (((b - home(keys[b])) & mask) >= ((b - gap) & mask))
+         {
+            keys[gap] = keys[b];
+            values[gap] = values[b];
+            gap = b;
+         }
+      }
+      keys[gap] = 0;
+      size--;
+      return true;
+   }
+
+   /** make the map empty, the arrays are kept */
+   public void clear()
+   {
+      Arrays.fill(keys, 0);
+      hasZeroKey = false;
+      size = 0;
+   }
+
+   /** move the pairs to arrays of length newLength */
+   private void rehash(int newLength)
+   {
+      int [] oldKeys = keys;
+      int [] oldValues = values;
+      keys = new int [newLength];
+      values = new int [newLength];
+      mask = newLength - 1;
+      for (int i = 0; i < oldKeys.length; i++)
+         if (oldKeys[i] != 0)
+         {
+            int b = search(oldKeys[i]);
+            keys[b] = oldKeys[i];
+            values[b] = oldValues[i];
+         }
+   }
+
+   /** cursor over the pairs of the map, in no particular order;
+     * a cursor reads the arrays of the map, no object is created
+     * per pair; the map must not change while a cursor is used */
+   public class Cursor
+   {
+      private int index = -2;  // bucket of current pair,
+                               // -1 for the pair with key 0
+
+      /** move to the next pair
+        * @return false when there are no more pairs */
+      public boolean next()
+      {
+         if (index == -2)
+         {
+            index = -1;
+            if (hasZeroKey)
+               return true;
+         }
+         do
+            index++;
+         while (index < keys.length && keys[index] == 0);
+         return index < keys.length;
+      }
+
+      /** @return key of current pair */
+      public int key()
+         {return (index == -1) ? 0 : keys[index];}
+
+      /** @return value of current pair */
+      public int value()
+         {return (index == -1) ? zeroValue : values[index];}
+   }
+
+   /** @return a cursor before the first pair */
+   public Cursor cursor()
+      {return new Cursor();}
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Cursor c = cursor(); c.next(); )
+      {
+         if (s.length() > 1)
+            s.append(", ");
+         s.append(c.key() + "=" + c.value());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      IntIntHashMap h = new IntIntHashMap(4);
+      for (int i = -2; i <= 8; i++)
+         h.put(i * 1000, i);
+      System.out.println("The map is " + h);
+      System.out.println("Size is " + h.size());
+      System.out.println("Value of 3000 is " + h.get(3000, -99));
+      System.out.println("Value of 0 is " + h.get(0, -99));
+      System.out.println("Value of 12 is " + h.get(12, -99));
+
+      // replace and remove
+      System.out.println("Put of a new value for 5000 returns " +
+                         h.put(5000, 55));
+      System.out.println("Remove of 0 returns " + h.remove(0));
+      System.out.println("Remove of 4000 returns " + h.remove(4000));
+      System.out.println("Remove of 4000 again returns " +
+                         h.remove(4000));
+      System.out.println("The map is " + h);
+
+      // sum the values with a cursor
+      int sum = 0;
+      for (IntIntHashMap.Cursor c = h.cursor(); c.next(); )
+         sum += c.value();
+      System.out.println("Sum of values is " + sum);
+   }
+}
@@ -0,0 +1,258 @@
+
+
+/** hash map from int keys to elements using linear open
+  * addressing; keys are kept in an int array and elements in
+  * an Object array, so no key object or entry object is made.
+  * Key 0 marks an empty bucket, a pair with key 0 is kept in
+  * separate data members. The array length is a power of 2 and
+  * is doubled when more than 3/4 of the buckets are used. */
+
+package dataStructures;
+
+import java.util.*;
+
+public class IntObjectHashMap
+{
+   // data members
+   protected int [] keys;         // key of each bucket, 0 if empty
+   protected Object [] elements;  // element of each bucket
+   protected int mask;            // keys.length - 1
+   protected int size;            // number of pairs in map
+   protected Object zeroElement;  // element of key 0, null if none
+
+   // constructors
+   /** create a map that holds expectedSize pairs without growing
+     * @throws IllegalArgumentException when expectedSize < 0
+     * or expectedSize > 3 * 2^28 */
+   public IntObjectHashMap(int expectedSize)
+   {
+      if (expectedSize < 0 || expectedSize > 3 << 28)
+         throw new IllegalArgumentException
+               ("expectedSize must be between 0 and 3 * 2^28");
+      int length = 2;
+      while (length / 4 * 3 < expectedSize)
+         length <<= 1;
+      keys = new int [length];
+      elements = new Object [length];
+      mask = length - 1;
+   }
+
+   /** create a map with 16 buckets */
+   public IntObjectHashMap()
+      {this(12);}
+
+   // methods
+   /** @return true iff the map is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return number of pairs in the map */
+   public int size()
+      {return size;}
+
+   /** @return home bucket of theKey, the hash code is mixed so that
+     * keys that differ only in high bits get different buckets */
+   protected final int home(int theKey)
+   {
+      int h = theKey * 0x9e3779b9;
+      return (h ^ (h >>> 16)) & mask;
+   }
+
+   /** @return bucket that holds theKey, or the empty bucket
+     * where theKey would go; theKey is not 0 */
+   private int search(int theKey)
+   {
+      int b = home(theKey);
+      while (keys[b] != 0 && keys[b] != theKey)
+         b = (b + 1) & mask;  // next bucket
+      return b;
+   }
+
+   /** @return element with key theKey
+     * @return null if no matching element */
+   public Object get(int theKey)
+   {
+      if (theKey == 0)
+         return zeroElement;
+      int b = search(theKey);
+      return (keys[b] == 0) ? null : elements[b];
+   }
+
+   /** insert theElement with key theKey, replacing the old
+     * element with this key if any
+     * @return old element with key theKey, null if none
+     * @throws IllegalArgumentException when theElement is null */
+   public Object put(int theKey, Object theElement)
+   {
+      if (theElement == null)
+         throw new IllegalArgumentException("null elements not allowed");
+      Object elementToReturn;
+      if (theKey == 0)
+      {
+         elementToReturn = zeroElement;
+         if (elementToReturn == null)
+            size++;
+         zeroElement = theElement;
+         return elementToReturn;
+      }
+
+      int b = search(theKey);
+      elementToReturn = elements[b];
+      elements[b] = theElement;
+      if (keys[b] == 0)
+      {// new key
+         keys[b] = theKey;
+         if (++size > keys.length / 4 * 3)
+            rehash(2 * keys.length);
+      }
+      return elementToReturn;
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(int theKey)
+   {
+      Object elementToReturn;
+      if (theKey == 0)
+      {
+         elementToReturn = zeroElement;
+         if (elementToReturn != null)
+            size--;
+         zeroElement = null;
+         return elementToReturn;
+      }
+
+      int gap = search(theKey);
+      if (keys[gap] == 0)
+         return null;
+      elementToReturn = elements[gap];
+
+      // move back each following key whose home bucket is not
+      // between the gap and its bucket, the probe sequences
+      // then stay unbroken
+      int b = gap;
+      while (true)
+      {
+         b = (b + 1) & mask;
+         if (keys[b] == 0)
+            break;
+         if (((b - home(keys[b])) & mask) >= ((b - gap) & mask))
+         {
+            keys[gap] = keys[b];
+            elements[gap] = elements[b];
+            gap = b;
+         }
+      }
+      keys[gap] = 0;
+      elements[gap] = null;   // enable garbage collection
+      size--;
+      return elementToReturn;
+   }
+
+   /** make the map empty, the arrays are kept */
+   public void clear()
+   {
+      Arrays.fill(keys, 0);
+      Arrays.fill(elements, null);
+      zeroElement = null;
+      size = 0;
+   }
+
+   /** move the pairs to arrays of length newLength */
+   private void rehash(int newLength)
+   {
+      int [] oldKeys = keys;
+      Object [] oldElements = elements;
+      keys = new int [newLength];
+      elements = new Object [newLength];
+      mask = newLength - 1;
+      for (int i = 0; i < oldKeys.length; i++)
+         if (oldKeys[i] != 0)
+         {
+            int b = search(oldKeys[i]);
+            keys[b] = oldKeys[i];
+            elements[b] = oldElements[i];
+         }
+   }
+
+   /** cursor over the pairs of the map, in no particular order;
+     * a cursor reads the arrays of the map, no object is created
+     * per pair; the map must not change while a cursor is used */
+   public class Cursor
+   {
+      private int index = -2;  // bucket of current pair,
+                               // -1 for the pair with key 0
+
+      /** move to the next pair
+        * @return false when there are no more pairs */
+      public boolean next()
+      {
+         if (index == -2)
+         {
+            index = -1;
+            if (zeroElement != null)
+               return true;
+         }
+         do
+            index++;
+         while (index < keys.length && keys[index] == 0);
+         return index < keys.length;
+      }
+
+      /** @return key of current pair */
+      public int key()
+         {return (index == -1) ? 0 : keys[index];}
+
+      /** @return element of current pair */
+      public Object element()
+         {return (index == -1) ? zeroElement : elements[index];}
+   }
+
+   /** @return a cursor before the first pair */
+   public Cursor cursor()
+      {return new Cursor();}
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Cursor c = cursor(); c.next(); )
+      {
+         if (s.length() > 1)
+            s.append(", ");
+         s.append(c.key() + "=" + c.element());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      IntObjectHashMap h = new IntObjectHashMap(4);
+      for (int i = -2; i <= 8; i++)
+         h.put(i * 1000, "e" + i);
+      System.out.println("The map is " + h);
+      System.out.println("Size is " + h.size());
+      System.out.println("Element with key 3000 is " + h.get(3000));
+      System.out.println("Element with key 0 is " + h.get(0));
+      System.out.println("Element with key 12 is " + h.get(12));
+
+      // replace and remove
+      System.out.println("Put of a new element for 5000 returns " +
+                         h.put(5000, "f5"));
+      System.out.println("Remove of 0 returns " + h.remove(0));
+      System.out.println("Remove of 4000 returns " + h.remove(4000));
+      System.out.println("Remove of 4000 again returns " +
+                         h.remove(4000));
+      System.out.println("The map is " + h);
+
+      // count the keys with a cursor
+      int count = 0;
+      for (IntObjectHashMap.Cursor c = h.cursor(); c.next(); )
+         count++;
+      System.out.println("The cursor visited " + count + " pairs");
+   }
+}
@@ -0,0 +1,315 @@
+
+
+/** skip list from long keys to elements, packed into arrays: node i
+  * has key keys[i], element elements[i] and level 0 successor
+  * next[i], and, only when it is on level 1 or higher, an array
+  * up[i] of its higher level successors. No node or key object is
+  * made, so an entry takes about 32 bytes. Node 0 is the head node,
+  * NIL ends a chain, and the slots of removed nodes are kept on a
+  * free list chained by next. */
+
+package dataStructures;
+
+import java.util.*;
+
+public class LongSkipList
+{
+   // data members
+   protected long [] keys;         // key of node i
+   protected Object [] elements;   // element of node i, null if free
+   protected int [] next;          // level 0 successor of node i
+   protected int [][] up;          // up[i][j - 1] is level j successor
+                                   // of node i, null for level 0 nodes
+   protected int nodes;            // slots 0 to nodes - 1 have been used
+   protected int freeNode;         // first free slot, NIL if none
+   protected float prob;           // probability used to decide level number
+   protected int maxLevel;         // max permissible chain level
+   protected double growSize;      // maxLevel grows when size exceeds this
+   protected int levels;           // max current nonempty chain
+   protected int size;             // current number of elements
+   protected int [] last;          // last node seen on each level
+   protected Random r;             // needed for random numbers
+   static final int NIL = -1;      // end of chain
+   static final int HEAD = 0;      // head node
+
+   // constructors
+   /** create an empty skip list that holds expectedSize
+     * elements before its arrays grow
+     * @param theProb probability that element on one
+     * level is also on the next level
+     * @throws IllegalArgumentException when expectedSize < 0
+     * or theProb is not between 0 and 1 */
+   public LongSkipList(int expectedSize, float theProb)
+   {
+      if (expectedSize < 0 || expectedSize == Integer.MAX_VALUE)
+         throw new IllegalArgumentException
+               ("expectedSize must be between 0 and 2^31 - 2");
+      if (theProb <= 0 || theProb >= 1)
+         throw new IllegalArgumentException
+               ("theProb must be between 0 and 1");
+      keys = new long [expectedSize + 1];
+      elements = new Object [expectedSize + 1];
+      next = new int [expectedSize + 1];
+      up = new int [expectedSize + 1][];
+      prob = theProb;
+      maxLevel = 1;
+      growSize = Math.pow(1/prob, maxLevel + 1);
+      last = new int [maxLevel + 1];
+      r = new Random();
+
+      // the head node is on all levels
+      next[HEAD] = NIL;
+      up[HEAD] = new int [maxLevel];
+      Arrays.fill(up[HEAD], NIL);
+      nodes = 1;
+      freeNode = NIL;
+   }
+
+   /** create an empty skip list with prob = 0.5 */
+   public LongSkipList()
+      {this(16, 0.5F);}
+
+   // methods
+   /** @return true iff the skip list is empty */
+   public boolean isEmpty()
+       {return size == 0;}
+
+   /** @return current number of elements in the skip list */
+   public int size()
+      {return size;}
+
+   /** @return next node of p on level i */
+   private int next(int p, int i)
+      {return (i == 0) ? next[p] : up[p][i - 1];}
+
+   /** make q the next node of p on level i */
+   private void setNext(int p, int i, int q)
+   {
+      if (i == 0)
+         next[p] = q;
+      else
+         up[p][i - 1] = q;
+   }
+
+   /** @return last node with key less than theKey on level 0,
+     * HEAD if there is none; when saveLast is true the last
+     * node seen on each level is saved in the array last */
+   private int search(long theKey, boolean saveLast)
+   {
+      // position p just before possible node with theKey
+      int p = HEAD;
+      for (int i = levels; i > 0; i--)
+      {
+         int q = up[p][i - 1];
+         while (q != NIL && keys[q] < theKey)
+         {// follow level i pointers
+            p = q;
+            q = up[q][i - 1];
+         }
+         if (saveLast)
+            last[i] = p;  // last level i node seen
+      }
+      for (int q = next[p]; q != NIL && keys[q] < theKey; q = next[q])
+         p = q;
+      if (saveLast)
+         last[0] = p;
+      return p;
+   }
+
+   /** @return element with key theKey
+     * @return null if no matching element */
+   public Object get(long theKey)
+   {
+      int p = next[search(theKey, false)];
+      return (p != NIL && keys[p] == theKey) ? elements[p] : null;
+   }
+
+   /** @return a random level number <= maxLevel */
+   private int level()
+   {
+      int lev = 0;
+      while (r.nextFloat() <= prob)
+         lev++;
+      return (lev <= maxLevel) ? lev : maxLevel;
+   }
+
+   /** increase maxLevel by 1, so that the list keeps
+     * O(log n) levels as it grows */
+   private void grow()
+   {
+      maxLevel++;
+      growSize /= prob;
+      up[HEAD] = Arrays.copyOf(up[HEAD], maxLevel);
+      up[HEAD][maxLevel - 1] = NIL;
+      last = Arrays.copyOf(last, maxLevel + 1);
+   }
+
+   /** @return a free slot, the arrays are enlarged when there
+     * is none */
+   private int newNode()
+   {
+      if (freeNode != NIL)
+      {
+         int p = freeNode;
+         freeNode = next[p];
+         return p;
+      }
+      if (nodes == keys.length)
+      {// double the arrays
+         int newLength = (int) Math.min(2L * nodes, Integer.MAX_VALUE);
+         if (newLength == nodes)
+            throw new IllegalStateException("skip list is full");
+         keys = Arrays.copyOf(keys, newLength);
+         elements = Arrays.copyOf(elements, newLength);
+         next = Arrays.copyOf(next, newLength);
+         up = Arrays.copyOf(up, newLength);
+      }
+      return nodes++;
+   }
+
+   /** insert theElement with key theKey, replacing the old
+     * element with this key if any
+     * @return old element with key theKey, null if none
+     * @throws IllegalArgumentException when theElement is null */
+   public Object put(long theKey, Object theElement)
+   {
+      if (theElement == null)
+         throw new IllegalArgumentException("null elements not allowed");
+
+      // see if element with theKey already present
+      int p = next[search(theKey, true)];
+      if (p != NIL && keys[p] == theKey)
+      {// update element of p
+         Object elementToReturn = elements[p];
+         elements[p] = theElement;
+         return elementToReturn;
+      }
+
+      // not present, determine level for new node
+      if (size >= growSize)
+         grow();
+      int lev = level(); // level of new node
+      // fix lev to be <= levels + 1
+      if (lev > levels)
+      {
+         lev = ++levels;
+         last[lev] = HEAD;
+      }
+
+      // get and insert new node, it has an up array only if lev > 0
+      int y = newNode();
+      keys[y] = theKey;
+      elements[y] = theElement;
+      up[y] = (lev == 0) ? null : new int [lev];
+      for (int i = 0; i <= lev; i++)
+      {// insert into level i chain
+         setNext(y, i, next(last[i], i));
+         setNext(last[i], i, y);
+      }
+      size++;
+      return null;
+   }
+
+   /** @return matching element and remove it
+     * @return null if no matching element */
+   public Object remove(long theKey)
+   {
+      // see if matching element present
+      int p = next[search(theKey, true)];
+      if (p == NIL || keys[p] != theKey) // not present
+         return null;
+
+      // delete node from skip list
+      for (int i = 0; i <= levels && next(last[i], i) == p; i++)
+         setNext(last[i], i, next(p, i));
+
+      // update levels
+      while (levels > 0 && up[HEAD][levels - 1] == NIL)
+         levels--;
+
+      // put p on the free list
+      Object elementToReturn = elements[p];
+      elements[p] = null;   // enable garbage collection
+      up[p] = null;
+      next[p] = freeNode;
+      freeNode = p;
+      size--;
+      return elementToReturn;
+   }
+
+   /** cursor over the pairs of the list in ascending order of key;
+     * the list must not change while a cursor is used */
+   public class Cursor
+   {
+      private int node = HEAD;  // node of current pair
+
+      /** move to the next pair
+        * @return false when there are no more pairs */
+      public boolean next()
+      {
+         if (node != NIL)
+            node = next[node];
+         return node != NIL;
+      }
+
+      /** @return key of current pair */
+      public long key()
+         {return keys[node];}
+
+      /** @return element of current pair */
+      public Object element()
+         {return elements[node];}
+   }
+
+   /** @return a cursor before the first pair */
+   public Cursor cursor()
+      {return new Cursor();}
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Cursor c = cursor(); c.next(); )
+      {
+         if (s.length() > 1)
+            s.append(", ");
+         s.append(c.key() + "=" + c.element());
+      }
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      LongSkipList x = new LongSkipList(4, 0.5F);
+
+      // test put
+      int n = 10;
+      for (int i = 1; i <= n; i++)
+         x.put(2L * i, "e" + i);
+      System.out.println("The list is " + x);
+      System.out.println("Size is " + x.size());
+
+      // test get
+      System.out.println("Element with key 6 is " + x.get(6));
+      System.out.println("Element with key 7 is " + x.get(7));
+
+      // replace and remove
+      System.out.println("Put of a new element for 4 returns " +
+                         x.put(4, "f2"));
+      System.out.println("Remove of 8 returns " + x.remove(8));
+      System.out.println("Remove of 8 again returns " + x.remove(8));
+      x.put(Long.MIN_VALUE, "min");
+      x.put(Long.MAX_VALUE, "max");
+      System.out.println("The list is " + x);
+
+      // count the pairs with a cursor
+      int count = 0;
+      for (LongSkipList.Cursor c = x.cursor(); c.next(); )
+         count++;
+      System.out.println("The cursor visited " + count + " pairs");
+   }
+}
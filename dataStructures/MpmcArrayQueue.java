@@ -0,0 +1,336 @@
+
+
+/** bounded lock-free queue for any number of producer and
+  * consumer threads; the array length is a power of 2 so that
+  * positions are found by masking, and each position has a
+  * sequence number that tells whether it is free for the put
+  * with a given tail value or full for the remove with a given
+  * head value, so producers and consumers claim positions with
+  * one compare-and-set on the tail or head counter */
+
+package dataStructures;
+
+import java.util.concurrent.atomic.*;
+
+public class MpmcArrayQueue implements Queue
+{
+   // data members
+   private final Object [] queue;            // element array
+   private final AtomicLongArray sequence;   // sequence[i] == t means
+                                             // position i is free for the
+                                             // put with tail t, == h + 1
+                                             // means it holds the element
+                                             // for the remove with head h
+   private final int mask;                   // queue.length - 1
+   private final PaddedSequence head = new PaddedSequence();
+                                             // number of removes claimed
+   private final PaddedSequence tail = new PaddedSequence();
+                                             // number of puts claimed
+
+   // constructor
+   /** create a queue that holds at least capacity elements,
+     * the capacity is rounded up to a power of 2
+     * @throws IllegalArgumentException when
+     * capacity < 2 or capacity > 2^30 */
+   public MpmcArrayQueue(int capacity)
+   {
+      if (capacity < 2 || capacity > 1 << 30)
+         throw new IllegalArgumentException
+               ("capacity must be between 2 and 2^30");
+      int length = 1;
+      while (length < capacity)
+         length <<= 1;
+      queue = new Object [length];
+      sequence = new AtomicLongArray(length);
+      for (int i = 0; i < length; i++)
+         sequence.lazySet(i, i);
+      mask = length - 1;
+   }
+
+   // methods
+   /** @return number of elements the queue can hold */
+   public int capacity()
+      {return queue.length;}
+
+   /** @return number of elements in the queue, a snapshot
+     * when other threads use the queue */
+   public int size()
+   {
+      long h = head.get();
+      long size = tail.get() - h;
+      return (int) Math.max(0, Math.min(size, queue.length));
+   }
+
+   /** @return true iff queue is empty, a snapshot
+     * when other threads use the queue */
+   public boolean isEmpty()
+      {return head.get() >= tail.get();}
+
+   /** @return front element of queue, another thread may
+     * remove it at any time
+     * @return null if queue is empty */
+   public Object getFrontElement()
+   {
+      while (true)
+      {
+         long h = head.get();
+         int i = (int) h & mask;
+         long s = sequence.get(i);
+         if (s < h + 1)
+            // front position not filled yet
+            return null;
+         Object frontElement = queue[i];
+         if (s == h + 1 && head.get() == h)
+            // the element was not removed while we read it
+            return frontElement;
+      }
+   }
+
+   /** @return rear element of queue, another thread may
+     * remove it or put a new rear element at any time
+     * @return null if queue is empty */
+   public Object getRearElement()
+   {
+      while (true)
+      {
+         long t = tail.get();
+         if (head.get() >= t)
+            return null;
+         int i = (int) (t - 1) & mask;
+         Object rearElement = queue[i];
+         if (sequence.get(i) == t && rearElement != null)
+            // rear position is filled and not yet removed
+            return rearElement;
+         if (tail.get() == t)
+            // its producer is still storing it, or it has
+            // just been removed
+            Thread.yield();
+      }
+   }
+
+   /** put theElement at the rear of the queue unless it is full
+     * @return true iff theElement was put
+     * @throws IllegalArgumentException when theElement is null */
+   public boolean offer(Object theElement)
+   {
+      if (theElement == null)
+         throw new IllegalArgumentException("null elements not allowed");
+
+      while (true)
+      {
+         long t = tail.get();
+         int i = (int) t & mask;
+         long s = sequence.get(i);
+         if (s == t)
+         {// position is free, try to claim it
+            if (tail.compareAndSet(t, t + 1))
+            {
+               queue[i] = theElement;
+               sequence.lazySet(i, t + 1);   // publish theElement
+               return true;
+            }
+         }
+         else if (s < t)
+            // position still holds the element put one lap earlier
+            return false;
+         // else another producer claimed t, try again
+      }
+   }
+
+   /** insert theElement at the rear of the queue,
+     * waiting while the queue is full
+     * @throws IllegalArgumentException when theElement is null */
+   public void put(Object theElement)
+   {
+      while (!offer(theElement))
+         Thread.yield();
+   }
+
+   /** remove an element from the front of the queue
+     * @return removed element
+     * @return null if the queue is empty */
+   public Object remove()
+   {
+      while (true)
+      {
+         long h = head.get();
+         int i = (int) h & mask;
+         long s = sequence.get(i);
+         if (s == h + 1)
+         {// position is full, try to claim it
+            if (head.compareAndSet(h, h + 1))
+            {
+               Object frontElement = queue[i];
+               queue[i] = null;   // enable garbage collection
+               // free the position for the put one lap later
+               sequence.lazySet(i, h + queue.length);
+               return frontElement;
+            }
+         }
+         else if (s < h + 1)
+            // nothing put at h yet
+            return null;
+         // else another consumer claimed h, try again
+      }
+   }
+
+   /** put elements of theElements, starting with theElements[0],
+     * until the queue is full; a run of free positions is claimed
+     * with one compare-and-set
+     * @return number of elements put
+     * @throws IllegalArgumentException when an element is null */
+   public int fill(Object [] theElements)
+   {
+      for (int i = 0; i < theElements.length; i++)
+         if (theElements[i] == null)
+            throw new IllegalArgumentException("null elements not allowed");
+
+      int done = 0;
+      while (done < theElements.length)
+      {
+         long t = tail.get();
+
+         // count free positions starting at t
+         int count = 0;
+         int wanted = theElements.length - done;
+         while (count < wanted && sequence.get((int) (t + count) & mask)
+                                  == t + count)
+            count++;
+         if (count == 0)
+         {
+            if (sequence.get((int) t & mask) < t)
+               // queue is full
+               return done;
+            continue;   // another producer claimed t
+         }
+
+         if (tail.compareAndSet(t, t + count))
+         {// positions t through t + count - 1 are ours
+            for (int j = 0; j < count; j++)
+            {
+               int i = (int) (t + j) & mask;
+               queue[i] = theElements[done + j];
+               sequence.lazySet(i, t + j + 1);
+            }
+            done += count;
+         }
+      }
+      return done;
+   }
+
+   /** remove up to target.length elements from the front of the
+     * queue into target, starting at target[0]; a run of full
+     * positions is claimed with one compare-and-set
+     * @return number of elements removed */
+   public int drainTo(Object [] target)
+   {
+      if (target.length == 0)
+         return 0;   // no room, nothing removed
+
+      while (true)
+      {
+         long h = head.get();
+
+         // count full positions starting at h
+         int count = 0;
+         while (count < target.length && sequence.get((int) (h + count) & mask)
+                                         == h + count + 1)
+            count++;
+         if (count == 0)
+         {
+            if (sequence.get((int) h & mask) < h + 1)
+               // queue is empty
+               return 0;
+            continue;   // another consumer claimed h
+         }
+
+         if (head.compareAndSet(h, h + count))
+         {// positions h through h + count - 1 are ours
+            for (int j = 0; j < count; j++)
+            {
+               int i = (int) (h + j) & mask;
+               target[j] = queue[i];
+               queue[i] = null;   // enable garbage collection
+               sequence.lazySet(i, h + j + queue.length);
+            }
+            return count;
+         }
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args) throws InterruptedException
+   {
+      final MpmcArrayQueue q = new MpmcArrayQueue(3);
+      System.out.println("Capacity is " + q.capacity());
+
+      // add a few elements
+      q.put(new Integer(1));
+      q.put(new Integer(2));
+      q.put(new Integer(3));
+      q.put(new Integer(4));
+      System.out.println("Offer when full returns " +
+                         q.offer(new Integer(5)));
+
+      // remove and add to test wraparound
+      System.out.println("Removed the element " + q.remove());
+      System.out.println("Removed the element " + q.remove());
+      System.out.println("Filled " +
+         q.fill(new Object [] {new Integer(5), new Integer(6),
+                               new Integer(7)}) + " elements");
+      System.out.println("Rear element is " + q.getRearElement());
+      System.out.println("Front element is " + q.getFrontElement());
+
+      // drain in one batch, an empty target gets nothing
+      System.out.println("Drained " + q.drainTo(new Object [0]) +
+                         " elements into an empty array");
+      Object [] a = new Object [8];
+      int count = q.drainTo(a);
+      System.out.print("Drained " + count + " elements:");
+      for (int i = 0; i < count; i++)
+         System.out.print(" " + a[i]);
+      System.out.println();
+      System.out.println("Removing from an empty queue gives " +
+                         q.remove());
+
+      // two producers and two consumers
+      final int n = 50000;   // elements per producer
+      final MpmcArrayQueue r = new MpmcArrayQueue(256);
+      final AtomicLong sum = new AtomicLong();
+      final AtomicInteger removed = new AtomicInteger();
+      Thread [] thread = new Thread [4];
+      for (int k = 0; k < 2; k++)
+      {
+         thread[k] = new Thread()
+         {
+            public void run()
+            {
+               for (int i = 1; i <= n; i++)
+                  r.put(new Integer(i));
+            }
+         };
+         thread[k + 2] = new Thread()
+         {
+            public void run()
+            {
+               while (removed.get() < 2 * n)
+               {
+                  Object x = r.remove();
+                  if (x == null)
+                     Thread.yield();
+                  else
+                  {
+                     sum.addAndGet(((Integer) x).intValue());
+                     removed.incrementAndGet();
+                  }
+               }
+            }
+         };
+      }
+      for (int k = 0; k < 4; k++)
+         thread[k].start();
+      for (int k = 0; k < 4; k++)
+         thread[k].join();
+      System.out.println("Sum of elements handed over is " + sum.get());
+   }
+}
@@ -5,19 +5,25 @@
 package dataStructures;
 
 import java.util.*;
+import java.util.stream.*;
 
-public class MyChain implements LinearList
+public class MyChain implements ExtendedLinearList
 {
    // data members
    protected ChainNode firstNode;
+   protected ChainNode lastNode;
    protected int size;
+   // cursor: the most recently visited node and its index,
+   // cursorNode is null when no position is cached
+   protected ChainNode cursorNode;
+   protected int cursorIndex;
 
    // constructors
    /** create a list that is empty */
    public MyChain(int initialCapacity)
    {
-    // the default initial values of firstNode and size
-    // are null and 0, respectively
+    // the default initial values of firstNode, lastNode
+    // and size are null, null and 0, respectively
    }
 
    public MyChain()
@@ -48,12 +54,32 @@ public class MyChain implements LinearList
    {
       checkIndex(index);
    
-      // move to desired node
+      return nodeAt(index).element;
+   }
+
+   /** forget the cached position */
+   protected void invalidateCursor()
+      {cursorNode = null;}
+
+   /** @return node with specified index, the walk starts at the
+     * cursor when the cursor is at or before index and at
+     * firstNode otherwise; the cursor moves to the returned node
+     * index must be between 0 and size - 1 */
+   ChainNode nodeAt(int index)
+   {
       ChainNode currentNode = firstNode;
-      for (int i = 0; i < index; i++)
+      int i = 0;  // index of currentNode
+      if (cursorNode != null && cursorIndex <= index)
+      {// start from the cursor
+         currentNode = cursorNode;
+         i = cursorIndex;
+      }
+      for (; i < index; i++)
          currentNode = currentNode.next;
    
-      return currentNode.element;
+      cursorNode = currentNode;
+      cursorIndex = index;
+      return currentNode;
    }
 
    /** @return index of first occurrence of theElement,
@@ -93,15 +119,22 @@ public class MyChain implements LinearList
       {
          removedElement = firstNode.element;
          firstNode = firstNode.next;
+         if (size == 1)
+            // list becomes empty
+            lastNode = null;  // needed for garbage collection
+         if (cursorIndex == 0)
+            invalidateCursor();  // cursor was at removed node
+         else
+            cursorIndex--;
       }
       else 
       {  // use q to get to predecessor of desired node
-         ChainNode q = firstNode;
-         for (int i = 0; i < index - 1; i++)
-            q = q.next;
+         ChainNode q = nodeAt(index - 1);
       
          removedElement = q.next.element;
          q.next = q.next.next; // remove desired node
+         if (q.next == null)
+            lastNode = q;
       }
       size--;
       return removedElement;
@@ -119,19 +152,59 @@ public class MyChain implements LinearList
          throw new IndexOutOfBoundsException
                ("index = " + index + "  size = " + size);
    
-      if (index == 0)
-         // insert at front
-         firstNode = new ChainNode(theElement, firstNode);
+      if (index == size)
+         // insert at end, no need to walk the chain
+         add(theElement);
       else
-      {   // find predecessor of new element
-         ChainNode p = firstNode;
-         for (int i = 0; i < index - 1; i++)
-            p = p.next;
-      
-          // insert after p
-         p.next = new ChainNode(theElement, p.next);
+      {
+         if (index == 0)
+         {  // insert at front
+            firstNode = new ChainNode(theElement, firstNode);
+            cursorIndex++;  // cursor, if any, moved right by one
+         }
+         else
+         {   // find predecessor of new element
+            ChainNode p = nodeAt(index - 1);
+         
+             // insert after p
+            p.next = new ChainNode(theElement, p.next);
+         }
+         size++;
       }
-      size++;
+   }
+
+   /** Make the chain empty. */
+   public void clear()
+   {
+      firstNode = lastNode = null;
+      size = 0;
+      invalidateCursor();
+   }
+
+   /** Add theElement to the right end of the chain. */
+   public void add(Object theElement)
+   {
+      ChainNode y = new ChainNode(theElement, null);
+      linkRun(y, y, 1);
+   }
+
+   /** Attach the run of nodes first ... last to the right end
+     * of the chain. The run must be null terminated and must
+     * not share nodes with this chain.
+     * @param count number of nodes in the run */
+   void linkRun(ChainNode first, ChainNode last, int count)
+   {
+      if (count == 0)
+         return;
+
+      if (firstNode == null)
+         // chain is empty
+         firstNode = first;
+      else
+         // attach run next to lastNode
+         lastNode.next = first;
+      lastNode = last;
+      size += count;
    }
 
    /** convert to a string */
@@ -161,6 +234,24 @@ public class MyChain implements LinearList
    public Iterator iterator()
       {return new ChainIterator();}
 
+   /** @return a spliterator over the elements, trySplit copies
+     * a prefix of the remaining nodes into an array; the prefix
+     * grows with each split so that parallel work comes in
+     * array-backed batches */
+   public Spliterator spliterator()
+   {
+      return Spliterators.spliterator(iterator(), size,
+                                      Spliterator.ORDERED);
+   }
+
+   /** @return a sequential stream of the elements */
+   public Stream stream()
+      {return StreamSupport.stream(spliterator(), false);}
+
+   /** @return a parallel stream of the elements */
+   public Stream parallelStream()
+      {return StreamSupport.stream(spliterator(), true);}
+
    /** convert the chain to an array
      * return array containing all elements in the chain */
    public Object[] toArray()
@@ -183,26 +274,54 @@ public class MyChain implements LinearList
      * @param elements array of elements to add */
    public void addRange(Object[] elements)
    {  
-      // if chain is empty, add first element at position 0
-      if (size == 0)
+      if (elements.length == 0)
+         return;
+
+      // build a run of new nodes, then attach it in one step
+      ChainNode first = new ChainNode(elements[0], null);
+      ChainNode last = first;
+      for (int i = 1; i < elements.length; i++)
       {
-         firstNode = new ChainNode(elements[0], null);
-         size = 1;
-         
-         // add remaining elements
-         for (int i = 1; i < elements.length; i++)
-         {
-            add(size, elements[i]);
-         }
+         last.next = new ChainNode(elements[i], null);
+         last = last.next;
       }
-      else
+      linkRun(first, last, elements.length);
+   }
+
+   /** add copies of all elements of theChain to the end of this chain,
+     * theChain is unchanged; theChain may be this chain
+     * @param theChain the chain whose elements are appended */
+   public void addAll(MyChain theChain)
+   {
+      int count = theChain.size;  // fixed before this chain grows
+      if (count == 0)
+         return;
+
+      // copy the nodes of theChain into a new run
+      ChainNode currentNode = theChain.firstNode;
+      ChainNode first = new ChainNode(currentNode.element, null);
+      ChainNode last = first;
+      for (int i = 1; i < count; i++)
       {
-         // chain is not empty, add all elements at the end
-         for (int i = 0; i < elements.length; i++)
-         {
-            add(size, elements[i]);
-         }
+         currentNode = currentNode.next;
+         last.next = new ChainNode(currentNode.element, null);
+         last = last.next;
       }
+      linkRun(first, last, count);
+   }
+
+   /** move all nodes of theChain to the end of this chain,
+     * no nodes are copied and theChain becomes empty
+     * @param theChain the chain to concatenate
+     * @throws IllegalArgumentException if theChain is this chain */
+   public void concatenate(MyChain theChain)
+   {
+      if (theChain == this)
+         throw new IllegalArgumentException
+               ("cannot concatenate a chain with itself");
+
+      linkRun(theChain.firstNode, theChain.lastNode, theChain.size);
+      theChain.clear();
    }
 
    /** create a union of this chain and the given chain
@@ -214,51 +333,209 @@ public class MyChain implements LinearList
       // create a new empty chain for the result
       MyChain result = new MyChain();
       
-      // add all elements from this chain
-      ChainNode currentNode = firstNode;
-      while (currentNode != null)
-      {
-         result.add(result.size(), currentNode.element);
-         currentNode = currentNode.next;
-      }
-      
-      // add all elements from the given chain
-      currentNode = chain.firstNode;
-      while (currentNode != null)
-      {
-         result.add(result.size(), currentNode.element);
-         currentNode = currentNode.next;
-      }
+      // add all elements from this chain, then from the given chain
+      result.addAll(this);
+      result.addAll(chain);
       
       return result;
    }
 
    /** create an intersection of this chain and the given chain
      * @param chain the chain to intersect with
-     * @return new chain containing elements that exist in both chains
-     * @throws IllegalArgumentException if chain is null */
+     * @return new chain containing elements that exist in both chains,
+     * each element appears once, in order of first occurrence
+     * in this chain */
    public MyChain intersection(MyChain chain)
    {
-      // create a new empty chain for the result
       MyChain result = new MyChain();
-      
-      // iterate through this chain
-      ChainNode currentNode = firstNode;
-      while (currentNode != null)
+      result.appendMarked(this, firstOccurrences(this, chain, true));
+      return result;
+   }
+
+   /** create a union of this chain and the given chain
+     * without duplicates
+     * @param chain the chain to union with
+     * @return new chain containing the distinct elements of this chain,
+     * in order of first occurrence, followed by the distinct elements
+     * of the given chain that are not in this chain */
+   public MyChain unionDistinct(MyChain chain)
+   {
+      MyChain result = new MyChain();
+      result.appendMarked(this, firstOccurrences(this, null, false));
+      result.appendMarked(chain, firstOccurrences(chain, this, false));
+      return result;
+   }
+
+   /** create the difference of this chain and the given chain
+     * @param chain the chain whose elements are excluded
+     * @return new chain containing the distinct elements of this chain
+     * that are not in the given chain, in order of first occurrence */
+   public MyChain difference(MyChain chain)
+   {
+      MyChain result = new MyChain();
+      result.appendMarked(this, firstOccurrences(this, chain, false));
+      return result;
+   }
+
+   /** create the symmetric difference of this chain and the given chain
+     * @param chain the other chain
+     * @return new chain containing the distinct elements of this chain
+     * that are not in the given chain, followed by the distinct elements
+     * of the given chain that are not in this chain */
+   public MyChain symmetricDifference(MyChain chain)
+   {
+      MyChain result = new MyChain();
+      result.appendMarked(this, firstOccurrences(this, chain, false));
+      result.appendMarked(chain, firstOccurrences(chain, this, false));
+      return result;
+   }
+
+   /** append, in chain order, the elements of theChain whose
+     * entry in marked is true */
+   void appendMarked(MyChain theChain, boolean [] marked)
+   {
+      ChainNode first = null, last = null;
+      int count = 0;
+      ChainNode currentNode = theChain.firstNode;
+      for (int i = 0; i < marked.length; i++)
       {
-         // check if current element exists in the given chain
-         if (chain.indexOf(currentNode.element) != -1)
+         if (marked[i])
          {
-            // check if element is not already in result to avoid duplicates
-            if (result.indexOf(currentNode.element) == -1)
-            {
-               result.add(result.size(), currentNode.element);
-            }
+            ChainNode y = new ChainNode(currentNode.element, null);
+            if (first == null)
+               first = y;
+            else
+               last.next = y;
+            last = y;
+            count++;
          }
          currentNode = currentNode.next;
       }
-      
-      return result;
+      linkRun(first, last, count);
+   }
+
+   /** Mark the elements of x that are the first occurrence of their
+     * value in x and whose membership in y equals inY.
+     * A null y is treated as an empty chain.
+     * Membership is decided with a hash set in expected O(|x| + |y|)
+     * time; when the elements are Comparable but a sample of their
+     * hash codes collides heavily, a sort-merge in O((|x| + |y|) log(|x| + |y|))
+     * time is used instead, and equality is then given by compareTo.
+     * @return array whose entry i is true iff element i of x is marked */
+   static boolean [] firstOccurrences(MyChain x, MyChain y, boolean inY)
+   {
+      if (y == null)
+         y = new MyChain();
+      Object [] xElements = x.toArray();
+      Object [] yElements = y.toArray();
+
+      if (hasPoorHashCodes(xElements, yElements))
+         try
+         {
+            return sortMergeFirstOccurrences(xElements, yElements, inY);
+         }
+         catch (ClassCastException e)
+         {// elements are not mutually comparable, hash instead
+         }
+      return hashFirstOccurrences(xElements, yElements, inY);
+   }
+
+   /** hash based version of firstOccurrences */
+   static boolean [] hashFirstOccurrences(Object [] x, Object [] y,
+                                          boolean inY)
+   {
+      HashSet ySet = new HashSet(2 * y.length + 1);
+      for (int i = 0; i < y.length; i++)
+         ySet.add(y[i]);
+
+      HashSet seen = new HashSet(2 * x.length + 1);
+      boolean [] marked = new boolean [x.length];
+      for (int i = 0; i < x.length; i++)
+         marked[i] = seen.add(x[i]) && ySet.contains(x[i]) == inY;
+      return marked;
+   }
+
+   /** sort-merge version of firstOccurrences,
+     * all elements must be mutually Comparable
+     * @throws ClassCastException when two elements
+     * cannot be compared */
+   static boolean [] sortMergeFirstOccurrences(final Object [] x,
+                                               Object [] y, boolean inY)
+   {
+      // sort the positions of x by element, stable so that the
+      // first position in each run of equal elements is its
+      // first occurrence
+      Integer [] order = new Integer [x.length];
+      for (int i = 0; i < x.length; i++)
+         order[i] = Integer.valueOf(i);
+      Arrays.sort(order, new Comparator()
+         {
+            public int compare(Object a, Object b)
+            {
+               return ((Comparable) x[((Integer) a).intValue()])
+                      .compareTo(x[((Integer) b).intValue()]);
+            }
+         });
+
+      Object [] sortedY = y.clone();
+      Arrays.sort(sortedY);
+
+      // merge the two sorted sequences
+      boolean [] marked = new boolean [x.length];
+      int j = 0;  // cursor into sortedY
+      for (int i = 0; i < order.length; i++)
+      {
+         int position = order[i].intValue();
+         Comparable element = (Comparable) x[position];
+         if (i > 0 && element.compareTo(x[order[i - 1].intValue()]) == 0)
+            continue;  // not a first occurrence
+
+         while (j < sortedY.length && element.compareTo(sortedY[j]) > 0)
+            j++;
+         boolean found = j < sortedY.length
+                         && element.compareTo(sortedY[j]) == 0;
+         marked[position] = found == inY;
+      }
+      return marked;
+   }
+
+   /** Number of elements whose hash codes are sampled, smaller
+     * inputs are not checked. */
+   static final int MIN_ELEMENTS_FOR_HASH_CHECK = 64;
+
+   /** Judge the hash codes of x and y from a sample of
+     * MIN_ELEMENTS_FOR_HASH_CHECK elements spread evenly over them,
+     * so that the check costs O(1) rather than a pass with two more
+     * hash sets over all elements.
+     * @return true iff the sampled elements are non-null Comparables
+     * and their hash codes take fewer than one quarter as many distinct
+     * values as there are distinct sampled elements; repeated equal
+     * elements do not count as collisions */
+   static boolean hasPoorHashCodes(Object [] x, Object [] y)
+   {
+      int n = x.length + y.length;
+      if (n < MIN_ELEMENTS_FOR_HASH_CHECK)
+         return false;
+
+      int [] hashCodes = new int [MIN_ELEMENTS_FOR_HASH_CHECK];
+      HashSet distinct = new HashSet();
+      for (int s = 0; s < hashCodes.length; s++)
+      {
+         int k = (int) ((long) s * n / hashCodes.length);
+         Object element = (k < x.length) ? x[k] : y[k - x.length];
+         if (!(element instanceof Comparable))
+            return false;
+         hashCodes[s] = element.hashCode();
+         distinct.add(element);
+      }
+
+      // count the distinct hash codes
+      Arrays.sort(hashCodes);
+      int distinctCodes = 1;
+      for (int s = 1; s < hashCodes.length; s++)
+         if (hashCodes[s] != hashCodes[s - 1])
+            distinctCodes++;
+      return 4 * distinctCodes < distinct.size();
    }
 
    /** chain iterator */
@@ -0,0 +1,51 @@
+
+
+/** Sequence counter used by the concurrent queues and deques.
+  * The counter is padded on both sides so that it has a cache
+  * line to itself and updates of the head counter do not slow
+  * down threads that use the tail counter, and vice versa.
+  * The padding is split over a class hierarchy because the
+  * virtual machine lays out superclass fields first.
+  * These classes are visible only within the package dataStructures. */
+
+package dataStructures;
+
+import java.util.concurrent.atomic.*;
+
+class SequenceLeftPadding
+{
+   long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class SequenceValue extends SequenceLeftPadding
+{
+   volatile long value;  // the counter
+   long cache;           // owner's cached copy of the opposite counter
+}
+
+class PaddedSequence extends SequenceValue
+{
+   long q1, q2, q3, q4, q5, q6, q7;
+
+   private static final AtomicLongFieldUpdater UPDATER =
+      AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+   /** @return value of the counter */
+   long get()
+      {return value;}
+
+   /** set the counter to newValue, later reads of other
+     * volatile fields are not moved before this write */
+   void set(long newValue)
+      {value = newValue;}
+
+   /** set the counter to newValue, writes made before the call
+     * are visible to a thread that reads newValue */
+   void lazySet(long newValue)
+      {UPDATER.lazySet(this, newValue);}
+
+   /** set the counter to newValue if it is expectedValue
+     * @return true iff the counter was set */
+   boolean compareAndSet(long expectedValue, long newValue)
+      {return UPDATER.compareAndSet(this, expectedValue, newValue);}
+}
@@ -0,0 +1,356 @@
+
+
+/** linked queue whose nodes are array segments; a put allocates
+  * only when the rear segment is full, and a segment emptied by
+  * remove is kept in a small pool of the queue for reuse, so a
+  * queue in steady state allocates nothing */
+
+package dataStructures;
+
+import java.lang.reflect.*;
+import wrappers.*;
+import utilities.*;
+import exceptions.*;
+
+public class SegmentedQueue implements ExtendedQueue
+{
+   // top-level nested class
+   static class Segment
+   {
+      // data members
+      Object [] element;  // elements of this segment
+      int front;          // position of front element of segment
+      int rear;           // position after rear element of segment
+      Segment next;       // next segment toward the rear of the queue
+
+      // constructor
+      Segment(int capacity)
+         {element = new Object [capacity];}
+   }
+
+   // data members
+   protected Segment frontSegment;  // segment with the front element
+   protected Segment rearSegment;   // segment with the rear element
+   protected int size;              // number of elements in queue
+   protected int segmentCapacity;   // length of new segments
+
+   private Segment pool;            // emptied segments kept for reuse
+   private int poolSize;            // number of segments in pool
+   static final int MAX_POOL_SIZE = 2;
+
+   // constructors
+   /** create an empty queue whose segments hold
+     * segmentCapacity elements each
+     * @throws IllegalArgumentException when
+     * segmentCapacity < 1 */
+   public SegmentedQueue(int segmentCapacity)
+   {
+      if (segmentCapacity < 1)
+         throw new IllegalArgumentException
+               ("segmentCapacity must be >= 1");
+      this.segmentCapacity = segmentCapacity;
+      // frontSegment and rearSegment are allocated by the first put
+   }
+
+   /** create an empty queue with segments of 64 elements */
+   public SegmentedQueue()
+      {this(64);}
+
+   // methods
+   /** @return true iff queue is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return number of elements in the queue */
+   public int size()
+      {return size;}
+
+   /** @return the element at the front of the queue
+     * @return null if the queue is empty */
+   public Object getFrontElement()
+   {
+      if (size == 0)
+         return null;
+      else
+         return frontSegment.element[frontSegment.front];
+   }
+
+   /** @return the element at the rear of the queue
+     * @return null if the queue is empty */
+   public Object getRearElement()
+   {
+      if (size == 0)
+         return null;
+      else
+         return rearSegment.element[rearSegment.rear - 1];
+   }
+
+   /** @return an empty segment, from the pool when possible */
+   private Segment newSegment()
+   {
+      if (pool == null)
+         return new Segment(segmentCapacity);
+      Segment s = pool;
+      pool = s.next;
+      s.next = null;
+      poolSize--;
+      return s;
+   }
+
+   /** put the empty segment s into the pool unless it is full */
+   private void recycle(Segment s)
+   {
+      s.front = s.rear = 0;
+      if (poolSize < MAX_POOL_SIZE && s.element.length == segmentCapacity)
+      {
+         s.next = pool;
+         pool = s;
+         poolSize++;
+      }
+      else
+         s.next = null;
+   }
+
+   /** insert theElement at the rear of the queue */
+   public void put(Object theElement)
+   {
+      if (rearSegment == null)
+         // first put
+         frontSegment = rearSegment = newSegment();
+      else if (rearSegment.rear == rearSegment.element.length)
+      {// rear segment is full, link in another
+         rearSegment.next = newSegment();
+         rearSegment = rearSegment.next;
+      }
+      rearSegment.element[rearSegment.rear++] = theElement;
+      size++;
+   }
+
+   /** remove an element from the front of the queue
+     * @return removed element
+     * @return null if the queue is empty */
+   public Object remove()
+   {
+      if (size == 0)
+         return null;
+
+      Segment s = frontSegment;
+      Object frontElement = s.element[s.front];
+      s.element[s.front++] = null;   // enable garbage collection
+      size--;
+
+      if (s.front == s.rear)
+      {// segment is empty
+         if (s == rearSegment)
+            // queue is empty, keep the segment
+            s.front = s.rear = 0;
+         else
+         {
+            frontSegment = s.next;
+            recycle(s);
+         }
+      }
+      return frontElement;
+   }
+
+   /** Make the queue empty. */
+   public void clear()
+   {
+      for (Segment s = frontSegment; s != null; )
+      {
+         Segment next = s.next;
+         java.util.Arrays.fill(s.element, s.front, s.rear, null);
+         if (s == frontSegment)
+            s.front = s.rear = 0;   // keep one segment
+         else
+            recycle(s);
+         s = next;
+      }
+      if (frontSegment != null)
+         frontSegment.next = null;
+      rearSegment = frontSegment;
+      size = 0;
+   }
+
+   /** move all elements of source to the rear of this queue,
+     * source becomes empty; whole segments are relinked,
+     * no element is copied
+     * @throws IllegalArgumentException when source is this queue */
+   public void moveAll(SegmentedQueue source)
+   {
+      if (source == this)
+         throw new IllegalArgumentException
+               ("cannot move a queue into itself");
+      if (source.size == 0)
+         return;
+
+      if (size == 0)
+      {// give our empty segment to the pool, take source's segments
+         if (frontSegment != null)
+            recycle(frontSegment);
+         frontSegment = source.frontSegment;
+      }
+      else
+         // a partly filled segment may now be followed by others,
+         // remove skips over it when it empties
+         rearSegment.next = source.frontSegment;
+      rearSegment = source.rearSegment;
+      size += source.size;
+
+      source.frontSegment = source.rearSegment = null;
+      source.size = 0;
+   }
+
+   /** input a queue from the input stream inStream using
+     * the method inputMethod to input each element */
+   public void input(Method inputMethod, MyInputStream inStream)
+   {
+      // input size of new queue
+      System.out.println("Enter number of elements in queue");
+      int n = inStream.readInteger();
+      if (n < 0)
+         throw new MyInputException
+                   ("queue size must be >= 0");
+
+      // input the queue elements front to rear
+      Object [] inputMethodArgs = {inStream};
+      clear();  // start with an empty queue
+      System.out.println("Enter queue elements from front to rear");
+      try
+      {
+         for (int i = 0; i < n; i++)
+            put(inputMethod.invoke(null, inputMethodArgs));
+      }
+      catch (Exception e)
+      {
+         System.out.println(e);
+         throw new IllegalArgumentException
+                    ("input method for queue element type is incorrect");
+      }
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+      for (Segment currentSegment = frontSegment; currentSegment != null;
+           currentSegment = currentSegment.next)
+         for (int i = currentSegment.front; i < currentSegment.rear; i++)
+            s.append(currentSegment.element[i].toString() + ", ");
+
+      if (size > 0)
+         s.delete(s.length() - 2, s.length());  // remove last ", "
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** split the queue this into the queues a and b,
+     * elements are put alternately into a and b,
+     * the first element goes to a */
+   public void split(ExtendedQueue a, ExtendedQueue b)
+   {
+      // cast a and b into SegmentedQueues
+      SegmentedQueue aa = (SegmentedQueue) a;
+      SegmentedQueue ab = (SegmentedQueue) b;
+      aa.clear();
+      ab.clear();
+
+      // elements are appended to the segment arrays of a and b,
+      // no node is allocated per element
+      boolean toA = true;
+      for (Segment currentSegment = frontSegment; currentSegment != null;
+           currentSegment = currentSegment.next)
+         for (int i = currentSegment.front; i < currentSegment.rear; i++)
+         {
+            if (toA)
+               aa.put(currentSegment.element[i]);
+            else
+               ab.put(currentSegment.element[i]);
+            toA = !toA;
+         }
+   }
+
+   /** set the queue this to contain the elements in a and b,
+     * elements are taken alternately from a and b */
+   public void combine(ExtendedQueue a, ExtendedQueue b)
+   {
+      // cast a and b into SegmentedQueues
+      SegmentedQueue aa = (SegmentedQueue) a;
+      SegmentedQueue ab = (SegmentedQueue) b;
+
+      // build the result in a new queue, a or b may be this
+      SegmentedQueue result = new SegmentedQueue(segmentCapacity);
+      Segment segmentA = aa.frontSegment;
+      Segment segmentB = ab.frontSegment;
+      int positionA = (segmentA == null) ? 0 : segmentA.front;
+      int positionB = (segmentB == null) ? 0 : segmentB.front;
+      int remainingA = aa.size;
+      int remainingB = ab.size;
+      while (remainingA > 0 || remainingB > 0)
+      {
+         if (remainingA > 0)
+         {// copy from a
+            while (positionA == segmentA.rear)
+            {// move to next segment of a
+               segmentA = segmentA.next;
+               positionA = segmentA.front;
+            }
+            result.put(segmentA.element[positionA++]);
+            remainingA--;
+         }
+         if (remainingB > 0)
+         {// copy from b
+            while (positionB == segmentB.rear)
+            {// move to next segment of b
+               segmentB = segmentB.next;
+               positionB = segmentB.front;
+            }
+            result.put(segmentB.element[positionB++]);
+            remainingB--;
+         }
+      }
+
+      // the segments of result become those of this
+      clear();
+      moveAll(result);
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      SegmentedQueue q = new SegmentedQueue(3);
+
+      // put enough elements to use several segments
+      for (int i = 1; i <= 8; i++)
+         q.put(new Integer(i));
+      System.out.println("The queue is " + q);
+      System.out.println("Front element is " + q.getFrontElement());
+      System.out.println("Rear element is " + q.getRearElement());
+
+      // remove to free segments, put to reuse them
+      for (int i = 0; i < 4; i++)
+         System.out.println("Removed the element " + q.remove());
+      for (int i = 9; i <= 12; i++)
+         q.put(new Integer(i));
+      System.out.println("The queue is " + q + ", size is " + q.size());
+
+      // test split, combine and moveAll
+      SegmentedQueue b = new SegmentedQueue(3);
+      SegmentedQueue c = new SegmentedQueue(3);
+      q.split(b, c);
+      System.out.println("The split queues are " + b + " and " + c);
+      b.combine(b, c);
+      System.out.println("Combining them gives " + b);
+      q.moveAll(b);
+      System.out.println("After moving b to the rear of q, q is " + q
+                         + " and b is " + b);
+
+      // delete all elements
+      while (!q.isEmpty())
+         q.remove();
+      System.out.println("Removing from an empty queue gives " +
+                         q.remove());
+   }
+}
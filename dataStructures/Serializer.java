@@ -0,0 +1,81 @@
+
+
+/** converts keys and elements to and from bytes, so that
+  * DiskBTree can keep them in file pages; serializers for
+  * MyInteger, String and byte [] are given as constants */
+
+package dataStructures;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import wrappers.MyInteger;
+
+public interface Serializer
+{
+   /** @return number of bytes write puts for x */
+   public int size(Object x);
+
+   /** put x in buffer at its position */
+   public void write(ByteBuffer buffer, Object x);
+
+   /** @return object read from buffer at its position */
+   public Object read(ByteBuffer buffer);
+
+   /** MyInteger as 4 bytes */
+   public static final Serializer MY_INTEGER = new Serializer()
+   {
+      public int size(Object x)
+         {return 4;}
+
+      public void write(ByteBuffer buffer, Object x)
+         {buffer.putInt(((MyInteger) x).intValue());}
+
+      public Object read(ByteBuffer buffer)
+         {return new MyInteger(buffer.getInt());}
+   };
+
+   /** String as a 2 byte length followed by its UTF-8 bytes,
+     * strings may have up to 65535 bytes */
+   public static final Serializer STRING = new Serializer()
+   {
+      public int size(Object x)
+         {return 2 + ((String) x).getBytes(StandardCharsets.UTF_8).length;}
+
+      public void write(ByteBuffer buffer, Object x)
+      {
+         byte [] b = ((String) x).getBytes(StandardCharsets.UTF_8);
+         if (b.length > 0xffff)
+            throw new IllegalArgumentException("string is too long");
+         buffer.putChar((char) b.length);
+         buffer.put(b);
+      }
+
+      public Object read(ByteBuffer buffer)
+      {
+         byte [] b = new byte [buffer.getChar()];
+         buffer.get(b);
+         return new String(b, StandardCharsets.UTF_8);
+      }
+   };
+
+   /** byte [] as a 4 byte length followed by its bytes; arrays are
+     * not Comparable, so this serializer is for elements only */
+   public static final Serializer BYTE_ARRAY = new Serializer()
+   {
+      public int size(Object x)
+         {return 4 + ((byte []) x).length;}
+
+      public void write(ByteBuffer buffer, Object x)
+      {
+         buffer.putInt(((byte []) x).length);
+         buffer.put((byte []) x);
+      }
+
+      public Object read(ByteBuffer buffer)
+      {
+         byte [] b = new byte [buffer.getInt()];
+         buffer.get(b);
+         return b;
+      }
+   };
+}
@@ -0,0 +1,179 @@
+
+/** Memory management for simulated pointer classes
+  * with the nodes stored as parallel arrays.
+  * next[i] and element[i] are the fields of node i, so no
+  * SimulatedNode objects are created and growing the space
+  * copies two arrays rather than node references. */
+
+package dataStructures;
+
+import java.util.*;
+
+public class SimulatedArena implements SimulatedSpace
+{
+   // data members
+   int [] next;        // package visible
+   Object [] element;  // package visible
+   private int firstFree;  // first node on the free list, -1 if none
+   private int unused;     // nodes unused through node length - 1
+                           // have never been allocated
+
+   // constructor
+   public SimulatedArena(int numberOfNodes)
+   {
+      if (numberOfNodes < 1)
+         throw new IllegalArgumentException
+               ("numberOfNodes must be >= 1");
+      next = new int [numberOfNodes];
+      element = new Object [numberOfNodes];
+      firstFree = -1;
+      // unused has the default initial value 0
+   }
+
+   /** make sure there are at least count never allocated nodes */
+   private void ensureUnused(int count)
+   {
+      if (unused + count > next.length)
+      {// at least double number of nodes
+         int newLength = Math.max(unused + count, 2 * next.length);
+         next = Arrays.copyOf(next, newLength);
+         element = Arrays.copyOf(element, newLength);
+      }
+   }
+
+   public int allocateNode(Object theElement, int theNext)
+   {// Allocate a free node and set its fields.
+      int i;
+      if (firstFree != -1)
+      {// take first node of free list
+         i = firstFree;
+         firstFree = next[i];
+      }
+      else
+      {// take a never allocated node
+         ensureUnused(1);
+         i = unused++;
+      }
+      element[i] = theElement;
+      next[i] = theNext;
+      return i;
+   }
+
+   public void deallocateNode(int i)
+   {// Free node i.
+      // make i first node on free list
+      next[i] = firstFree;
+      firstFree = i;
+
+      // remove element reference so that space can be garbage collected
+      element[i] = null;
+   }
+
+   /** Allocate a run of nodes holding theElements, linked in order,
+     * the last node of the run points to theNext.
+     * Nodes are taken from the free list first, they are already
+     * linked there, and never allocated nodes are used for the rest.
+     * @return first node of the run, theNext if theElements is empty */
+   public int allocateRun(Object [] theElements, int theNext)
+   {
+      int count = theElements.length;
+      if (count == 0)
+         return theNext;
+
+      int first = -1;  // first node of the run
+      int last = -1;   // last node of the run so far
+      int j = 0;       // next element to store
+      if (firstFree != -1)
+      {// take a prefix of the free list, it is linked in place
+         first = last = firstFree;
+         element[last] = theElements[j++];
+         while (j < count && next[last] != -1)
+         {
+            last = next[last];
+            element[last] = theElements[j++];
+         }
+         firstFree = next[last];
+      }
+
+      if (j < count)
+      {// take never allocated nodes for the rest
+         ensureUnused(count - j);
+         if (last == -1)
+            first = unused;
+         else
+            next[last] = unused;
+         for (; j < count; j++)
+         {
+            last = unused++;
+            element[last] = theElements[j];
+            next[last] = last + 1;
+         }
+      }
+      next[last] = theNext;
+      return first;
+   }
+
+   /** Free the run of nodes that starts at first and ends at last,
+     * the run is put onto the free list as a whole.
+     * last must be reachable from first. */
+   public void deallocateRun(int first, int last)
+   {
+      // remove element references so that space can be garbage collected
+      for (int i = first; i != last; i = next[i])
+         element[i] = null;
+      element[last] = null;
+
+      // splice the run in front of the free list
+      next[last] = firstFree;
+      firstFree = first;
+   }
+
+   public Object getElement(int i)
+      {return element[i];}
+
+   public void setElement(int i, Object theElement)
+      {element[i] = theElement;}
+
+   public int getNext(int i)
+      {return next[i];}
+
+   public void setNext(int i, int theNext)
+      {next[i] = theNext;}
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      int x;
+      // create a simulated space with 5 nodes
+      SimulatedArena L = new SimulatedArena(5);
+      x = L.allocateNode(null, -1);
+      System.out.println("Node allocated is " + x);
+      int y = L.allocateNode(null, -1);
+      System.out.println("Node allocated is " + y);
+      L.deallocateNode(x);
+      y = L.allocateNode(null, -1);
+      System.out.println("Node allocated is " + y);
+
+      // allocate and free a run, the space grows
+      Object [] a = {"a", "b", "c", "d", "e"};
+      int first = L.allocateRun(a, -1);
+      System.out.println("Run starts at node " + first);
+      int last = first;
+      while (L.getNext(last) != -1)
+         last = L.getNext(last);
+      L.deallocateRun(first, last);
+      System.out.println("Node allocated is " + L.allocateNode(null, -1));
+
+      // a run allocated after a run is freed reuses its nodes
+      int nodes = L.next.length;
+      for (int i = 0; i < 100; i++)
+      {
+         first = L.allocateRun(a, -1);
+         for (last = first; L.getNext(last) != -1; )
+            last = L.getNext(last);
+         L.deallocateRun(first, last);
+      }
+      System.out.println("After 100 run cycles the space has "
+                         + L.next.length + " nodes, it had " + nodes);
+   }
+}
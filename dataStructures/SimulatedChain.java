@@ -11,7 +11,7 @@ public class SimulatedChain implements LinearList
    // data members
    protected int firstNode;
    protected int size;
-   public static SimulatedSpace1 S = new SimulatedSpace1(10);
+   public static SimulatedSpace S = new SimulatedSpace1(10);
 
    // constructor
    /** create a list that is empty */
@@ -52,9 +52,9 @@ public class SimulatedChain implements LinearList
       // move to desired node
       int currentNode = firstNode;
       for (int i = 0; i < index; i++)
-         currentNode = S.node[currentNode].next;
+         currentNode = S.getNext(currentNode);
 
-      return S.node[currentNode].element;
+      return S.getElement(currentNode);
    }
    
    /** @return index of first occurrence of elem,
@@ -65,10 +65,10 @@ public class SimulatedChain implements LinearList
       int currentNode = firstNode;
       int index = 0;  // index of currentNode
       while (currentNode != -1 &&
-             !S.node[currentNode].element.equals(elem))
+             !S.getElement(currentNode).equals(elem))
       {
          // move to next node
-         currentNode = S.node[currentNode].next;
+         currentNode = S.getNext(currentNode);
          index++;
       }
 
@@ -94,21 +94,21 @@ public class SimulatedChain implements LinearList
       if (index == 0)
       {  // remove first node
          removedNode = firstNode;
-         firstNode = S.node[firstNode].next;
+         firstNode = S.getNext(firstNode);
       }
       else 
       {  // use q to get to index-1'th
          int q = firstNode;
          for (int i = 0; i < index - 1; i++)
-            q = S.node[q].next;
+            q = S.getNext(q);
 
-         removedNode = S.node[q].next;
+         removedNode = S.getNext(q);
 
          // element to remove is in node removedNode, remove this node
-         S.node[q].next = S.node[removedNode].next;
+         S.setNext(q, S.getNext(removedNode));
       }
 
-      Object removedElement = S.node[removedNode].element;
+      Object removedElement = S.getElement(removedNode);
       S.deallocateNode(removedNode);
       size--;
       return removedElement;
@@ -133,14 +133,81 @@ public class SimulatedChain implements LinearList
       {   // find index - 1'th node
           int p = firstNode;
           for (int i = 0; i < index - 1; i++)
-             p = S.node[p].next;
+             p = S.getNext(p);
 
           // insert after p
-          S.node[p].next = S.allocateNode(obj,
-                              S.node[p].next);
+          S.setNext(p, S.allocateNode(obj, S.getNext(p)));
       }
       size++;
    }
+
+   /** Insert the elements of theElements so that the first
+     * one has specified index; their nodes are allocated as
+     * one run.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void addAll(int index, Object [] theElements)
+   {
+      if (index < 0 || index > size)
+         // invalid list position
+         throw new IndexOutOfBoundsException
+                   ("index = " + index + "  size = " + size);
+
+      if (index == 0)
+         // insert at front
+         firstNode = S.allocateRun(theElements, firstNode);
+      else
+      {   // find index - 1'th node
+          int p = firstNode;
+          for (int i = 0; i < index - 1; i++)
+             p = S.getNext(p);
+
+          // insert after p
+          S.setNext(p, S.allocateRun(theElements, S.getNext(p)));
+      }
+      size += theElements.length;
+   }
+
+   /** remove the elements whose index is in the range
+     * start through finish-1; their nodes are freed as
+     * one run */
+   public void removeRange(int start, int finish)
+   {
+      // validate start and finish indexes
+      if (start < 0)
+         start = 0;
+      if (finish > size)
+         finish = size;
+      if (start >= finish)
+         // no elements to remove
+         return;
+
+      // p is the node before the range, -1 if the range is a prefix
+      int p = -1;
+      int first = firstNode;
+      for (int i = 0; i < start; i++)
+      {
+         p = first;
+         first = S.getNext(first);
+      }
+
+      // last is the last node of the range
+      int last = first;
+      for (int i = start; i < finish - 1; i++)
+         last = S.getNext(last);
+
+      // unlink the range and free its nodes
+      if (p == -1)
+         firstNode = S.getNext(last);
+      else
+         S.setNext(p, S.getNext(last));
+      S.deallocateRun(first, last);
+      size -= finish - start;
+   }
+
+   /** Make the list empty. */
+   public void clear()
+      {removeRange(0, size);}
    
    /** convert to a string */
    public String toString()
@@ -151,11 +218,11 @@ public class SimulatedChain implements LinearList
       int currentNode = firstNode;
       while(currentNode != -1)
       {
-         if (S.node[currentNode].element == null)
+         if (S.getElement(currentNode) == null)
             s.append("null, ");
          else
-            s.append(S.node[currentNode].element.toString() + ", ");
-         currentNode = S.node[currentNode].next;
+            s.append(S.getElement(currentNode).toString() + ", ");
+         currentNode = S.getNext(currentNode);
       }
       if (size > 0)
          s.delete(s.length() - 2, s.length());  // remove last ", "
@@ -193,8 +260,8 @@ public class SimulatedChain implements LinearList
       {
          if (nextNode != -1)
          {
-            Object obj = S.node[nextNode].element;
-            nextNode = S.node[nextNode].next;
+            Object obj = S.getElement(nextNode);
+            nextNode = S.getNext(nextNode);
             return obj;
          }
          else
@@ -262,5 +329,14 @@ public class SimulatedChain implements LinearList
       else System.out.println("The list is not empty");
 
       System.out.println("List size is " + x.size());
+
+      // test bulk operations
+      x.addAll(1, new Object [] {new Integer(7), new Integer(8),
+                                 new Integer(9)});
+      System.out.println("After addAll the list is " + x);
+      x.removeRange(0, 2);
+      System.out.println("After removeRange(0, 2) the list is " + x);
+      x.clear();
+      System.out.println("After clear the list is " + x);
    }
 }
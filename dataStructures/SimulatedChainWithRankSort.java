@@ -29,14 +29,14 @@ public class SimulatedChainWithRankSort extends SimulatedChain
          for (int j = 0; j < i; j++)
          {// S.node[currentNode].element is element i and
           // and S.node[compareNode].element is element j, j < i
-            if (((Comparable) S.node[compareNode].element).compareTo
-                                     (S.node[currentNode].element) <= 0)
+            if (((Comparable) S.getElement(compareNode)).compareTo
+                                     (S.getElement(currentNode)) <= 0)
                r[i]++;
             else
                r[j]++;
-            compareNode = S.node[compareNode].next;
+            compareNode = S.getNext(compareNode);
          }
-         currentNode = S.node[currentNode].next;
+         currentNode = S.getNext(currentNode);
       }
    
       // distribute nodes to bins by rank
@@ -45,15 +45,18 @@ public class SimulatedChainWithRankSort extends SimulatedChain
       for (int i = 0; i < size; i++)
       {
          bin[r[i]] = currentNode;
-         currentNode = S.node[currentNode].next;
+         currentNode = S.getNext(currentNode);
       }
    
       // collect from bins
       firstNode = bin[0];
       int lastNode = firstNode;  // last node on chain
       for (int i = 1; i < size; i++)
-         lastNode = S.node[lastNode].next = bin[i];
-      S.node[lastNode].next = -1;
+      {
+         S.setNext(lastNode, bin[i]);
+         lastNode = bin[i];
+      }
+      S.setNext(lastNode, -1);
    }
 
    /** test program */
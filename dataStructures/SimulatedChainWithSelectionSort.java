@@ -18,15 +18,15 @@ public class SimulatedChainWithSelectionSort extends SimulatedChain
       for (int i = size; i > 1; i--)
       {
          // find max object from first i nodes
-         Comparable currentMax = (Comparable) S.node[firstNode].element;
+         Comparable currentMax = (Comparable) S.getElement(firstNode);
          int maxNode = firstNode;
          int currentNode = firstNode;
          for (int j = 1; j < i; j++)
          {
-            int nextNode = S.node[currentNode].next;
-            if (currentMax.compareTo(S.node[nextNode].element) < 0)
+            int nextNode = S.getNext(currentNode);
+            if (currentMax.compareTo(S.getElement(nextNode)) < 0)
             {// found a larger element
-               currentMax = (Comparable) S.node[nextNode].element;
+               currentMax = (Comparable) S.getElement(nextNode);
                maxNode = nextNode;
             }
 
@@ -35,8 +35,8 @@ public class SimulatedChainWithSelectionSort extends SimulatedChain
          }
 
          // move max object to right end
-         S.node[maxNode].element = S.node[currentNode].element;
-         S.node[currentNode].element = currentMax;
+         S.setElement(maxNode, S.getElement(currentNode));
+         S.setElement(currentNode, currentMax);
       }
    }
 
@@ -21,15 +21,15 @@ public class SimulatedChainWithSortMethods extends SimulatedChain
       for (int i = size; i > 1; i--)
       {
          // find max object from first i nodes
-         Comparable currentMax = (Comparable) S.node[firstNode].element;
+         Comparable currentMax = (Comparable) S.getElement(firstNode);
          int maxNode = firstNode;
          int currentNode = firstNode;
          for (int j = 1; j < i; j++)
          {
-            int nextNode = S.node[currentNode].next;
-            if (currentMax.lessThan(S.node[nextNode].element))
+            int nextNode = S.getNext(currentNode);
+            if (currentMax.lessThan(S.getElement(nextNode)))
             {// found a larger element
-               currentMax = (Comparable) S.node[nextNode].element;
+               currentMax = (Comparable) S.getElement(nextNode);
                maxNode = nextNode;
             }
 
@@ -38,8 +38,8 @@ public class SimulatedChainWithSortMethods extends SimulatedChain
          }
 
          // move max object to right end
-         S.node[maxNode].element = S.node[currentNode].element;
-         S.node[currentNode].element = currentMax;
+         S.setElement(maxNode, S.getElement(currentNode));
+         S.setElement(currentNode, currentMax);
       }
    }
 
@@ -60,14 +60,14 @@ public class SimulatedChainWithSortMethods extends SimulatedChain
          for (int j = 0; j < i; j++)
          {// S.node[currentNode].element is element i and
           // and S.node[compareNode].element is element j, j < i
-            if (((Comparable) S.node[compareNode].element).lessThanOrEqual
-                                     (S.node[currentNode].element))
+            if (((Comparable) S.getElement(compareNode)).lessThanOrEqual
+                                     (S.getElement(currentNode)))
                r[i]++;
             else
                r[j]++;
-            compareNode = S.node[compareNode].next;
+            compareNode = S.getNext(compareNode);
          }
-         currentNode = S.node[currentNode].next;
+         currentNode = S.getNext(currentNode);
       }
    
       // distribute nodes to bins by rank
@@ -76,15 +76,18 @@ public class SimulatedChainWithSortMethods extends SimulatedChain
       for (int i = 0; i < size; i++)
       {
          bin[r[i]] = currentNode;
-         currentNode = S.node[currentNode].next;
+         currentNode = S.getNext(currentNode);
       }
    
       // collect from bins
       firstNode = bin[0];
       int lastNode = firstNode;  // last node on chain
       for (int i = 1; i < size; i++)
-         lastNode = S.node[lastNode].next = bin[i];
-      S.node[lastNode].next = -1;
+      {
+         S.setNext(lastNode, bin[i]);
+         lastNode = bin[i];
+      }
+      S.setNext(lastNode, -1);
    }
 
    /** test program */
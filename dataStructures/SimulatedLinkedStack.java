@@ -7,7 +7,7 @@ public class SimulatedLinkedStack implements Stack
 {
    // data members
    protected int topNode;
-   public static SimulatedSpace1 S;
+   public static SimulatedSpace S;
 
    // constructors
    /** create an empty stack */
@@ -30,22 +30,45 @@ public class SimulatedLinkedStack implements Stack
       if (empty())
          throw new IllegalArgumentException
             ("stack is empty");
-      return S.node[topNode].element;
+      return S.getElement(topNode);
    }
 
    /** add theElement to the top of the stack */
    public void push(Object theElement)
       {topNode = S.allocateNode(theElement, topNode);}
 
+   /** push the elements of theElements in order, so that the
+     * last one is on top; their nodes are allocated as one run */
+   public void pushAll(Object [] theElements)
+   {
+      // the run is linked from the top down
+      Object [] run = new Object [theElements.length];
+      for (int i = 0; i < run.length; i++)
+         run[i] = theElements[run.length - 1 - i];
+      topNode = S.allocateRun(run, topNode);
+   }
+
+   /** remove all elements, their nodes are freed as one run */
+   public void clear()
+   {
+      if (empty())
+         return;
+      int bottomNode = topNode;
+      while (S.getNext(bottomNode) != -1)
+         bottomNode = S.getNext(bottomNode);
+      S.deallocateRun(topNode, bottomNode);
+      topNode = -1;
+   }
+
    /** remove top element of stack and return it */
    public Object pop()
    {
       if (empty())
          throw new IllegalArgumentException
             ("SimulatedLinkedStack.pop: stack is empty");
-      Object topElement = S.node[topNode].element;
+      Object topElement = S.getElement(topNode);
       int oldTop = topNode;
-      topNode = S.node[topNode].next;
+      topNode = S.getNext(topNode);
       S.deallocateNode(oldTop);
       return topElement;
    }
@@ -71,5 +94,13 @@ public class SimulatedLinkedStack implements Stack
          System.out.println("Top element is " + s.peek());
          System.out.println("Removed the element " + s.pop());
       }
+
+      // push a run of elements
+      s.pushAll(new Object [] {new Integer(5), new Integer(6),
+                               new Integer(7)});
+      System.out.println("After pushAll the top element is " + s.peek());
+      s.clear();
+      System.out.println("After clear the stack is "
+                         + (s.empty() ? "empty" : "not empty"));
    }  
 }
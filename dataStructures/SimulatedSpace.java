@@ -0,0 +1,24 @@
+
+/** interface for the memory managers of simulated pointer classes,
+  * a node is named by its int index and -1 is the null pointer */
+
+package dataStructures;
+
+public interface SimulatedSpace
+{
+   public int allocateNode(Object element, int next);
+   public void deallocateNode(int i);
+   public Object getElement(int i);
+   public void setElement(int i, Object element);
+   public int getNext(int i);
+   public void setNext(int i, int next);
+
+   /** Allocate a run of nodes holding theElements, linked in order,
+     * the last node of the run points to next.
+     * @return first node of the run, next if theElements is empty */
+   public int allocateRun(Object [] theElements, int next);
+
+   /** Free the run of nodes from first to last,
+     * last must be reachable from first. */
+   public void deallocateRun(int first, int last);
+}
@@ -5,7 +5,7 @@ package dataStructures;
 
 import utilities.*;
 
-public class SimulatedSpace1
+public class SimulatedSpace1 implements SimulatedSpace
 {
    // data members
    private int firstNode;
@@ -59,6 +59,37 @@ public class SimulatedSpace1
       node[i].element = null;
    }
 
+   public int allocateRun(Object [] theElements, int next)
+   {// Allocate nodes from the back of the run to the front.
+      for (int j = theElements.length - 1; j >= 0; j--)
+         next = allocateNode(theElements[j], next);
+      return next;
+   }
+
+   public void deallocateRun(int first, int last)
+   {// Free nodes first through last.
+      // remove element references so that space can be garbage collected
+      for (int i = first; i != last; i = node[i].next)
+         node[i].element = null;
+      node[last].element = null;
+
+      // splice the run in front of the free space list
+      node[last].next = firstNode;
+      firstNode = first;
+   }
+
+   public Object getElement(int i)
+      {return node[i].element;}
+
+   public void setElement(int i, Object element)
+      {node[i].element = element;}
+
+   public int getNext(int i)
+      {return node[i].next;}
+
+   public void setNext(int i, int next)
+      {node[i].next = next;}
+
    /** test program */
    public static void main(String [] args)
    {
@@ -7,7 +7,7 @@ package dataStructures;
 
 import utilities.*;
 
-public class SimulatedSpace2
+public class SimulatedSpace2 implements SimulatedSpace
 {
    // data members
    private int first1;
@@ -54,6 +54,37 @@ public class SimulatedSpace2
       first2 = i;
    }
 
+   public int allocateRun(Object [] theElements, int next)
+   {// Allocate nodes from the back of the run to the front.
+      for (int j = theElements.length - 1; j >= 0; j--)
+         next = allocateNode(theElements[j], next);
+      return next;
+   }
+
+   public void deallocateRun(int first, int last)
+   {// Free nodes first through last.
+      // remove element references so that space can be garbage collected
+      for (int i = first; i != last; i = node[i].next)
+         node[i].element = null;
+      node[last].element = null;
+
+      // splice the run in front of the chain
+      node[last].next = first2;
+      first2 = first;
+   }
+
+   public Object getElement(int i)
+      {return node[i].element;}
+
+   public void setElement(int i, Object element)
+      {node[i].element = element;}
+
+   public int getNext(int i)
+      {return node[i].next;}
+
+   public void setNext(int i, int next)
+      {node[i].next = next;}
+
    /** test program */
    public static void main(String [] args)
    {
@@ -1,4 +1,8 @@
-
+/** skip list dictionary; besides get, put and remove it finds
+  * the elements next to a key (floor, ceiling, lower, higher) and
+  * iterates over key ranges in O(log n + k) time for k elements.
+  * The max level grows with the number of elements, so a list may
+  * hold more than the maxElements it was created for. */
 
 package dataStructures;
 
@@ -26,6 +30,7 @@ public class SkipList implements Dictionary
    // data members of SkipList
    protected float prob;         // probability used to decide level number
    protected int maxLevel;       // max permissible chain level
+   protected double growSize;    // maxLevel grows when size exceeds this
    protected int levels;         // max current nonempty chain
    protected int size;           // current number of elements
    protected Comparable tailKey; // a large key
@@ -34,19 +39,20 @@ public class SkipList implements Dictionary
    protected SkipNode [] last;   // last node seen on each level
    protected Random r;           // needed for random numbers
 
-   // constructor
+   // constructors
    /** create an empty skip list
      * @param largekey used as key in tail node
      * all elements must have a smaller key than this
-     * @param maxElements largest number of elements
-     * to be stored in the dictionary
+     * @param maxElements number of elements the levels
+     * are first sized for, the levels grow when there are more
      * @param theProb probability that element on one
      * level is also on the next level */
    public SkipList(Comparable largeKey, int maxElements, float theProb)
    {
       prob = theProb;
-      maxLevel = (int) Math.round(Math.log(maxElements) / 
-                                  Math.log(1/prob)) - 1;
+      maxLevel = Math.max(0, (int) Math.round(Math.log(maxElements) /
+                                              Math.log(1/prob)) - 1);
+      growSize = Math.pow(1/prob, maxLevel + 1);
       // size and levels have default initial value 0
       tailKey = largeKey;
    
@@ -62,6 +68,54 @@ public class SkipList implements Dictionary
       r = new Random();  // initialize random number generator
    }
 
+   /** create a skip list of the elements theElements[i] with keys
+     * theKeys[i] in O(n) time; the keys must be in ascending order.
+     * Rather than random levels, every 1/theProb th node of a level
+     * is also on the next level, as in a perfectly balanced list.
+     * @param largekey used as key in tail node
+     * all elements must have a smaller key than this
+     * @param theProb probability that element on one
+     * level is also on the next level
+     * @throws IllegalArgumentException when the keys are not in
+     * ascending order or theKeys and theElements differ in length */
+   public SkipList(Comparable largeKey, Comparable [] theKeys,
+                   Object [] theElements, float theProb)
+   {
+      this(largeKey, theKeys.length, theProb);
+      if (theKeys.length != theElements.length)
+         throw new IllegalArgumentException
+               ("theKeys and theElements must have the same length");
+      int step = Math.max(2, Math.round(1/prob)); // nodes per node
+                                                  // on next level
+      for (int i = 0; i <= maxLevel; i++)
+         last[i] = headNode;
+
+      // append the nodes to the chains, node j (counting from 1)
+      // is on level i when step^i divides j
+      for (int j = 1; j <= theKeys.length; j++)
+      {
+         Comparable theKey = theKeys[j - 1];
+         if (tailKey.compareTo(theKey) <= 0)
+            throw new IllegalArgumentException("key is too large");
+         if (j > 1 && theKeys[j - 2].compareTo(theKey) >= 0)
+            throw new IllegalArgumentException
+                  ("keys must be in ascending order");
+
+         int lev = 0;
+         for (int k = j; lev < maxLevel && k % step == 0; k /= step)
+            lev++;
+         SkipNode y = new SkipNode(theKey, theElements[j - 1], lev + 1);
+         for (int i = 0; i <= lev; i++)
+         {
+            y.next[i] = tailNode;
+            last[i].next[i] = y;
+            last[i] = y;
+         }
+         levels = Math.max(levels, lev);
+      }
+      size = theKeys.length;
+   }
+
    // methods
    /** @return true iff the skip list is empty */
    public boolean isEmpty()
@@ -136,6 +190,8 @@ public class SkipList implements Dictionary
       }
    
       // not present, determine level for new node
+      if (size >= growSize)
+         grow();
       int lev = level(); // level of new node
       // fix lev to be <= levels + 1
       if (lev > levels)
@@ -155,6 +211,21 @@ public class SkipList implements Dictionary
       return null;
    }
 
+   /** increase maxLevel by 1, so that the list keeps
+     * O(log n) levels as it grows */
+   protected void grow()
+   {
+      maxLevel++;
+      growSize /= prob;
+      SkipNode [] newNext = new SkipNode [maxLevel + 1];
+      System.arraycopy(headNode.next, 0, newNext, 0, maxLevel);
+      newNext[maxLevel] = tailNode;
+      headNode.next = newNext;
+      SkipNode [] newLast = new SkipNode [maxLevel + 1];
+      System.arraycopy(last, 0, newLast, 0, maxLevel);  // keep search path
+      last = newLast;
+   }
+
    /** @return matching element and remove it
      * @return null if no matching element */
    public Object remove(Object theKey)
@@ -180,6 +251,44 @@ public class SkipList implements Dictionary
       return p.element;
    }
    
+   /** @return last node whose key is less than theKey, or whose key
+     * is less than or equal to theKey when orEqual is true
+     * @return headNode if there is no such node */
+   SkipNode before(Object theKey, boolean orEqual)
+   {
+      SkipNode p = headNode;
+      for (int i = levels; i >= 0; i--)
+         while (p.next[i] != tailNode)
+         {
+            int c = p.next[i].key.compareTo(theKey);
+            if (c < 0 || (c == 0 && orEqual))
+               p = p.next[i];
+            else
+               break;
+         }
+      return p;
+   }
+
+   /** @return element with largest key <= theKey
+     * @return null if there is no such element */
+   public Object floor(Object theKey)
+      {return before(theKey, true).element;}
+
+   /** @return element with largest key < theKey
+     * @return null if there is no such element */
+   public Object lower(Object theKey)
+      {return before(theKey, false).element;}
+
+   /** @return element with smallest key >= theKey
+     * @return null if there is no such element */
+   public Object ceiling(Object theKey)
+      {return before(theKey, false).next[0].element;}
+
+   /** @return element with smallest key > theKey
+     * @return null if there is no such element */
+   public Object higher(Object theKey)
+      {return before(theKey, true).next[0].element;}
+
    /** convert to a string */
    public String toString()
    {
@@ -207,29 +316,55 @@ public class SkipList implements Dictionary
 
    /** create and return an iterator */
    public Iterator iterator()
-      {return new SkipListIterator();}
+      {return new SkipListIterator(headNode.next[0], null);}
+
+   /** create and return an iterator over the elements with
+     * fromKey <= key < toKey in ascending order of key; a null
+     * fromKey or toKey leaves the range open at that end */
+   public Iterator iterator(Object fromKey, Object toKey)
+   {
+      SkipNode first = (fromKey == null) ? headNode.next[0]
+                                         : before(fromKey, false).next[0];
+      return new SkipListIterator(first, (Comparable) toKey);
+   }
+
+   /** @return view of the elements with key < toKey */
+   public View headMap(Object toKey)
+      {return new View(null, (Comparable) toKey);}
+
+   /** @return view of the elements with key >= fromKey */
+   public View tailMap(Object fromKey)
+      {return new View((Comparable) fromKey, null);}
 
    /** sorted chain iterator */
    private class SkipListIterator implements Iterator
    {
-      // data member
+      // data members
       private SkipNode nextNode;
+      private Comparable toKey;   // iteration stops at this key,
+                                  // null if it does not stop early
    
       // constructor
-      public SkipListIterator()
-         {nextNode = headNode.next[0];}
+      public SkipListIterator(SkipNode firstNode, Comparable theToKey)
+      {
+         nextNode = firstNode;
+         toKey = theToKey;
+      }
    
       // methods
       /** @return true iff list has more elements */
       public boolean hasNext()
-         {return nextNode != tailNode;}
+      {
+         return nextNode != tailNode
+                && (toKey == null || nextNode.key.compareTo(toKey) < 0);
+      }
    
       /** @return next element in list
         * @throws NoSuchElementException
         * when if there is no next element */
       public Object next()
       {
-         if (nextNode != tailNode)
+         if (hasNext())
          {
             Object obj = nextNode.element;
             nextNode = nextNode.next[0];
@@ -245,6 +380,86 @@ public class SkipList implements Dictionary
                    ("remove not supported");
       }   
    }
+
+   /** the elements of the skip list with keys in a range; the view
+     * and the list share their nodes, so changes made through one
+     * are seen in the other */
+   public class View implements Dictionary
+   {
+      // data members
+      private Comparable fromKey;  // smallest key of range, null if none
+      private Comparable toKey;    // keys are less than this, null if none
+
+      // constructor
+      View(Comparable theFromKey, Comparable theToKey)
+      {
+         fromKey = theFromKey;
+         toKey = theToKey;
+      }
+
+      // methods
+      /** @return true iff theKey is in the range of the view */
+      boolean inRange(Object theKey)
+      {
+         return (fromKey == null || fromKey.compareTo(theKey) <= 0)
+                && (toKey == null || toKey.compareTo(theKey) > 0);
+      }
+
+      /** @return element with specified key
+        * @return null if there is no matching element in the view */
+      public Object get(Object theKey)
+         {return inRange(theKey) ? SkipList.this.get(theKey) : null;}
+
+      /** insert an element with the specified key
+        * @return old element (if any) with key theKey
+        * @throws IllegalArgumentException when theKey is
+        * not in the range of the view */
+      public Object put(Object theKey, Object theElement)
+      {
+         if (!inRange(theKey))
+            throw new IllegalArgumentException("key is out of range");
+         return SkipList.this.put(theKey, theElement);
+      }
+
+      /** @return matching element and remove it
+        * @return null if no matching element in the view */
+      public Object remove(Object theKey)
+         {return inRange(theKey) ? SkipList.this.remove(theKey) : null;}
+
+      /** @return true iff the view is empty */
+      public boolean isEmpty()
+         {return !iterator().hasNext();}
+
+      /** @return number of elements in the view, takes
+        * O(log n + size) time */
+      public int size()
+      {
+         int count = 0;
+         for (Iterator i = iterator(); i.hasNext(); i.next())
+            count++;
+         return count;
+      }
+
+      /** create and return an iterator over the view */
+      public Iterator iterator()
+         {return SkipList.this.iterator(fromKey, toKey);}
+
+      /** convert to a string */
+      public String toString()
+      {
+         StringBuffer s = new StringBuffer("[");
+         for (Iterator i = iterator(); i.hasNext(); )
+         {
+            if (s.length() > 1)
+               s.append(", ");
+            s.append(i.next().toString());
+         }
+         s.append("]");
+
+         // create equivalent String
+         return new String(s);
+      }
+   }
    
    
    /** test program */
@@ -276,5 +491,38 @@ public class SkipList implements Dictionary
       for (int i = 1; i <= n + 1; i++)
          System.out.println("removed " + x.remove(new Integer(2 * i - 1)));
       System.out.println("The list is\n" + x);
+
+      // test floor, ceiling, lower and higher
+      System.out.println("floor of 7 is " + x.floor(new Integer(7))
+                         + ", ceiling of 7 is " + x.ceiling(new Integer(7)));
+      System.out.println("lower of 8 is " + x.lower(new Integer(8))
+                         + ", higher of 8 is " + x.higher(new Integer(8)));
+      System.out.println("floor of 1 is " + x.floor(new Integer(1))
+                         + ", higher of 40 is " + x.higher(new Integer(40)));
+
+      // test range iterator and views
+      System.out.print("keys 10 to 19 have elements");
+      for (Iterator i = x.iterator(new Integer(10), new Integer(20));
+           i.hasNext(); )
+         System.out.print(" " + i.next());
+      System.out.println();
+      System.out.println("head view below 9 is " + x.headMap(new Integer(9)));
+      System.out.println("tail view from 33 is " + x.tailMap(new Integer(33)));
+
+      // test bulk load, the list grows past its initial size
+      Comparable [] keys = new Comparable [n];
+      Object [] elements = new Object [n];
+      for (int i = 0; i < n; i++)
+      {
+         keys[i] = new Integer(3 * i);
+         elements[i] = new Integer(i);
+      }
+      SkipList y = new SkipList(new Integer(Integer.MAX_VALUE), keys,
+                                elements, 0.5F);
+      System.out.println("The loaded list is\n" + y);
+      for (int i = 0; i < 500; i++)
+         y.put(new Integer(3 * i + 1), new Integer(-i));
+      System.out.println("After 500 puts size is " + y.size()
+                         + " and max level is " + y.maxLevel);
    }
 }
@@ -3,6 +3,8 @@
 package dataStructures;
 
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import utilities.*;
 
 public class SortedArrayList implements Dictionary
@@ -190,6 +192,77 @@ public class SortedArrayList implements Dictionary
       }   
    }
    
+   /** @return a spliterator over the elements in ascending
+     * order of key, trySplit hands out the lower half of the
+     * remaining index range */
+   public Spliterator spliterator()
+      {return new SortedArrayListSpliterator(0, size);}
+
+   /** @return a sequential stream of the elements */
+   public Stream stream()
+      {return StreamSupport.stream(spliterator(), false);}
+
+   /** @return a parallel stream of the elements */
+   public Stream parallelStream()
+      {return StreamSupport.stream(spliterator(), true);}
+
+   /** spliterator over the elements with index
+     * nextIndex through fence - 1 */
+   private class SortedArrayListSpliterator implements Spliterator
+   {
+      // data members
+      private int nextIndex;  // index of next element
+      private int fence;      // one more than index of last element
+
+      // constructor
+      public SortedArrayListSpliterator(int theNextIndex, int theFence)
+      {
+         nextIndex = theNextIndex;
+         fence = theFence;
+      }
+
+      // methods
+      /** give the next element to action
+        * @return false iff there is no next element */
+      public boolean tryAdvance(Consumer action)
+      {
+         if (nextIndex >= fence)
+            return false;
+         action.accept(element[nextIndex++].element);
+         return true;
+      }
+
+      /** give the remaining elements to action */
+      public void forEachRemaining(Consumer action)
+      {
+         for (; nextIndex < fence; nextIndex++)
+            action.accept(element[nextIndex].element);
+      }
+
+      /** @return spliterator for the lower half of the remaining
+        * elements, null if there are too few to split */
+      public Spliterator trySplit()
+      {
+         int middle = (nextIndex + fence) >>> 1;
+         if (middle <= nextIndex)
+            return null;
+         Spliterator lowerHalf =
+               new SortedArrayListSpliterator(nextIndex, middle);
+         nextIndex = middle;
+         return lowerHalf;
+      }
+
+      /** @return number of remaining elements */
+      public long estimateSize()
+         {return fence - nextIndex;}
+
+      public int characteristics()
+      {
+         return Spliterator.ORDERED | Spliterator.SIZED |
+                Spliterator.SUBSIZED;
+      }
+   }
+
    /** test program */
    public static void main(String [] args)
    {
@@ -226,5 +299,12 @@ public class SortedArrayList implements Dictionary
       System.out.println("removed element " + x.remove(new Integer(6))
                          + " with key 6");
       System.out.println("The list is " + x);
+
+      // test stream
+      SortedArrayList y = new SortedArrayList();
+      for (int i = 1; i <= 100; i++)
+         y.put(new Integer(101 - i), new Integer(i));
+      System.out.println("Sum by parallel stream is " +
+         y.parallelStream().mapToInt(e -> ((Integer) e).intValue()).sum());
    }
 }
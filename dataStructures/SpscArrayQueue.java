@@ -0,0 +1,239 @@
+
+
+/** bounded lock-free queue for one producer thread and one
+  * consumer thread; the array length is a power of 2 so that
+  * positions are found by masking, and each side keeps a cached
+  * copy of the other side's counter so that it reads the shared
+  * counter only when the cached copy says the queue is full or empty */
+
+package dataStructures;
+
+public class SpscArrayQueue implements Queue
+{
+   // data members
+   private final Object [] queue;  // element array
+   private final int mask;         // queue.length - 1
+   private final PaddedSequence head = new PaddedSequence();
+                                   // number of elements removed so far,
+                                   // cache is tail as last seen by consumer
+   private final PaddedSequence tail = new PaddedSequence();
+                                   // number of elements put so far,
+                                   // cache is head as last seen by producer
+
+   // constructor
+   /** create a queue that holds at least capacity elements,
+     * the capacity is rounded up to a power of 2
+     * @throws IllegalArgumentException when
+     * capacity < 1 or capacity > 2^30 */
+   public SpscArrayQueue(int capacity)
+   {
+      if (capacity < 1 || capacity > 1 << 30)
+         throw new IllegalArgumentException
+               ("capacity must be between 1 and 2^30");
+      int length = 1;
+      while (length < capacity)
+         length <<= 1;
+      queue = new Object [length];
+      mask = length - 1;
+   }
+
+   // methods
+   /** @return number of elements the queue can hold */
+   public int capacity()
+      {return queue.length;}
+
+   /** @return number of elements in the queue, a snapshot
+     * when other threads use the queue */
+   public int size()
+   {
+      long h = head.get();
+      long size = tail.get() - h;
+      return (int) Math.max(0, Math.min(size, queue.length));
+   }
+
+   /** @return true iff queue is empty */
+   public boolean isEmpty()
+      {return head.get() >= tail.get();}
+
+   /** to be called by the consumer
+     * @return front element of queue
+     * @return null if queue is empty */
+   public Object getFrontElement()
+   {
+      long h = head.get();
+      if (h >= tail.get())
+         return null;
+      return queue[(int) h & mask];
+   }
+
+   /** to be called by the producer
+     * @return rear element of queue
+     * @return null if the queue is empty */
+   public Object getRearElement()
+   {
+      long t = tail.get();
+      if (head.get() >= t)
+         return null;
+      return queue[(int) (t - 1) & mask];
+   }
+
+   /** put theElement at the rear of the queue unless it is full,
+     * to be called by the producer
+     * @return true iff theElement was put
+     * @throws IllegalArgumentException when theElement is null */
+   public boolean offer(Object theElement)
+   {
+      if (theElement == null)
+         throw new IllegalArgumentException("null elements not allowed");
+
+      long t = tail.get();
+      if (t - tail.cache >= queue.length)
+      {// queue looked full, get the current head
+         tail.cache = head.get();
+         if (t - tail.cache >= queue.length)
+            return false;
+      }
+      queue[(int) t & mask] = theElement;
+      tail.lazySet(t + 1);   // publish theElement
+      return true;
+   }
+
+   /** insert theElement at the rear of the queue, waiting while
+     * the queue is full; to be called by the producer
+     * @throws IllegalArgumentException when theElement is null */
+   public void put(Object theElement)
+   {
+      while (!offer(theElement))
+         Thread.yield();
+   }
+
+   /** remove an element from the front of the queue,
+     * to be called by the consumer
+     * @return removed element
+     * @return null if the queue is empty */
+   public Object remove()
+   {
+      long h = head.get();
+      if (h >= head.cache)
+      {// queue looked empty, get the current tail
+         head.cache = tail.get();
+         if (h >= head.cache)
+            return null;
+      }
+      int i = (int) h & mask;
+      Object frontElement = queue[i];
+      queue[i] = null;       // enable garbage collection
+      head.lazySet(h + 1);   // give the position back to the producer
+      return frontElement;
+   }
+
+   /** put elements of theElements, starting with theElements[0],
+     * until the queue is full; the tail counter is published once
+     * for the whole batch; to be called by the producer
+     * @return number of elements put
+     * @throws IllegalArgumentException when a put element is null */
+   public int fill(Object [] theElements)
+   {
+      long t = tail.get();
+      long free = queue.length - (t - tail.cache);
+      if (free < theElements.length)
+      {// get the current head
+         tail.cache = head.get();
+         free = queue.length - (t - tail.cache);
+      }
+      int count = (int) Math.min(free, theElements.length);
+      for (int i = 0; i < count; i++)
+      {
+         if (theElements[i] == null)
+         {// publish what has been put so far
+            tail.lazySet(t + i);
+            throw new IllegalArgumentException("null elements not allowed");
+         }
+         queue[(int) (t + i) & mask] = theElements[i];
+      }
+      tail.lazySet(t + count);
+      return count;
+   }
+
+   /** remove up to target.length elements from the front of the
+     * queue into target, starting at target[0]; the head counter is
+     * published once for the whole batch; to be called by the consumer
+     * @return number of elements removed */
+   public int drainTo(Object [] target)
+   {
+      long h = head.get();
+      if (head.cache - h < target.length)
+         // get the current tail
+         head.cache = tail.get();
+      int count = (int) Math.min(head.cache - h, target.length);
+      for (int i = 0; i < count; i++)
+      {
+         int j = (int) (h + i) & mask;
+         target[i] = queue[j];
+         queue[j] = null;   // enable garbage collection
+      }
+      head.lazySet(h + count);
+      return count;
+   }
+
+   /** test program */
+   public static void main(String [] args) throws InterruptedException
+   {
+      final SpscArrayQueue q = new SpscArrayQueue(3);
+      System.out.println("Capacity is " + q.capacity());
+
+      // add a few elements
+      q.put(new Integer(1));
+      q.put(new Integer(2));
+      q.put(new Integer(3));
+      q.put(new Integer(4));
+      System.out.println("Offer when full returns " +
+                         q.offer(new Integer(5)));
+
+      // remove and add to test wraparound
+      System.out.println("Removed the element " + q.remove());
+      System.out.println("Removed the element " + q.remove());
+      System.out.println("Filled " +
+         q.fill(new Object [] {new Integer(5), new Integer(6),
+                               new Integer(7)}) + " elements");
+      System.out.println("Rear element is " + q.getRearElement());
+      System.out.println("Front element is " + q.getFrontElement());
+
+      // drain in one batch
+      Object [] a = new Object [8];
+      int count = q.drainTo(a);
+      System.out.print("Drained " + count + " elements:");
+      for (int i = 0; i < count; i++)
+         System.out.print(" " + a[i]);
+      System.out.println();
+      System.out.println("Removing from an empty queue gives " +
+                         q.remove());
+
+      // hand 100000 elements from one thread to another
+      final int n = 100000;
+      final SpscArrayQueue r = new SpscArrayQueue(1024);
+      Thread producer = new Thread()
+      {
+         public void run()
+         {
+            for (int i = 1; i <= n; i++)
+               r.put(new Integer(i));
+         }
+      };
+      producer.start();
+      long sum = 0;
+      for (int i = 0; i < n; )
+      {
+         Object x = r.remove();
+         if (x == null)
+            Thread.yield();
+         else
+         {
+            sum += ((Integer) x).intValue();
+            i++;
+         }
+      }
+      producer.join();
+      System.out.println("Sum of elements handed over is " + sum);
+   }
+}
@@ -0,0 +1,535 @@
+
+
+/** unrolled linked list implementation of ExtendedLinearList,
+  * elements are kept in a doubly linked list of fixed capacity
+  * array blocks; a block that overflows is split and a block
+  * that falls below half full is merged with or refilled from
+  * a neighbor */
+
+package dataStructures;
+
+import java.util.*;
+
+public class UnrolledLinkedList implements ExtendedLinearList
+{
+   // top-level nested class
+   static class Block
+   {
+      // data members
+      Object [] element;     // elements in this block
+      int size;              // number of elements in this block
+      Block previous;        // pointer to left block
+      Block next;            // pointer to right block
+      int number;            // position in blockIndex
+
+      // constructor
+      Block(int capacity)
+         {element = new Object [capacity];}
+   }
+
+   // data members
+   protected Block firstBlock;
+   protected Block lastBlock;
+   protected int size;           // number of elements in list
+   protected int blockCapacity;  // capacity of each block
+
+   // optional block index, blockStart[i] is the list index
+   // of the first element of blockIndex[i]
+   protected boolean useIndex;
+   protected Block [] blockIndex;
+   protected int [] blockStart;
+   protected int blockCount;     // number of blocks in the index
+   protected boolean indexValid; // true iff the index is up to date
+
+   // result of locate
+   private Block foundBlock;
+   private int foundOffset;
+
+   // constructors
+   /** create a list that is empty
+     * @param blockCapacity number of elements in a block
+     * @param useIndex true iff a block index is to be kept for
+     * O(log(size / blockCapacity)) positional lookup
+     * @throws IllegalArgumentException when
+     * blockCapacity < 2 */
+   public UnrolledLinkedList(int blockCapacity, boolean useIndex)
+   {
+      if (blockCapacity < 2)
+         throw new IllegalArgumentException
+               ("blockCapacity must be >= 2");
+      this.blockCapacity = blockCapacity;
+      this.useIndex = useIndex;
+   }
+
+   /** create a list with the given block capacity and no index */
+   public UnrolledLinkedList(int blockCapacity)
+      {this(blockCapacity, false);}
+
+   /** create a list with block capacity 64 and no index */
+   public UnrolledLinkedList()
+      {this(64);}
+
+   // methods
+   /** @return true iff list is empty */
+   public boolean isEmpty()
+      {return size == 0;}
+
+   /** @return current number of elements in list */
+   public int size()
+      {return size;}
+
+   /** @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+   }
+
+   /** set foundBlock and foundOffset to the block that holds
+     * the element with specified index and its position in that block,
+     * index must be between 0 and size - 1 */
+   void locate(int index)
+   {
+      if (useIndex)
+      {
+         if (!indexValid)
+            rebuildIndex();
+
+         // binary search for the last block starting at or before index
+         int left = 0, right = blockCount - 1;
+         while (left < right)
+         {
+            int middle = (left + right + 1) / 2;
+            if (blockStart[middle] <= index)
+               left = middle;
+            else
+               right = middle - 1;
+         }
+         foundBlock = blockIndex[left];
+         foundOffset = index - blockStart[left];
+         return;
+      }
+
+      if (index < size / 2)
+      {// move from left to right
+         Block currentBlock = firstBlock;
+         while (index >= currentBlock.size)
+         {
+            index -= currentBlock.size;
+            currentBlock = currentBlock.next;
+         }
+         foundBlock = currentBlock;
+         foundOffset = index;
+      }
+      else
+      {// move from right to left
+         Block currentBlock = lastBlock;
+         int numberAfter = size - index - 1;  // elements right of index
+         while (numberAfter >= currentBlock.size)
+         {
+            numberAfter -= currentBlock.size;
+            currentBlock = currentBlock.previous;
+         }
+         foundBlock = currentBlock;
+         foundOffset = currentBlock.size - numberAfter - 1;
+      }
+   }
+
+   /** rebuild blockIndex and blockStart from the block list */
+   void rebuildIndex()
+   {
+      int count = 0;
+      for (Block b = firstBlock; b != null; b = b.next)
+         count++;
+      if (blockIndex == null || blockIndex.length < count)
+      {
+         blockIndex = new Block [Math.max(2 * count, 10)];
+         blockStart = new int [blockIndex.length];
+      }
+
+      int start = 0;
+      blockCount = 0;
+      for (Block b = firstBlock; b != null; b = b.next)
+      {
+         b.number = blockCount;
+         blockIndex[blockCount] = b;
+         blockStart[blockCount++] = start;
+         start += b.size;
+      }
+      indexValid = true;
+   }
+
+   /** the number of elements in theBlock changed by delta and
+     * no block was added or removed, update the index */
+   void blockSizeChanged(Block theBlock, int delta)
+   {
+      if (indexValid)
+         for (int i = theBlock.number + 1; i < blockCount; i++)
+            blockStart[i] += delta;
+   }
+
+   /** @return element with specified index
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1 */
+   public Object get(int index)
+   {
+      checkIndex(index);
+      locate(index);
+      return foundBlock.element[foundOffset];
+   }
+
+   /** @return index of first occurrence of theElement,
+     * return -1 if theElement not in list */
+   public int indexOf(Object theElement)
+   {
+      int start = 0;  // index of first element in currentBlock
+      for (Block currentBlock = firstBlock; currentBlock != null;
+           currentBlock = currentBlock.next)
+      {
+         for (int i = 0; i < currentBlock.size; i++)
+            if (currentBlock.element[i].equals(theElement))
+               return start + i;
+         start += currentBlock.size;
+      }
+
+      // theElement not found
+      return -1;
+   }
+
+   /** Remove the element with specified index.
+     * All elements with higher index have their
+     * index reduced by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size - 1
+     * @return removed element */
+   public Object remove(int index)
+   {
+      checkIndex(index);
+      locate(index);
+      Block theBlock = foundBlock;
+      int offset = foundOffset;
+
+      // shift elements with higher offset left one position
+      Object removedElement = theBlock.element[offset];
+      System.arraycopy(theBlock.element, offset + 1, theBlock.element,
+                       offset, theBlock.size - offset - 1);
+      theBlock.element[--theBlock.size] = null;  // enable garbage collection
+      size--;
+
+      if (theBlock.size == 0)
+         unlink(theBlock);
+      else if (theBlock.size < blockCapacity / 2)
+         rebalance(theBlock);
+      else
+         blockSizeChanged(theBlock, -1);
+
+      return removedElement;
+   }
+
+   /** Insert an element with specified index.
+     * All elements with equal or higher index
+     * have their index increased by 1.
+     * @throws IndexOutOfBoundsException when
+     * index is not between 0 and size */
+   public void add(int index, Object theElement)
+   {
+      if (index < 0 || index > size)
+         // invalid list position
+         throw new IndexOutOfBoundsException
+               ("index = " + index + "  size = " + size);
+
+      if (index == size)
+      {// insert at right end
+         add(theElement);
+         return;
+      }
+
+      locate(index);
+      Block theBlock = foundBlock;
+      int offset = foundOffset;
+
+      if (theBlock.size == blockCapacity)
+      {// no space, split theBlock
+         Block right = split(theBlock);
+         if (offset > theBlock.size)
+         {// insert into right half
+            offset -= theBlock.size;
+            theBlock = right;
+         }
+      }
+
+      // shift elements right one position
+      System.arraycopy(theBlock.element, offset, theBlock.element,
+                       offset + 1, theBlock.size - offset);
+      theBlock.element[offset] = theElement;
+      theBlock.size++;
+      size++;
+      blockSizeChanged(theBlock, 1);
+   }
+
+   /** Add theElement to the right end of the list. */
+   public void add(Object theElement)
+   {
+      if (lastBlock == null || lastBlock.size == blockCapacity)
+      {// start a new block, appended blocks are kept full
+         boolean extendIndex = indexValid && blockCount < blockIndex.length;
+         linkAfter(lastBlock, new Block(blockCapacity));
+         if (extendIndex)
+         {// add the new block to the index rather than rebuild it
+            lastBlock.number = blockCount;
+            blockIndex[blockCount] = lastBlock;
+            blockStart[blockCount++] = size;
+            indexValid = true;
+         }
+      }
+
+      lastBlock.element[lastBlock.size++] = theElement;
+      size++;
+      blockSizeChanged(lastBlock, 1);
+   }
+
+   /** Make the list empty. */
+   public void clear()
+   {
+      firstBlock = lastBlock = null;
+      size = 0;
+      indexValid = false;
+   }
+
+   /** move the upper half of the full block theBlock into a
+     * new block that follows it
+     * @return the new block */
+   Block split(Block theBlock)
+   {
+      Block right = new Block(blockCapacity);
+      int half = theBlock.size / 2;
+      right.size = theBlock.size - half;
+      System.arraycopy(theBlock.element, half, right.element, 0, right.size);
+      Arrays.fill(theBlock.element, half, theBlock.size, null);
+      theBlock.size = half;
+      linkAfter(theBlock, right);
+      return right;
+   }
+
+   /** theBlock is less than half full, merge it with a neighbor
+     * or move elements from a neighbor into it */
+   void rebalance(Block theBlock)
+   {
+      Block left, right;  // the pair of blocks to balance
+      if (theBlock.next != null)
+      {
+         left = theBlock;
+         right = theBlock.next;
+      }
+      else if (theBlock.previous != null)
+      {
+         left = theBlock.previous;
+         right = theBlock;
+      }
+      else
+      {// only block, nothing to balance with
+         blockSizeChanged(theBlock, -1);
+         return;
+      }
+
+      if (left.size + right.size <= blockCapacity)
+      {// merge right into left
+         System.arraycopy(right.element, 0, left.element, left.size,
+                          right.size);
+         left.size += right.size;
+         unlink(right);
+         return;
+      }
+
+      // split the elements of left and right evenly
+      int total = left.size + right.size;
+      int newLeftSize = total / 2;
+      if (left.size < newLeftSize)
+      {// move the first elements of right to the end of left
+         int count = newLeftSize - left.size;
+         System.arraycopy(right.element, 0, left.element, left.size, count);
+         System.arraycopy(right.element, count, right.element, 0,
+                          right.size - count);
+         Arrays.fill(right.element, right.size - count, right.size, null);
+      }
+      else
+      {// move the last elements of left to the front of right
+         int count = left.size - newLeftSize;
+         System.arraycopy(right.element, 0, right.element, count, right.size);
+         System.arraycopy(left.element, newLeftSize, right.element, 0, count);
+         Arrays.fill(left.element, newLeftSize, left.size, null);
+      }
+      left.size = newLeftSize;
+      right.size = total - newLeftSize;
+      indexValid = false;
+   }
+
+   /** insert newBlock after theBlock, a null theBlock
+     * means insert at left end */
+   void linkAfter(Block theBlock, Block newBlock)
+   {
+      newBlock.previous = theBlock;
+      if (theBlock == null)
+      {
+         newBlock.next = firstBlock;
+         firstBlock = newBlock;
+      }
+      else
+      {
+         newBlock.next = theBlock.next;
+         theBlock.next = newBlock;
+      }
+      if (newBlock.next == null)
+         lastBlock = newBlock;
+      else
+         newBlock.next.previous = newBlock;
+      indexValid = false;
+   }
+
+   /** remove theBlock from the block list */
+   void unlink(Block theBlock)
+   {
+      if (theBlock.previous == null)
+         firstBlock = theBlock.next;
+      else
+         theBlock.previous.next = theBlock.next;
+      if (theBlock.next == null)
+         lastBlock = theBlock.previous;
+      else
+         theBlock.next.previous = theBlock.previous;
+      indexValid = false;
+   }
+
+   /** convert to a string */
+   public String toString()
+   {
+      StringBuffer s = new StringBuffer("[");
+
+      // put elements into the buffer
+      for (Block currentBlock = firstBlock; currentBlock != null;
+           currentBlock = currentBlock.next)
+         for (int i = 0; i < currentBlock.size; i++)
+            if (currentBlock.element[i] == null)
+               s.append("null, ");
+            else
+               s.append(currentBlock.element[i].toString() + ", ");
+
+      if (size > 0)
+         s.delete(s.length() - 2, s.length());  // remove last ", "
+      s.append("]");
+
+      // create equivalent String
+      return new String(s);
+   }
+
+   /** create and return an iterator */
+   public Iterator iterator()
+      {return new UnrolledIterator();}
+
+   /** unrolled linked list iterator */
+   private class UnrolledIterator implements Iterator
+   {
+      // data members
+      private Block nextBlock;  // block with next element
+      private int nextOffset;   // offset of next element in nextBlock
+
+      // constructor
+      public UnrolledIterator()
+         {nextBlock = firstBlock;}
+
+      // methods
+      /** @return true iff list has a next element */
+      public boolean hasNext()
+         {return nextBlock != null;}
+
+      /** @return next element in list
+        * @throws NoSuchElementException
+        * when there is no next element */
+      public Object next()
+      {
+         if (nextBlock == null)
+            throw new NoSuchElementException("No next element");
+
+         Object elementToReturn = nextBlock.element[nextOffset++];
+         if (nextOffset == nextBlock.size)
+         {// move to next block
+            nextBlock = nextBlock.next;
+            nextOffset = 0;
+         }
+         return elementToReturn;
+      }
+
+      /** unsupported method */
+      public void remove()
+      {
+         throw new UnsupportedOperationException
+               ("remove not supported");
+      }
+   }
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      // test constructor
+      UnrolledLinkedList x = new UnrolledLinkedList(4);
+
+      // test size
+      System.out.println("Initial size is " + x.size());
+
+      // test isEmpty
+      if (x.isEmpty())
+         System.out.println("The list is empty");
+      else System.out.println("The list is not empty");
+
+      // test add
+      x.add(0, new Integer(2));
+      x.add(1, new Integer(6));
+      x.add(0, new Integer(1));
+      x.add(2, new Integer(4));
+      for (int i = 7; i <= 10; i++)
+         x.add(new Integer(i));
+      x.add(4, new Integer(5));  // splits a full block
+      x.add(2, new Integer(3));
+      System.out.println("List size is " + x.size());
+
+      // test toString
+      System.out.println("The list is " + x);
+
+      // test indexOf
+      int index = x.indexOf(new Integer(4));
+      if (index < 0)
+         System.out.println("4 not found");
+      else System.out.println("The index of 4 is " + index);
+
+      index = x.indexOf(new Integer(11));
+      if (index < 0)
+         System.out.println("11 not found");
+      else System.out.println("The index of 11 is " + index);
+
+      // test get
+      System.out.println("Element at 0 is " + x.get(0));
+      System.out.println("Element at 6 is " + x.get(6));
+
+      // test remove
+      System.out.println(x.remove(1) + " removed");
+      System.out.println(x.remove(6) + " removed");
+      System.out.println(x.remove(0) + " removed");
+      System.out.println("The list is " + x);
+
+      // output using an iterator
+      Iterator y = x.iterator();
+      System.out.print("The list is ");
+      while (y.hasNext())
+         System.out.print(y.next() + " ");
+      System.out.println();
+
+      // test the block index
+      UnrolledLinkedList z = new UnrolledLinkedList(4, true);
+      for (int i = 0; i < 20; i++)
+         z.add(i / 2, new Integer(i));
+      System.out.println("Indexed list is " + z);
+      System.out.println("Element at 13 is " + z.get(13));
+   }
+}
@@ -0,0 +1,239 @@
+
+
+/** Chase-Lev work-stealing deque.
+  * One thread, the owner, puts and removes at the right end
+  * without locking; any other thread may steal from the left
+  * end, thieves compete with a compare-and-set on the left
+  * counter and with the owner only for the last element.
+  * The array length is a power of 2 and the owner doubles it
+  * when it is full. */
+
+package dataStructures;
+
+import java.util.concurrent.atomic.*;
+
+public class WorkStealingDeque implements Deque
+{
+   // data members
+   private volatile AtomicReferenceArray deque;  // element array
+   private final PaddedSequence top = new PaddedSequence();
+                      // index of leftmost element, changed by steals
+                      // and by the owner's removal of the last element
+   private final PaddedSequence bottom = new PaddedSequence();
+                      // one more than index of rightmost element,
+                      // changed only by the owner
+                      // element with index i is in deque[i & mask]
+
+   // constructors
+   /** create a deque with initial capacity at least initialCapacity
+     * @throws IllegalArgumentException when initialCapacity < 1
+     * or initialCapacity > 2^30 */
+   public WorkStealingDeque(int initialCapacity)
+   {
+      if (initialCapacity < 1 || initialCapacity > 1 << 30)
+         throw new IllegalArgumentException
+               ("initialCapacity must be between 1 and 2^30");
+      int length = 2;
+      while (length < initialCapacity)
+         length <<= 1;
+      deque = new AtomicReferenceArray(length);
+   }
+
+   /** create a deque with initial capacity 32 */
+   public WorkStealingDeque()
+      {this(32);}
+
+   // methods
+   /** @return true iff deque is empty, a snapshot
+     * when other threads use the deque */
+   public boolean isEmpty()
+      {return top.get() >= bottom.get();}
+
+   /** @return number of elements in deque, a snapshot
+     * when other threads use the deque */
+   public int size()
+   {
+      long t = top.get();
+      return (int) Math.max(0, bottom.get() - t);
+   }
+
+   /** @return leftmost element of deque, another thread
+     * may steal it at any time
+     * @return null if deque is empty */
+   public Object getLeftElement()
+   {
+      long t = top.get();
+      if (t >= bottom.get())
+         return null;
+      AtomicReferenceArray a = deque;
+      return a.get((int) t & (a.length() - 1));
+   }
+
+   /** to be called by the owner
+     * @return rightmost element of deque
+     * @return null if the deque is empty */
+   public Object getRightElement()
+   {
+      long b = bottom.get();
+      if (top.get() >= b)
+         return null;
+      AtomicReferenceArray a = deque;
+      return a.get((int) (b - 1) & (a.length() - 1));
+   }
+
+   /** unsupported method, only thieves use the left end */
+   public void putAtLeft(Object theElement)
+   {
+      throw new UnsupportedOperationException
+            ("putAtLeft not supported");
+   }
+
+   /** insert theElement at the right end of the deque,
+     * to be called by the owner
+     * @throws IllegalArgumentException when theElement is null */
+   public void putAtRight(Object theElement)
+   {
+      if (theElement == null)
+         throw new IllegalArgumentException("null elements not allowed");
+
+      long b = bottom.get();
+      long t = top.get();
+      AtomicReferenceArray a = deque;
+      if (b - t >= a.length() - 1)
+         // array is full, double its length
+         a = grow(a, t, b);
+      a.lazySet((int) b & (a.length() - 1), theElement);
+      bottom.lazySet(b + 1);   // publish theElement to thieves
+   }
+
+   /** copy the elements with index t through b - 1 into an array
+     * of twice the length and make it the element array; thieves
+     * that still use the old array find the same elements there
+     * @return new array */
+   private AtomicReferenceArray grow(AtomicReferenceArray a, long t, long b)
+   {
+      int oldMask = a.length() - 1;
+      AtomicReferenceArray newDeque = new AtomicReferenceArray(2 * a.length());
+      int newMask = newDeque.length() - 1;
+      for (long i = t; i < b; i++)
+         newDeque.lazySet((int) i & newMask, a.get((int) i & oldMask));
+      deque = newDeque;
+      return newDeque;
+   }
+
+   /** remove an element from the right end of the deque,
+     * to be called by the owner
+     * @return removed element
+     * @return null if the deque is empty */
+   public Object removeFromRight()
+   {
+      long b = bottom.get() - 1;
+      AtomicReferenceArray a = deque;
+      bottom.set(b);   // announce the removal before looking at top
+      long t = top.get();
+      if (t > b)
+      {// deque was empty
+         bottom.set(t);
+         return null;
+      }
+
+      int i = (int) b & (a.length() - 1);
+      Object rightElement = a.get(i);
+      if (t < b)
+      {// more than one element, no thief can reach index b
+         a.lazySet(i, null);   // enable garbage collection
+         return rightElement;
+      }
+
+      // last element, compete with thieves for it
+      if (top.compareAndSet(t, t + 1))
+         a.lazySet(i, null);
+      else
+         rightElement = null;   // a thief took it
+      bottom.set(t + 1);
+      return rightElement;
+   }
+
+   /** steal the leftmost element, may be called by any thread;
+     * a lost race with another thief is retried while the deque
+     * is not empty
+     * @return stolen element
+     * @return null if the deque is empty */
+   public Object steal()
+   {
+      while (true)
+      {
+         long t = top.get();
+         long b = bottom.get();
+         if (t >= b)
+            return null;
+         AtomicReferenceArray a = deque;
+         Object leftElement = a.get((int) t & (a.length() - 1));
+         if (top.compareAndSet(t, t + 1))
+            return leftElement;
+      }
+   }
+
+   /** same as steal */
+   public Object removeFromLeft()
+      {return steal();}
+
+   /** test program */
+   public static void main(String [] args) throws InterruptedException
+   {
+      final WorkStealingDeque d = new WorkStealingDeque(2);
+
+      // owner operations
+      for (int i = 1; i <= 5; i++)
+         d.putAtRight(new Integer(i));
+      System.out.println("Size is " + d.size());
+      System.out.println("Left element is " + d.getLeftElement());
+      System.out.println("Right element is " + d.getRightElement());
+      System.out.println("Removed from right " + d.removeFromRight());
+      System.out.println("Stole " + d.steal());
+      System.out.println("Stole " + d.removeFromLeft());
+      System.out.println("Removed from right " + d.removeFromRight());
+      System.out.println("Removed from right " + d.removeFromRight());
+      System.out.println("Removed from empty deque " + d.removeFromRight());
+      System.out.println("Stole from empty deque " + d.steal());
+
+      // the owner puts and removes while three thieves steal
+      final int n = 100000;
+      final AtomicLong sum = new AtomicLong();
+      final AtomicBoolean done = new AtomicBoolean();
+      Thread [] thief = new Thread [3];
+      for (int k = 0; k < thief.length; k++)
+      {
+         thief[k] = new Thread()
+         {
+            public void run()
+            {
+               while (!done.get() || !d.isEmpty())
+               {
+                  Object x = d.steal();
+                  if (x == null)
+                     Thread.yield();
+                  else
+                     sum.addAndGet(((Integer) x).intValue());
+               }
+            }
+         };
+         thief[k].start();
+      }
+      for (int i = 1; i <= n; i++)
+      {
+         d.putAtRight(new Integer(i));
+         if (i % 3 == 0)
+         {
+            Object x = d.removeFromRight();
+            if (x != null)
+               sum.addAndGet(((Integer) x).intValue());
+         }
+      }
+      done.set(true);
+      for (int k = 0; k < thief.length; k++)
+         thief[k].join();
+      System.out.println("Sum of removed and stolen elements is " +
+                         sum.get());
+   }
+}
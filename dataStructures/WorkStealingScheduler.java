@@ -0,0 +1,203 @@
+
+
+/** runs a tree of Runnable tasks on a fixed number of worker
+  * threads; each worker has a WorkStealingDeque, puts the tasks
+  * it spawns at the right end of its own deque and removes from
+  * there (depth first, like the sequential recursion), and when
+  * its deque is empty steals the oldest task of another worker,
+  * which is usually the root of a large subtree */
+
+package dataStructures;
+
+import java.util.concurrent.atomic.*;
+
+public class WorkStealingScheduler
+{
+   // data members
+   private final int numberOfWorkers;
+   private Worker [] worker;
+   private final AtomicLong pending = new AtomicLong();
+                                  // tasks spawned but not finished
+   private final AtomicLong steals = new AtomicLong();
+   private volatile Throwable failure;  // first exception or error
+                                        // thrown by a task
+
+   /** worker thread and its deque */
+   private class Worker extends Thread
+   {
+      // data members
+      final WorkStealingDeque deque = new WorkStealingDeque();
+      final int number;          // index in worker[]
+      private int nextVictim;    // worker to try to steal from next
+
+      // constructor
+      Worker(int theNumber)
+      {
+         number = theNumber;
+         nextVictim = theNumber + 1;
+         setDaemon(true);
+      }
+
+      /** @return a task stolen from another worker,
+        * null if all other deques are empty */
+      private Object stealTask()
+      {
+         for (int k = 0; k < numberOfWorkers; k++)
+         {
+            if (nextVictim >= numberOfWorkers)
+               nextVictim = 0;
+            if (nextVictim != number)
+            {
+               Object task = worker[nextVictim].deque.steal();
+               if (task != null)
+               {
+                  steals.incrementAndGet();
+                  return task;
+               }
+            }
+            nextVictim++;
+         }
+         return null;
+      }
+
+      public void run()
+      {
+         while (pending.get() > 0)
+         {
+            Object task = deque.removeFromRight();
+            if (task == null)
+               task = stealTask();
+            if (task == null)
+            {// nothing to do right now
+               Thread.yield();
+               continue;
+            }
+
+            try
+            {
+               ((Runnable) task).run();
+            }
+            catch (Throwable e)
+            {// an error must not end the worker, invoke throws it
+               if (failure == null)
+                  failure = e;
+            }
+            finally
+            {
+               pending.decrementAndGet();
+            }
+         }
+      }
+   }
+
+   // constructor
+   /** create a scheduler with numberOfWorkers worker threads
+     * @throws IllegalArgumentException when numberOfWorkers < 1 */
+   public WorkStealingScheduler(int numberOfWorkers)
+   {
+      if (numberOfWorkers < 1)
+         throw new IllegalArgumentException
+               ("numberOfWorkers must be >= 1");
+      this.numberOfWorkers = numberOfWorkers;
+   }
+
+   // methods
+   /** @return number of worker threads */
+   public int numberOfWorkers()
+      {return numberOfWorkers;}
+
+   /** @return number of tasks stolen during the last invoke */
+   public long steals()
+      {return steals.get();}
+
+   /** spawn task, to be called by a task run by this scheduler;
+     * task is run later by this worker or by a thief
+     * @throws IllegalStateException when not called by a task
+     * of this scheduler */
+   public void spawn(Runnable task)
+   {
+      Thread current = Thread.currentThread();
+      if (!(current instanceof Worker) || worker == null
+          || worker[((Worker) current).number] != current)
+         throw new IllegalStateException
+               ("spawn must be called by a task of this scheduler");
+      pending.incrementAndGet();
+      ((Worker) current).deque.putAtRight(task);
+   }
+
+   /** run root and all the tasks it spawns, directly or
+     * indirectly, and return when all have finished
+     * @throws RuntimeException the first exception thrown by a task
+     * @throws Error the first error thrown by a task
+     * @throws InterruptedException when interrupted while waiting */
+   public void invoke(Runnable root) throws InterruptedException
+   {
+      worker = new Worker [numberOfWorkers];
+      for (int k = 0; k < numberOfWorkers; k++)
+         worker[k] = new Worker(k);
+      steals.set(0);
+      failure = null;
+
+      // root goes to worker 0 before any worker starts
+      pending.set(1);
+      worker[0].deque.putAtRight(root);
+
+      for (int k = 0; k < numberOfWorkers; k++)
+         worker[k].start();
+      for (int k = 0; k < numberOfWorkers; k++)
+         worker[k].join();
+      worker = null;
+
+      if (failure instanceof RuntimeException)
+         throw (RuntimeException) failure;
+      if (failure instanceof Error)
+         throw (Error) failure;
+      if (failure != null)
+         // a checked exception thrown around the compiler
+         throw new RuntimeException(failure);
+   }
+
+   /** test program */
+   public static void main(String [] args) throws InterruptedException
+   {
+      // count the nodes of a complete binary tree of height 16
+      // by spawning a task per node
+      final WorkStealingScheduler s = new WorkStealingScheduler(4);
+      final AtomicLong nodes = new AtomicLong();
+      class CountTask implements Runnable
+      {
+         final int height;
+
+         CountTask(int theHeight)
+            {height = theHeight;}
+
+         public void run()
+         {
+            nodes.incrementAndGet();
+            if (height > 1)
+            {
+               s.spawn(new CountTask(height - 1));
+               s.spawn(new CountTask(height - 1));
+            }
+         }
+      }
+      s.invoke(new CountTask(16));
+      System.out.println("A complete binary tree of height 16 has " +
+                         nodes.get() + " nodes");
+
+      // an error thrown by a task is thrown by invoke
+      try
+      {
+         s.invoke(new Runnable()
+         {
+            public void run()
+               {throw new AssertionError("task failed");}
+         });
+         System.out.println("invoke returned normally");
+      }
+      catch (AssertionError e)
+      {
+         System.out.println("invoke threw " + e);
+      }
+   }
+}
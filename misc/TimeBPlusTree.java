@@ -0,0 +1,131 @@
+/** time of n puts in random order, n gets, and range scans of
+  * 100 keys on TwoThreeTree, AVLtree, SkipList, BPlusTree and
+  * LongBPlusTree; n is 10^6 by default and may be given as the
+  * first argument, the second argument is the B+ tree order.
+  * TwoThreeTree and AVLtree have no range iterator, so their scan
+  * time is not reported. Run with a large heap for large n, e.g.
+  * java -Xmx5g misc.TimeBPlusTree 10000000 */
+
+package misc;
+
+import java.util.Random;
+import dataStructures.*;
+
+public class TimeBPlusTree
+{
+   static int n = 1000000;
+   static int order = 64;
+   static final int scans = 100000;
+   static Integer [] key;      // key[i] is i, shared by all structures
+   static int [] putOrder;     // random permutation of 0 to n - 1
+   static int [] getOrder;     // random keys for gets and scans
+
+   static void report(String name, long putTime, long getTime,
+                      long scanTime)
+   {
+      System.out.println(String.format("%-14s", name)
+                         + String.format("%9d", putTime)
+                         + String.format("%9d", getTime)
+                         + ((scanTime < 0) ? "        -"
+                                           : String.format("%9d", scanTime)));
+   }
+
+   /** time puts and gets on d */
+   static void time(String name, Dictionary d)
+   {
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+         d.put(key[putOrder[i]], key[putOrder[i]]);
+      long putTime = System.currentTimeMillis() - startTime;
+
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+         if (d.get(key[getOrder[i]]) == null)
+            throw new IllegalStateException("missing key");
+      long getTime = System.currentTimeMillis() - startTime;
+
+      long scanTime = -1;
+      if (d instanceof SkipList || d instanceof BPlusTree)
+      {
+         startTime = System.currentTimeMillis();
+         long count = 0;
+         for (int i = 0; i < scans; i++)
+         {
+            int k = getOrder[i] % (n - 100);
+            java.util.Iterator j = (d instanceof SkipList)
+                ? ((SkipList) d).iterator(key[k], key[k + 100])
+                : ((BPlusTree) d).iterator(key[k], key[k + 100]);
+            for (; j.hasNext(); j.next())
+               count++;
+         }
+         scanTime = System.currentTimeMillis() - startTime;
+         if (count != 100L * scans)
+            throw new IllegalStateException("range scan is wrong");
+      }
+      report(name, putTime, getTime, scanTime);
+   }
+
+   /** time puts, gets and scans on t */
+   static void time(LongBPlusTree t)
+   {
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+         t.put(putOrder[i], key[putOrder[i]]);
+      long putTime = System.currentTimeMillis() - startTime;
+
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+         if (t.get(getOrder[i]) == null)
+            throw new IllegalStateException("missing key");
+      long getTime = System.currentTimeMillis() - startTime;
+
+      startTime = System.currentTimeMillis();
+      long count = 0;
+      for (int i = 0; i < scans; i++)
+      {
+         int k = getOrder[i] % (n - 100);
+         for (LongBPlusTree.Cursor c = t.cursor(k, k + 100); c.next(); )
+            count++;
+      }
+      long scanTime = System.currentTimeMillis() - startTime;
+      if (count != 100L * scans)
+         throw new IllegalStateException("range scan is wrong");
+      report("LongBPlusTree", putTime, getTime, scanTime);
+   }
+
+   public static void main(String [] args)
+   {
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+      if (args.length > 1)
+         order = Integer.parseInt(args[1]);
+
+      key = new Integer [n];
+      putOrder = new int [n];
+      getOrder = new int [n];
+      Random r = new Random(1);
+      for (int i = 0; i < n; i++)
+      {
+         key[i] = new Integer(i);
+         putOrder[i] = i;
+         getOrder[i] = r.nextInt(n);
+      }
+      for (int i = n - 1; i > 0; i--)
+      {// shuffle putOrder
+         int j = r.nextInt(i + 1);
+         int t = putOrder[i];
+         putOrder[i] = putOrder[j];
+         putOrder[j] = t;
+      }
+
+      System.out.println(n + " keys, B+ tree order " + order
+                         + ", times in ms");
+      System.out.println("structure          put      get     scan");
+      time("TwoThreeTree", new TwoThreeTree());
+      time("AVLtree", new AVLtree());
+      time("SkipList", new SkipList(new Integer(Integer.MAX_VALUE),
+                                    n, 0.5F));
+      time("BPlusTree", new BPlusTree(order));
+      time(new LongBPlusTree(order));
+   }
+}
@@ -0,0 +1,97 @@
+
+
+/** throughput of ConcurrentHashChains and of a HashChains guarded
+  * by synchronized blocks with 1 to 32 threads; each thread makes
+  * random gets and puts on 2^18 Integer keys, 90% gets */
+
+package misc;
+
+import java.util.Random;
+import dataStructures.*;
+
+public class TimeConcurrentHashChains
+{
+   static final int keys = 1 << 18;
+   static final int operations = 4000000;   // total for all threads
+   static Integer [] key;
+
+   /** a HashChains whose methods hold its lock */
+   static Dictionary locked(final HashChains h)
+   {
+      return new Dictionary()
+      {
+         public Object get(Object k)
+            {synchronized (h) {return h.get(k);}}
+         public Object put(Object k, Object x)
+            {synchronized (h) {return h.put(k, x);}}
+         public Object remove(Object k)
+            {synchronized (h) {return h.remove(k);}}
+      };
+   }
+
+   /** @return operations per ms made by numberOfThreads
+     * threads on d */
+   static long time(final Dictionary d, int numberOfThreads)
+         throws InterruptedException
+   {
+      final int n = operations / numberOfThreads;  // per thread
+      Thread [] thread = new Thread [numberOfThreads];
+      for (int k = 0; k < numberOfThreads; k++)
+      {
+         final long seed = k;
+         thread[k] = new Thread()
+         {
+            public void run()
+            {
+               Random r = new Random(seed);
+               for (int i = 0; i < n; i++)
+               {
+                  Integer x = key[r.nextInt(keys)];
+                  if (r.nextInt(10) == 0)
+                     d.put(x, x);
+                  else
+                     d.get(x);
+               }
+            }
+         };
+      }
+
+      long startTime = System.currentTimeMillis();
+      for (int k = 0; k < numberOfThreads; k++)
+         thread[k].start();
+      for (int k = 0; k < numberOfThreads; k++)
+         thread[k].join();
+      long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+      return (long) n * numberOfThreads / elapsedTime;
+   }
+
+   public static void main(String [] args) throws InterruptedException
+   {
+      key = new Integer [keys];
+      for (int i = 0; i < keys; i++)
+         key[i] = new Integer(i * 7919);
+
+      // fill both tables with half the keys
+      ConcurrentHashChains concurrent = new ConcurrentHashChains(16, 64);
+      HashChains chains = new HashChains(keys);
+      for (int i = 0; i < keys; i += 2)
+      {
+         concurrent.put(key[i], key[i]);
+         chains.put(key[i], key[i]);
+      }
+      Dictionary synchronizedChains = locked(chains);
+
+      // warm up
+      time(concurrent, 2);
+      time(synchronizedChains, 2);
+
+      System.out.println(Runtime.getRuntime().availableProcessors()
+                         + " processors, operations per ms:");
+      System.out.println("threads  ConcurrentHashChains  "
+                         + "synchronized HashChains");
+      for (int t = 1; t <= 32; t *= 2)
+         System.out.println(String.format("%7d", t) + "  "
+               + String.format("%20d", time(concurrent, t)) + "  "
+               + String.format("%23d", time(synchronizedChains, t)));
+   }
+}
@@ -0,0 +1,181 @@
+
+/** time handing elements between threads through SpscArrayQueue,
+  * MpmcArrayQueue, ArrayBlockingQueue and an ArrayQueue guarded
+  * by synchronized blocks */
+
+package misc;
+
+import dataStructures.*;
+
+public class TimeConcurrentQueue
+{
+   /** the queue operations a timing run uses */
+   static abstract class Channel
+   {
+      abstract boolean offer(Object theElement);
+      abstract Object remove();
+   }
+
+   static Channel spsc(final SpscArrayQueue q)
+   {
+      return new Channel()
+      {
+         boolean offer(Object x) {return q.offer(x);}
+         Object remove() {return q.remove();}
+      };
+   }
+
+   static Channel mpmc(final MpmcArrayQueue q)
+   {
+      return new Channel()
+      {
+         boolean offer(Object x) {return q.offer(x);}
+         Object remove() {return q.remove();}
+      };
+   }
+
+   static Channel blocking(final ArrayBlockingQueue q)
+   {
+      return new Channel()
+      {
+         boolean offer(Object x) {return q.offer(x);}
+         Object remove() {return q.remove();}
+      };
+   }
+
+   static Channel locked(final ArrayQueue q)
+   {
+      return new Channel()
+      {
+         boolean offer(Object x)
+         {
+            synchronized (q) {q.put(x);}
+            return true;
+         }
+         Object remove()
+            {synchronized (q) {return q.remove();}}
+      };
+   }
+
+   /** pass n elements from each of producers threads to
+     * consumers threads through c and report the throughput */
+   static void time(String name, final Channel c, int producers,
+                    int consumers, final int n) throws InterruptedException
+   {
+      final Integer x = new Integer(2);
+      final int total = producers * n;
+      final int [] removed = new int [consumers];
+      Thread [] thread = new Thread [producers + consumers];
+      for (int k = 0; k < producers; k++)
+         thread[k] = new Thread()
+         {
+            public void run()
+            {
+               for (int i = 0; i < n; i++)
+                  while (!c.offer(x))
+                     Thread.yield();
+            }
+         };
+      for (int k = 0; k < consumers; k++)
+      {
+         final int me = k;
+         final int share = total / consumers
+                           + ((k < total % consumers) ? 1 : 0);
+         thread[producers + k] = new Thread()
+         {
+            public void run()
+            {
+               int count = 0;
+               while (count < share)
+                  if (c.remove() == null)
+                     Thread.yield();
+                  else
+                     count++;
+               removed[me] = count;
+            }
+         };
+      }
+
+      long startTime = System.currentTimeMillis();
+      for (int k = 0; k < thread.length; k++)
+         thread[k].start();
+      for (int k = 0; k < thread.length; k++)
+         thread[k].join();
+      long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+
+      System.out.println(name + ", " + producers + " producers and " +
+                         consumers + " consumers: " + total +
+                         " elements took " + elapsedTime + " ms, " +
+                         (total / elapsedTime) + " elements per ms");
+   }
+
+   /** pass n elements from one thread to another with
+     * fill and drainTo in batches of batchSize */
+   static void timeBatches(int n, final int batchSize)
+          throws InterruptedException
+   {
+      final SpscArrayQueue q = new SpscArrayQueue(1024);
+      final int total = n;
+      Thread producer = new Thread()
+      {
+         public void run()
+         {
+            Object [] batch = new Object [batchSize];
+            java.util.Arrays.fill(batch, new Integer(2));
+            for (int put = 0; put < total; )
+            {
+               if (total - put < batchSize)
+                  // last batch is short
+                  batch = java.util.Arrays.copyOf(batch, total - put);
+               int count = q.fill(batch);
+               if (count == 0)
+                  Thread.yield();
+               put += count;
+            }
+         }
+      };
+
+      long startTime = System.currentTimeMillis();
+      producer.start();
+      Object [] target = new Object [batchSize];
+      for (int removed = 0; removed < total; )
+      {
+         int count = q.drainTo(target);
+         if (count == 0)
+            Thread.yield();
+         removed += count;
+      }
+      producer.join();
+      long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+
+      System.out.println("SpscArrayQueue, fill and drainTo in batches of " +
+                         batchSize + ": " + total + " elements took " +
+                         elapsedTime + " ms, " + (total / elapsedTime) +
+                         " elements per ms");
+   }
+
+   public static void main(String [] args) throws InterruptedException
+   {
+      int n = 2000000;  // elements per producer
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+
+      for (int round = 0; round < 2; round++)
+      {// first round warms up the virtual machine
+         System.out.println((round == 0) ? "Warm up" : "Measured");
+         time("synchronized ArrayQueue", locked(new ArrayQueue(1024)),
+              1, 1, n);
+         time("SpscArrayQueue", spsc(new SpscArrayQueue(1024)), 1, 1, n);
+         time("MpmcArrayQueue", mpmc(new MpmcArrayQueue(1024)), 1, 1, n);
+         time("ArrayBlockingQueue", blocking(new ArrayBlockingQueue(1024)),
+              1, 1, n);
+         timeBatches(n, 64);
+         time("synchronized ArrayQueue", locked(new ArrayQueue(1024)),
+              4, 4, n / 4);
+         time("MpmcArrayQueue", mpmc(new MpmcArrayQueue(1024)), 4, 4, n / 4);
+         time("ArrayBlockingQueue", blocking(new ArrayBlockingQueue(1024)),
+              4, 4, n / 4);
+         System.out.println();
+      }
+   }
+}
@@ -0,0 +1,108 @@
+/** throughput of ConcurrentSkipList and of a SkipList guarded
+  * by synchronized blocks with 1 to 32 threads; each thread makes
+  * random gets, puts and removes on 2^18 Integer keys, with 90%,
+  * 50% and 10% gets; puts and removes are equally likely, so the
+  * lists stay about half full */
+
+package misc;
+
+import java.util.Random;
+import dataStructures.*;
+
+public class TimeConcurrentSkipList
+{
+   static final int keys = 1 << 18;
+   static final int operations = 2000000;   // total for all threads
+   static Integer [] key;
+
+   /** a SkipList whose methods hold its lock */
+   static Dictionary locked(final SkipList s)
+   {
+      return new Dictionary()
+      {
+         public Object get(Object k)
+            {synchronized (s) {return s.get(k);}}
+         public Object put(Object k, Object x)
+            {synchronized (s) {return s.put(k, x);}}
+         public Object remove(Object k)
+            {synchronized (s) {return s.remove(k);}}
+      };
+   }
+
+   /** @return operations per ms made by numberOfThreads
+     * threads on d, getPercent percent of them gets */
+   static long time(final Dictionary d, int numberOfThreads,
+                    final int getPercent)
+         throws InterruptedException
+   {
+      final int n = operations / numberOfThreads;  // per thread
+      Thread [] thread = new Thread [numberOfThreads];
+      for (int k = 0; k < numberOfThreads; k++)
+      {
+         final long seed = k;
+         thread[k] = new Thread()
+         {
+            public void run()
+            {
+               Random r = new Random(seed);
+               for (int i = 0; i < n; i++)
+               {
+                  Integer x = key[r.nextInt(keys)];
+                  int op = r.nextInt(100);
+                  if (op < getPercent)
+                     d.get(x);
+                  else if ((op & 1) == 0)
+                     d.put(x, x);
+                  else
+                     d.remove(x);
+               }
+            }
+         };
+      }
+
+      long startTime = System.currentTimeMillis();
+      for (int k = 0; k < numberOfThreads; k++)
+         thread[k].start();
+      for (int k = 0; k < numberOfThreads; k++)
+         thread[k].join();
+      long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+      return (long) n * numberOfThreads / elapsedTime;
+   }
+
+   public static void main(String [] args) throws InterruptedException
+   {
+      key = new Integer [keys];
+      for (int i = 0; i < keys; i++)
+         key[i] = new Integer(i * 7919);
+
+      // fill both lists with half the keys
+      ConcurrentSkipList concurrent = new ConcurrentSkipList(keys);
+      SkipList list = new SkipList(new Integer(Integer.MAX_VALUE),
+                                   keys, 0.5F);
+      for (int i = 0; i < keys; i += 2)
+      {
+         concurrent.put(key[i], key[i]);
+         list.put(key[i], key[i]);
+      }
+      Dictionary synchronizedList = locked(list);
+
+      // warm up
+      time(concurrent, 2, 50);
+      time(synchronizedList, 2, 50);
+
+      System.out.println(Runtime.getRuntime().availableProcessors()
+                         + " processors, operations per ms:");
+      int [] getPercent = {90, 50, 10};
+      for (int g = 0; g < getPercent.length; g++)
+      {
+         System.out.println(getPercent[g] + "% gets");
+         System.out.println("threads  ConcurrentSkipList  "
+                            + "synchronized SkipList");
+         for (int t = 1; t <= 32; t *= 2)
+            System.out.println(String.format("%7d", t) + "  "
+               + String.format("%18d", time(concurrent, t, getPercent[g]))
+               + "  " + String.format("%21d",
+                              time(synchronizedList, t, getPercent[g])));
+      }
+   }
+}
@@ -0,0 +1,96 @@
+/** time of n puts in random order to a DiskBTree, of the commit
+  * that makes them durable, of reopening the file, and of n random
+  * gets with a small and with a large page cache; keys are MyInteger
+  * and elements are 100 byte arrays. n is 10^6 by default and may be
+  * given as the first argument; the file is made in the directory
+  * for temporary files and deleted at the end. */
+
+package misc;
+
+import java.io.*;
+import java.util.Random;
+import dataStructures.*;
+import wrappers.MyInteger;
+
+public class TimeDiskBTree
+{
+   static int n = 1000000;
+   static MyInteger [] key;    // key[i] is i
+   static int [] putOrder;     // random permutation of 0 to n - 1
+   static int [] getOrder;     // random keys for gets
+
+   /** @return DiskBTree in file name with cachePages cache slots */
+   static DiskBTree open(String name, int cachePages) throws IOException
+   {
+      return new DiskBTree(name, Serializer.MY_INTEGER,
+                           Serializer.BYTE_ARRAY, cachePages, 4096);
+   }
+
+   /** time n gets on t */
+   static void timeGets(String name, DiskBTree t)
+   {
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+         if (t.get(key[getOrder[i]]) == null)
+            throw new IllegalStateException("missing key");
+      System.out.println(name + (System.currentTimeMillis() - startTime)
+                         + " ms");
+   }
+
+   public static void main(String [] args) throws IOException
+   {
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+
+      key = new MyInteger [n];
+      putOrder = new int [n];
+      getOrder = new int [n];
+      Random r = new Random(1);
+      for (int i = 0; i < n; i++)
+      {
+         key[i] = new MyInteger(i);
+         putOrder[i] = i;
+         getOrder[i] = r.nextInt(n);
+      }
+      for (int i = n - 1; i > 0; i--)
+      {// shuffle putOrder
+         int j = r.nextInt(i + 1);
+         int t = putOrder[i];
+         putOrder[i] = putOrder[j];
+         putOrder[j] = t;
+      }
+      byte [] element = new byte [100];
+
+      File file = File.createTempFile("TimeDiskBTree", ".db");
+      String name = file.getPath();
+      System.out.println(n + " keys, 100 byte elements, 4096 byte pages");
+
+      DiskBTree t = open(name, 4096);
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+         t.put(key[putOrder[i]], element);
+      System.out.println("put            "
+                         + (System.currentTimeMillis() - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      t.commit();
+      System.out.println("commit         "
+                         + (System.currentTimeMillis() - startTime) + " ms");
+      t.close();
+      System.out.println("file has " + t.pageCount() + " pages, height "
+                         + t.height());
+
+      // reopening reads only the header
+      startTime = System.nanoTime();
+      t = open(name, 256);
+      System.out.println("reopen         "
+                         + (System.nanoTime() - startTime) / 1000 + " us");
+      timeGets("get, 256 slots  ", t);
+      t.close();
+
+      t = open(name, 65536);
+      timeGets("get, 65536 slots, cold ", t);
+      timeGets("get, 65536 slots, warm ", t);
+      t.close();
+      file.delete();
+   }
+}
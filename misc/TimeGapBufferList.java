@@ -0,0 +1,68 @@
+
+/** time a cursor-local edit workload on GapBufferList,
+  * ArrayLinearList and Chain; the cursor jumps to a random
+  * position now and then and otherwise drifts by a few
+  * positions, with a burst of inserts and removes at each stop */
+
+package misc;
+
+import dataStructures.*;
+import java.util.*;
+
+public class TimeGapBufferList
+{
+   /** fill s with n elements, then do m edit bursts on it */
+   static void time(LinearList s, String name, int n, int m)
+   {
+      Integer x = new Integer(2);
+      Random r = new Random(1);
+
+      // initial contents
+      for (int i = 0; i < n; i++)
+        s.add(i, x);
+
+      long startTime = System.currentTimeMillis();
+      int cursor = n / 2;
+      int operations = 0;
+      for (int burst = 0; burst < m; burst++)
+      {
+         if (burst % 100 == 0)
+            // jump to a new edit point
+            cursor = r.nextInt(s.size() + 1);
+         else
+         {// drift by up to 8 positions
+            cursor += r.nextInt(17) - 8;
+            cursor = Math.max(0, Math.min(cursor, s.size()));
+         }
+
+         // type some elements, then backspace over a few
+         int inserts = 1 + r.nextInt(8);
+         for (int i = 0; i < inserts; i++)
+            s.add(cursor++, x);
+         int removes = r.nextInt(inserts + 1);
+         for (int i = 0; i < removes; i++)
+            s.remove(--cursor);
+         operations += inserts + removes;
+      }
+
+      long elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println(name + ": " + operations + " edits in " + m +
+                         " bursts took " + elapsedTime + " ms, final size "
+                         + s.size());
+   }
+
+   public static void main(String [] args)
+   {
+      int n = 100000;  // initial list size
+      int m = 10000;   // number of edit bursts
+      if (args.length > 1)
+      {
+         n = Integer.parseInt(args[0]);
+         m = Integer.parseInt(args[1]);
+      }
+
+      time(new ArrayLinearList(), "ArrayLinearList", n, m);
+      time(new Chain(), "Chain", n, m);
+      time(new GapBufferList(), "GapBufferList", n, m);
+   }
+}
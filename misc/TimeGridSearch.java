@@ -0,0 +1,107 @@
+
+
+/** time the rat in a maze, wire routing and image component
+  * programs on a random n x n grid (default n = 4096), once with
+  * their Position objects on an ArrayStack or ArrayQueue and once
+  * with positions packed into longs on a LongArrayStack or
+  * LongArrayQueue */
+
+package misc;
+
+import java.util.*;
+import applications.*;
+import dataStructures.*;
+import utilities.*;
+
+public class TimeGridSearch
+{
+   /** @return an (n + 2) x (n + 2) grid, interior cells are 1 with
+     * probability blocked and 0 otherwise; (1,1) and (n,n) are 0 */
+   static int [][] randomGrid(int n, double blocked, long seed)
+   {
+      Random r = new Random(seed);
+      int [][] grid = new int [n + 2][n + 2];
+      for (int i = 1; i <= n; i++)
+         for (int j = 1; j <= n; j++)
+            grid[i][j] = (r.nextDouble() < blocked) ? 1 : 0;
+      grid[1][1] = grid[n][n] = 0;
+      return grid;
+   }
+
+   /** @return a copy of grid */
+   static int [][] copy(int [][] grid)
+   {
+      int [][] c = new int [grid.length][];
+      for (int i = 0; i < grid.length; i++)
+         c[i] = grid[i].clone();
+      return c;
+   }
+
+   /** @return grid as a byte maze */
+   static byte [][] toMaze(int [][] grid)
+   {
+      byte [][] maze = new byte [grid.length][grid.length];
+      for (int i = 0; i < grid.length; i++)
+         for (int j = 0; j < grid.length; j++)
+            maze[i][j] = (byte) grid[i][j];
+      return maze;
+   }
+
+   public static void main(String [] args)
+   {
+      int n = (args.length > 0) ? Integer.parseInt(args[0]) : 4096;
+      int [][] wires = randomGrid(n, 0.3, 1);
+      int [][] image = randomGrid(n, 0.5, 2);
+      long start = PackedPosition.pack(1, 1);
+      long finish = PackedPosition.pack(n, n);
+      LongArrayStack stack = new LongArrayStack();
+      LongArrayQueue queue = new LongArrayQueue();
+
+      // run each version twice, the second run is timed
+      for (int k = 0; k < 2; k++)
+      {
+         long [] elapsed = new long [6];
+         boolean [] found = new boolean [4];
+
+         byte [][] maze = toMaze(wires);
+         long startTime = System.currentTimeMillis();
+         found[0] = RatInAMaze.findPath(maze, n);
+         elapsed[0] = System.currentTimeMillis() - startTime;
+         maze = toMaze(wires);
+         startTime = System.currentTimeMillis();
+         found[1] = RatInAMaze.findPath(maze, n, stack);
+         elapsed[1] = System.currentTimeMillis() - startTime;
+
+         int [][] grid = copy(wires);
+         startTime = System.currentTimeMillis();
+         found[2] = WireRouter.findPath(grid, n, 1, 1, n, n);
+         elapsed[2] = System.currentTimeMillis() - startTime;
+         grid = copy(wires);
+         startTime = System.currentTimeMillis();
+         found[3] = WireRouter.findPath(grid, n, start, finish, queue) != null;
+         elapsed[3] = System.currentTimeMillis() - startTime;
+
+         grid = copy(image);
+         startTime = System.currentTimeMillis();
+         ImageComponents.labelComponents(grid, n);
+         elapsed[4] = System.currentTimeMillis() - startTime;
+         grid = copy(image);
+         startTime = System.currentTimeMillis();
+         ImageComponents.labelComponents(grid, n, queue);
+         elapsed[5] = System.currentTimeMillis() - startTime;
+
+         if (k == 1)
+         {
+            System.out.println("Grid is " + n + " x " + n);
+            System.out.println("Rat in a maze (path found " + found[0]
+                  + "): Position " + elapsed[0] + " ms, packed "
+                  + elapsed[1] + " ms");
+            System.out.println("Wire router (path found " + found[2]
+                  + "): Position " + elapsed[2] + " ms, packed "
+                  + elapsed[3] + " ms");
+            System.out.println("Image components: Position "
+                  + elapsed[4] + " ms, packed " + elapsed[5] + " ms");
+         }
+      }
+   }
+}
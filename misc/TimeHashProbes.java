@@ -0,0 +1,79 @@
+
+
+/** probe lengths and search times of HashTable, which uses linear
+  * open addressing with Robin Hood displacement, and of HashChains
+  * at loading factors 0.5 to 0.9; both tables have 2^20 buckets
+  * and random Integer keys */
+
+package misc;
+
+import java.util.*;
+import dataStructures.*;
+
+public class TimeHashProbes
+{
+   static final int buckets = 1 << 20;
+
+   /** @return time in ms to search for each key in keys */
+   static long timeGets(HashTable h, Integer [] keys)
+   {
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < keys.length; i++)
+         h.get(keys[i]);
+      return System.currentTimeMillis() - startTime;
+   }
+
+   /** @return time in ms to search for each key in keys */
+   static long timeGets(HashChains h, Integer [] keys)
+   {
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < keys.length; i++)
+         h.get(keys[i]);
+      return System.currentTimeMillis() - startTime;
+   }
+
+   public static void main(String [] args)
+   {
+      Random r = new Random(1);
+      System.out.println("load  avg probe  max probe  "
+          + "HashTable hit/miss ms  HashChains hit/miss ms");
+      for (int k = 5; k <= 9; k++)
+      {
+         int n = buckets / 10 * k;
+         Integer [] keys = new Integer [n];
+         Integer [] missing = new Integer [n];
+         HashSet used = new HashSet();
+         for (int i = 0; i < n; i++)
+         {
+            do
+               keys[i] = new Integer(r.nextInt());
+            while (!used.add(keys[i]));
+         }
+         for (int i = 0; i < n; i++)
+         {
+            do
+               missing[i] = new Integer(r.nextInt());
+            while (used.contains(missing[i]));
+         }
+
+         HashTable table = new HashTable(buckets);
+         HashChains chains = new HashChains(buckets);
+         for (int i = 0; i < n; i++)
+         {
+            table.put(keys[i], keys[i]);
+            chains.put(keys[i], keys[i]);
+         }
+
+         // warm up, then time
+         timeGets(table, keys);
+         timeGets(chains, keys);
+         System.out.println("0." + k + "   "
+               + String.format("%9.3f", table.averageProbeLength())
+               + "  " + String.format("%9d", table.maxProbeLength())
+               + "  " + String.format("%12d", timeGets(table, keys))
+               + "/" + String.format("%-8d", timeGets(table, missing))
+               + "  " + String.format("%13d", timeGets(chains, keys))
+               + "/" + timeGets(chains, missing));
+      }
+   }
+}
@@ -0,0 +1,104 @@
+
+/** time and measure the primitive lists IntArrayLinearList,
+  * LongArrayLinearList and IntChain against the boxed
+  * ArrayLinearList and Chain */
+
+package misc;
+
+import dataStructures.*;
+import java.util.*;
+
+public class TimeIntArrayLinearList
+{
+   static Object measured;  // keeps the measured list reachable
+
+   /** @return bytes of heap in use after garbage collection */
+   static long usedMemory()
+   {
+      Runtime r = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++)
+         System.gc();
+      return r.totalMemory() - r.freeMemory();
+   }
+
+   /** report the time since startTime and the heap used
+     * since baseMemory for a list of n elements */
+   static void report(String name, Object list, int n, long startTime,
+                      long baseMemory, long sum)
+   {
+      long elapsedTime = System.currentTimeMillis() - startTime;
+      measured = list;
+      long bytes = usedMemory() - baseMemory;
+      measured = null;
+      System.out.println(name + ": " + n + " inserts and gets took " +
+                         elapsedTime + " ms, " + (bytes / n) +
+                         " bytes per element (sum " + sum + ")");
+   }
+
+   public static void main(String [] args)
+   {
+      int n = 1000000;  // number of elements
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+
+      // boxed array list
+      long baseMemory = usedMemory();
+      long startTime = System.currentTimeMillis();
+      ArrayLinearList a = new ArrayLinearList();
+      for (int i = 0; i < n; i++)
+         a.add(i, new Integer(i));
+      long sum = 0;
+      for (int i = 0; i < n; i++)
+         sum += ((Integer) a.get(i)).intValue();
+      report("ArrayLinearList", a, n, startTime, baseMemory, sum);
+      a = null;
+
+      // int array list
+      baseMemory = usedMemory();
+      startTime = System.currentTimeMillis();
+      IntArrayLinearList b = new IntArrayLinearList();
+      for (int i = 0; i < n; i++)
+         b.add(i, i);
+      sum = 0;
+      for (int i = 0; i < n; i++)
+         sum += b.get(i);
+      report("IntArrayLinearList", b, n, startTime, baseMemory, sum);
+      b = null;
+
+      // long array list
+      baseMemory = usedMemory();
+      startTime = System.currentTimeMillis();
+      LongArrayLinearList c = new LongArrayLinearList();
+      for (int i = 0; i < n; i++)
+         c.add(i, i);
+      sum = 0;
+      for (int i = 0; i < n; i++)
+         sum += c.get(i);
+      report("LongArrayLinearList", c, n, startTime, baseMemory, sum);
+      c = null;
+
+      // boxed chain, traversed with its iterator
+      baseMemory = usedMemory();
+      startTime = System.currentTimeMillis();
+      Chain d = new Chain();
+      for (int i = 0; i < n; i++)
+         d.add(i, new Integer(i));
+      sum = 0;
+      for (Iterator y = d.iterator(); y.hasNext(); )
+         sum += ((Integer) y.next()).intValue();
+      report("Chain", d, n, startTime, baseMemory, sum);
+      d = null;
+
+      // int chain, traversed with its iterator
+      baseMemory = usedMemory();
+      startTime = System.currentTimeMillis();
+      IntChain e = new IntChain();
+      for (int i = 0; i < n; i++)
+         e.add(i, i);
+      sum = 0;
+      for (PrimitiveIterator.OfInt y = e.iterator(); y.hasNext(); )
+         sum += y.nextInt();
+      report("IntChain", e, n, startTime, baseMemory, sum);
+      e = null;
+   }
+}
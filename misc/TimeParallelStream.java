@@ -0,0 +1,81 @@
+
+/** time sequential and parallel stream reductions over
+  * ArrayLinearList, whose spliterator splits by index range,
+  * and Chain, whose spliterator splits off array-buffered batches */
+
+package misc;
+
+import dataStructures.*;
+import java.util.*;
+import java.util.function.*;
+
+public class TimeParallelStream
+{
+   /** some work per element so that the reduction is not
+     * dominated by traversal */
+   static final ToLongFunction work = e ->
+   {
+      long x = ((Integer) e).intValue();
+      for (int i = 0; i < 50; i++)
+         x = x * 6364136223846793005L + 1442695040888963407L;
+      return x & 0xff;
+   };
+
+   /** time stream().mapToLong(work).sum() for each kind of stream */
+   static void time(String name, ArrayLinearList a, Chain c)
+   {
+      // warm up
+      for (int i = 0; i < 3; i++)
+      {
+         a.stream().mapToLong(work).sum();
+         a.parallelStream().mapToLong(work).sum();
+         c.stream().mapToLong(work).sum();
+         c.parallelStream().mapToLong(work).sum();
+      }
+
+      long startTime = System.currentTimeMillis();
+      long sum = a.stream().mapToLong(work).sum();
+      long elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("ArrayLinearList sequential " + name + " took " +
+                         elapsedTime + " ms (sum " + sum + ")");
+
+      startTime = System.currentTimeMillis();
+      sum = a.parallelStream().mapToLong(work).sum();
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("ArrayLinearList parallel   " + name + " took " +
+                         elapsedTime + " ms (sum " + sum + ")");
+
+      startTime = System.currentTimeMillis();
+      sum = c.stream().mapToLong(work).sum();
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("Chain sequential           " + name + " took " +
+                         elapsedTime + " ms (sum " + sum + ")");
+
+      startTime = System.currentTimeMillis();
+      sum = c.parallelStream().mapToLong(work).sum();
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("Chain parallel             " + name + " took " +
+                         elapsedTime + " ms (sum " + sum + ")");
+   }
+
+   public static void main(String [] args)
+   {
+      int n = 2000000;  // number of elements
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+
+      System.out.println("Parallelism is " +
+         java.util.concurrent.ForkJoinPool.commonPool().getParallelism());
+
+      ArrayLinearList a = new ArrayLinearList();
+      Chain c = new Chain();
+      for (int i = 0; i < n; i++)
+      {
+         Integer x = new Integer(i);
+         a.add(i, x);
+         c.add(i, x);
+      }
+
+      time("sum of " + n, a, c);
+   }
+}
@@ -0,0 +1,111 @@
+
+
+/** memory used per pair and time for n puts and n gets
+  * (default n = 1000000) with random int keys, for HashChains and
+  * HashTable, whose keys and int values are boxed, and for
+  * IntIntHashMap, IntObjectHashMap and LongObjectHashMap; the
+  * elements of the last two exist before the map is built, so only
+  * the memory of the map itself is counted */
+
+package misc;
+
+import java.util.*;
+import dataStructures.*;
+
+public class TimePrimitiveMaps
+{
+   static int n;
+   static int [] key;
+   static Object [] element;   // elements for the Object maps
+   static Object map;          // map being measured, kept reachable
+
+   /** @return bytes in use after garbage collection */
+   static long usedMemory()
+   {
+      Runtime r = Runtime.getRuntime();
+      for (int i = 0; i < 4; i++)
+         System.gc();
+      return r.totalMemory() - r.freeMemory();
+   }
+
+   /** build the map of kind k from all keys and then get each key */
+   static void run(int k)
+   {
+      switch (k)
+      {
+         case 0:
+            HashChains c = new HashChains(n);
+            map = c;
+            for (int i = 0; i < n; i++)
+               c.put(new Integer(key[i]), new Integer(i));
+            for (int i = 0; i < n; i++)
+               c.get(new Integer(key[i]));
+            break;
+         case 1:
+            HashTable t = new HashTable(n * 4 / 3);
+            map = t;
+            for (int i = 0; i < n; i++)
+               t.put(new Integer(key[i]), new Integer(i));
+            for (int i = 0; i < n; i++)
+               t.get(new Integer(key[i]));
+            break;
+         case 2:
+            IntIntHashMap ii = new IntIntHashMap(n);
+            map = ii;
+            for (int i = 0; i < n; i++)
+               ii.put(key[i], i);
+            for (int i = 0; i < n; i++)
+               ii.get(key[i], -1);
+            break;
+         case 3:
+            IntObjectHashMap io = new IntObjectHashMap(n);
+            map = io;
+            for (int i = 0; i < n; i++)
+               io.put(key[i], element[i]);
+            for (int i = 0; i < n; i++)
+               io.get(key[i]);
+            break;
+         case 4:
+            LongObjectHashMap lo = new LongObjectHashMap(n);
+            map = lo;
+            for (int i = 0; i < n; i++)
+               lo.put((long) key[i] << 20, element[i]);
+            for (int i = 0; i < n; i++)
+               lo.get((long) key[i] << 20);
+            break;
+      }
+   }
+
+   public static void main(String [] args)
+   {
+      n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+      Random r = new Random(1);
+      key = new int [n];
+      element = new Object [n];
+      for (int i = 0; i < n; i++)
+      {
+         key[i] = r.nextInt();
+         element[i] = new Integer(i);
+      }
+
+      String [] name = {"HashChains       ", "HashTable        ",
+                        "IntIntHashMap    ", "IntObjectHashMap ",
+                        "LongObjectHashMap"};
+      System.out.println(n + " pairs");
+      for (int k = 0; k < name.length; k++)
+      {
+         // warm up
+         run(k);
+         map = null;
+
+         long before = usedMemory();
+         long startTime = System.currentTimeMillis();
+         run(k);
+         long elapsedTime = System.currentTimeMillis() - startTime;
+         long bytes = usedMemory() - before;
+         System.out.println(name[k] + "  " + bytes / n + " bytes per pair, "
+                            + elapsedTime + " ms for puts and gets");
+         map = null;
+      }
+   }
+}
@@ -0,0 +1,70 @@
+
+
+/** latency of each put into a HashTableWithDoubling that grows
+  * from 16 buckets to hold n elements (default n = 4000000):
+  * with all entries rehashed by the put that crosses the
+  * threshold, with incremental migration, and with the table
+  * presized by ensureCapacity; reports the 50th, 99th and 99.9th
+  * percentiles and the maximum; a rehash happens in only a few
+  * dozen puts, so it shows in the maximum, run with a fixed heap
+  * (-Xms3g -Xmx3g) so that heap growth does not hide it */
+
+package misc;
+
+import java.util.*;
+import dataStructures.*;
+
+public class TimePutLatency
+{
+   /** @return put latencies in ns, sorted */
+   static long [] timePuts(HashTableWithDoubling h, Integer [] keys)
+   {
+      long [] latency = new long [keys.length];
+      for (int i = 0; i < keys.length; i++)
+      {
+         long startTime = System.nanoTime();
+         h.put(keys[i], keys[i]);
+         latency[i] = System.nanoTime() - startTime;
+      }
+      Arrays.sort(latency);
+      return latency;
+   }
+
+   /** output percentiles of the sorted latencies */
+   static void report(String name, long [] latency)
+   {
+      int n = latency.length;
+      System.out.println(name + ": p50 " + latency[n / 2] + " ns, p99 "
+           + latency[(int) (n * 0.99)] + " ns, p999 "
+           + latency[(int) (n * 0.999)] + " ns, max "
+           + latency[n - 1] / 1000 + " us");
+   }
+
+   public static void main(String [] args)
+   {
+      int n = (args.length > 0) ? Integer.parseInt(args[0]) : 4000000;
+      Random r = new Random(1);
+      Integer [] keys = new Integer [n];
+      for (int i = 0; i < n; i++)
+         keys[i] = new Integer(r.nextInt());
+
+      // warm up
+      Integer [] few = Arrays.copyOf(keys, Math.min(n, 200000));
+      for (int k = 0; k < 3; k++)
+      {
+         timePuts(new HashTableWithDoubling(16, 0.75, false), few);
+         timePuts(new HashTableWithDoubling(16, 0.75, true), few);
+      }
+
+      System.out.println(n + " puts");
+      report("rehash at once  ",
+             timePuts(new HashTableWithDoubling(16, 0.75, false), keys));
+      System.gc();
+      report("incremental     ",
+             timePuts(new HashTableWithDoubling(16, 0.75, true), keys));
+      System.gc();
+      HashTableWithDoubling h = new HashTableWithDoubling(16, 0.75, true);
+      h.ensureCapacity(n);
+      report("ensureCapacity  ", timePuts(h, keys));
+   }
+}
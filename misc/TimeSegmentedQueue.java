@@ -0,0 +1,63 @@
+
+
+/** time for a queue that stays short while many elements pass
+  * through it, and for one that grows to n elements and is then
+  * emptied, using LinkedQueue and SegmentedQueue; LinkedQueue
+  * allocates a node per put, SegmentedQueue a segment per
+  * segmentCapacity puts and none once its pool is warm */
+
+package misc;
+
+import dataStructures.*;
+
+public class TimeSegmentedQueue
+{
+   static final int n = 1000000;   // number of put operations
+   static final int window = 100;  // queue length in steady state
+
+   /** @return elapsed time in ms for the two workloads on q */
+   static long time(Queue q)
+   {
+      Integer x = new Integer(2);
+      long startTime = System.currentTimeMillis();
+
+      // steady state, the queue length stays at window
+      for (int i = 0; i < window; i++)
+         q.put(x);
+      for (int i = window; i < n; i++)
+      {
+         q.put(x);
+         q.remove();
+      }
+      while (!q.isEmpty())
+         q.remove();
+
+      // grow to n elements and then empty the queue
+      for (int i = 0; i < n; i++)
+         q.put(x);
+      for (int i = 0; i < n; i++)
+      {
+         q.getFrontElement();
+         q.remove();
+      }
+      return System.currentTimeMillis() - startTime;
+   }
+
+   public static void main(String [] args)
+   {
+      // warm up both classes before timing them
+      for (int k = 0; k < 3; k++)
+      {
+         time(new LinkedQueue());
+         time(new SegmentedQueue());
+      }
+
+      System.out.println("LinkedQueue took " + time(new LinkedQueue())
+                         + " ms");
+      int [] segmentCapacity = {16, 64, 256, 1024};
+      for (int k = 0; k < segmentCapacity.length; k++)
+         System.out.println("SegmentedQueue with segments of "
+                  + segmentCapacity[k] + " took "
+                  + time(new SegmentedQueue(segmentCapacity[k])) + " ms");
+   }
+}
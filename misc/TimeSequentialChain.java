@@ -0,0 +1,70 @@
+
+/** time sequential positional operations on Chain and MyChain,
+  * the cursor makes each of these loops linear rather than quadratic */
+
+package misc;
+
+import dataStructures.*;
+import java.util.*;
+
+public class TimeSequentialChain
+{
+   /** time sequential add, get and middle-out remove on s */
+   static void time(LinearList s, String name, int n)
+   {
+      Integer x = new Integer(2);
+      System.out.println("Timing " + name + " with " + n + " elements");
+
+      // insert n elements, each one past the previous
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+        s.add(i,x);
+
+      long elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println(n + " sequential inserts took " + elapsedTime +
+                         " ms");
+
+
+      // get test
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+        s.get(i);
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println(n + " sequential gets took " + elapsedTime +
+                         " ms");
+
+
+      // insert next to each of the first n / 2 elements
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i += 2)
+        s.add(i + 1,x);
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println(n / 2 + " interleaved inserts took " +
+                         elapsedTime + " ms");
+
+
+      // now remove the elements after the middle
+      startTime = System.currentTimeMillis();
+      int middle = s.size() / 2;
+      int removes = s.size() - middle;
+      for (int i = 0; i < removes; i++)
+        s.remove(middle);
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println(removes + " removes at the middle took " +
+                         elapsedTime + " ms");
+      System.out.println();
+   }
+
+   public static void main(String [] args)
+   {
+      int n = 1000000;  // number of elements
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+
+      time(new Chain(), "Chain", n);
+      time(new MyChain(), "MyChain", n);
+   }
+}
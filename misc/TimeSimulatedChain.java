@@ -1,6 +1,8 @@
 
 
-/** time SimulatedChain operations */
+/** time SimulatedChain operations, first on a SimulatedSpace1
+  * that holds SimulatedNode objects and then on a SimulatedArena
+  * that holds the node fields in parallel arrays */
 
 package misc;
 
@@ -9,13 +11,35 @@ import java.util.*;
 
 public class TimeSimulatedChain
 {
+   /** @return simulated space with numberOfNodes nodes, an arena
+     * when useArena is true and a SimulatedSpace1 otherwise */
+   static SimulatedSpace newSpace(boolean useArena, int numberOfNodes)
+   {
+      if (useArena)
+         return new SimulatedArena(numberOfNodes);
+      else
+         return new SimulatedSpace1(numberOfNodes);
+   }
+
    public static void main(String [] args)
    {
+      timeChain(false);
+      System.out.println();
+      timeChain(true);
+   }
+
+   /** run the timing tests with SimulatedChain.S of the given kind */
+   static void timeChain(boolean useArena)
+   {
+      SimulatedChain.S = newSpace(useArena, 10);
       SimulatedChain s = new SimulatedChain();
       int n = 40000;  // number of operations
       Integer x = new Integer(2);
 
-      System.out.println("Timing SimulatedChain");
+      if (useArena)
+         System.out.println("Timing SimulatedChain on SimulatedArena");
+      else
+         System.out.println("Timing SimulatedChain on SimulatedSpace1");
 
       // worst-case test
       System.out.println("Worst-case times in progress");
@@ -53,7 +77,7 @@ public class TimeSimulatedChain
       System.out.println();
       System.out.println("Average-case times in progress");
 
-      SimulatedChain.S = new SimulatedSpace1(40010);
+      SimulatedChain.S = newSpace(useArena, 40010);
       s = new SimulatedChain();
       Random r = new Random();
       n = 40000;
@@ -95,7 +119,7 @@ public class TimeSimulatedChain
       // best-case test
       System.out.println();
       System.out.println("Best-case times in progress");
-      SimulatedChain.S = new SimulatedSpace1(10);
+      SimulatedChain.S = newSpace(useArena, 10);
       s = new SimulatedChain();
       n = 1000000;
 
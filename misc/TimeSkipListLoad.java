@@ -0,0 +1,69 @@
+/** time to build a SkipList of n sorted keys by n puts and by the
+  * bulk-load constructor, and time of gets and of range scans
+  * over 100 keys in each list */
+
+package misc;
+
+import java.util.*;
+import dataStructures.*;
+
+public class TimeSkipListLoad
+{
+   static final int n = 1000000;
+   static final int queries = 200000;
+
+   /** @return ms taken by queries gets and by queries range scans
+     * over 100 keys in s */
+   static String timeQueries(SkipList s, Integer [] key)
+   {
+      Random r = new Random(1);
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < queries; i++)
+         s.get(key[r.nextInt(n)]);
+      long getTime = System.currentTimeMillis() - startTime;
+
+      startTime = System.currentTimeMillis();
+      int count = 0;
+      for (int i = 0; i < queries; i++)
+      {
+         int k = r.nextInt(n - 100);
+         for (Iterator j = s.iterator(key[k], key[k + 100]); j.hasNext(); )
+         {
+            j.next();
+            count++;
+         }
+      }
+      long scanTime = System.currentTimeMillis() - startTime;
+      if (count != 100 * queries)
+         throw new IllegalStateException("range scan is wrong");
+      return getTime + " ms for gets, " + scanTime + " ms for scans";
+   }
+
+   public static void main(String [] args)
+   {
+      Integer [] key = new Integer [n];
+      for (int i = 0; i < n; i++)
+         key[i] = new Integer(2 * i);
+      Integer largeKey = new Integer(Integer.MAX_VALUE);
+
+      // warm up
+      SkipList s = new SkipList(largeKey, 1000, 0.5F);
+      for (int i = 0; i < 100000; i++)
+         s.put(key[i], key[i]);
+      new SkipList(largeKey, key, key, 0.5F);
+
+      long startTime = System.currentTimeMillis();
+      s = new SkipList(largeKey, n, 0.5F);
+      for (int i = 0; i < n; i++)
+         s.put(key[i], key[i]);
+      long elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("n puts: " + elapsedTime + " ms to build, "
+                         + timeQueries(s, key));
+
+      startTime = System.currentTimeMillis();
+      s = new SkipList(largeKey, key, key, 0.5F);
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("bulk load: " + elapsedTime + " ms to build, "
+                         + timeQueries(s, key));
+   }
+}
@@ -0,0 +1,83 @@
+/** bytes per entry and get throughput of SkipList, CompactSkipList
+  * and LongSkipList with n long keys, 10^7 by default; the lists
+  * are filled in ascending order of key and all entries share one
+  * element, so the bytes counted are those of nodes, links and keys.
+  * Run with a large heap, e.g. java -Xmx4g misc.TimeSkipListMemory */
+
+package misc;
+
+import java.util.Random;
+import dataStructures.*;
+
+public class TimeSkipListMemory
+{
+   static int n = 10000000;
+   static final int gets = 2000000;
+   static final Object element = "x";
+
+   /** @return bytes of heap in use after garbage collection */
+   static long usedMemory()
+   {
+      Runtime runtime = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++)
+         System.gc();
+      return runtime.totalMemory() - runtime.freeMemory();
+   }
+
+   /** @return gets per ms on d */
+   static long timeGets(Dictionary d)
+   {
+      Random r = new Random(1);
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < gets; i++)
+         if (d.get(new Long(r.nextInt(n))) == null)
+            throw new IllegalStateException("missing key");
+      return gets / Math.max(1, System.currentTimeMillis() - startTime);
+   }
+
+   /** @return gets per ms on s */
+   static long timeGets(LongSkipList s)
+   {
+      Random r = new Random(1);
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < gets; i++)
+         if (s.get(r.nextInt(n)) == null)
+            throw new IllegalStateException("missing key");
+      return gets / Math.max(1, System.currentTimeMillis() - startTime);
+   }
+
+   static void report(String name, long bytes, long getsPerMs)
+   {
+      System.out.println(String.format("%-16s", name)
+                         + String.format("%10.1f", (double) bytes / n)
+                         + String.format("%12d", getsPerMs));
+   }
+
+   public static void main(String [] args)
+   {
+      if (args.length > 0)
+         n = Integer.parseInt(args[0]);
+      System.out.println(n + " entries");
+      System.out.println("list            bytes/entry  gets per ms");
+
+      long base = usedMemory();
+      SkipList s = new SkipList(new Long(Long.MAX_VALUE), n, 0.5F);
+      for (int i = 0; i < n; i++)
+         s.put(new Long(i), element);
+      report("SkipList", usedMemory() - base, timeGets(s));
+      s = null;
+
+      base = usedMemory();
+      CompactSkipList c = new CompactSkipList(0.5F);
+      for (int i = 0; i < n; i++)
+         c.put(new Long(i), element);
+      report("CompactSkipList", usedMemory() - base, timeGets(c));
+      c = null;
+
+      base = usedMemory();
+      LongSkipList l = new LongSkipList(n, 0.5F);
+      for (int i = 0; i < n; i++)
+         l.put(i, element);
+      report("LongSkipList", usedMemory() - base, timeGets(l));
+   }
+}
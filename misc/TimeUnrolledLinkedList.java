@@ -0,0 +1,90 @@
+
+/** time UnrolledLinkedList operations against the other
+  * LinearList implementations timed by the Time* programs */
+
+package misc;
+
+import dataStructures.*;
+import java.util.*;
+
+public class TimeUnrolledLinkedList
+{
+   /** time appends, sequential gets, random gets,
+     * random inserts and random removes on s */
+   static void time(LinearList s, String name, int n, int m)
+   {
+      Integer x = new Integer(2);
+      Random r = new Random(1);
+      System.out.println("Timing " + name);
+
+      // append n elements
+      long startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+        s.add(i,x);
+
+      long elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("  " + n + " appends took " + elapsedTime + " ms");
+
+
+      // sequential get test
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < n; i++)
+        s.get(i);
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("  " + n + " sequential gets took " + elapsedTime +
+                         " ms");
+
+
+      // random get test
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < m; i++)
+        s.get(r.nextInt(n));
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("  " + m + " random gets took " + elapsedTime +
+                         " ms");
+
+
+      // random insert test
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < m; i++)
+        s.add(r.nextInt(s.size() + 1),x);
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("  " + m + " random inserts took " + elapsedTime +
+                         " ms");
+
+
+      // random remove test
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < m; i++)
+        s.remove(r.nextInt(s.size()));
+
+      elapsedTime = System.currentTimeMillis() - startTime;
+      System.out.println("  " + m + " random removes took " + elapsedTime +
+                         " ms");
+   }
+
+   public static void main(String [] args)
+   {
+      int n = 100000;  // list size
+      int m = 10000;   // number of random operations
+      if (args.length > 1)
+      {
+         n = Integer.parseInt(args[0]);
+         m = Integer.parseInt(args[1]);
+      }
+
+      time(new ArrayLinearList(), "ArrayLinearList", n, m);
+      time(new FastArrayLinearList(), "FastArrayLinearList", n, m);
+      time(new Chain(), "Chain", n, m);
+      time(new DoublyLinkedList(), "DoublyLinkedList", n, m);
+      time(new UnrolledLinkedList(64), "UnrolledLinkedList, block 64",
+           n, m);
+      time(new UnrolledLinkedList(64, true),
+           "UnrolledLinkedList, block 64 with index", n, m);
+      time(new UnrolledLinkedList(256, true),
+           "UnrolledLinkedList, block 256 with index", n, m);
+   }
+}
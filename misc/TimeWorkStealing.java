@@ -0,0 +1,96 @@
+
+/** time a synthetic tree workload, as produced by backtracking
+  * and depth-first search, run by sequential recursion and by
+  * WorkStealingScheduler with 1, 2, 4 and 8 workers */
+
+package misc;
+
+import dataStructures.*;
+import java.util.concurrent.atomic.*;
+
+public class TimeWorkStealing
+{
+   static int branching = 4;   // children of an interior node
+   static int leafWork = 2000; // work units done at a leaf
+
+   /** work done at a leaf
+     * @return value that depends on all the work */
+   static long leaf(long seed)
+   {
+      long x = seed;
+      for (int i = 0; i < leafWork; i++)
+         x = x * 6364136223846793005L + 1442695040888963407L;
+      return x >>> 60;
+   }
+
+   /** @return sum of leaf values of the subtree of the given height */
+   static long recurse(long seed, int height)
+   {
+      if (height == 0)
+         return leaf(seed);
+      long sum = 0;
+      for (int i = 0; i < branching; i++)
+         sum += recurse(seed * branching + i, height - 1);
+      return sum;
+   }
+
+   /** task for a subtree, leaf values are added to sum */
+   static class TreeTask implements Runnable
+   {
+      final WorkStealingScheduler s;
+      final LongAdder sum;
+      final long seed;
+      final int height;
+
+      TreeTask(WorkStealingScheduler s, LongAdder sum, long seed, int height)
+      {
+         this.s = s;
+         this.sum = sum;
+         this.seed = seed;
+         this.height = height;
+      }
+
+      public void run()
+      {
+         if (height <= 2)
+            // small subtree, not worth spawning
+            sum.add(recurse(seed, height));
+         else
+            for (int i = 0; i < branching; i++)
+               s.spawn(new TreeTask(s, sum, seed * branching + i,
+                                    height - 1));
+      }
+   }
+
+   public static void main(String [] args) throws InterruptedException
+   {
+      int height = 8;  // height of the tree
+      if (args.length > 0)
+         height = Integer.parseInt(args[0]);
+      System.out.println("Available processors " +
+                         Runtime.getRuntime().availableProcessors());
+
+      for (int round = 0; round < 2; round++)
+      {// first round warms up the virtual machine
+         System.out.println((round == 0) ? "Warm up" : "Measured");
+
+         long startTime = System.currentTimeMillis();
+         long sum = recurse(1, height);
+         long elapsedTime = System.currentTimeMillis() - startTime;
+         System.out.println("sequential recursion took " + elapsedTime +
+                            " ms (sum " + sum + ")");
+
+         for (int workers = 1; workers <= 8; workers *= 2)
+         {
+            WorkStealingScheduler s = new WorkStealingScheduler(workers);
+            LongAdder total = new LongAdder();
+            startTime = System.currentTimeMillis();
+            s.invoke(new TreeTask(s, total, 1, height));
+            elapsedTime = System.currentTimeMillis() - startTime;
+            System.out.println(workers + " workers took " + elapsedTime +
+                               " ms with " + s.steals() + " steals (sum " +
+                               total.sum() + ")");
+         }
+      }
+   }
+}
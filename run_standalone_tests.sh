@@ -20,7 +20,7 @@ echo
 
 # Compile only the necessary files for MyChain test
 echo "1. Compiling MyChain and MyChainTest..."
-javac -cp . dataStructures/ChainNode.java dataStructures/LinearList.java dataStructures/Chain.java dataStructures/MyChain.java MyChainTestSimple.java
+javac -cp . dataStructures/ChainNode.java dataStructures/LinearList.java dataStructures/ExtendedLinearList.java dataStructures/Chain.java dataStructures/MyChain.java MyChainTestSimple.java
 
 if [ $? -ne 0 ]; then
     echo "❌ Compilation failed!"
@@ -296,6 +296,18 @@ public class ChainTest {
             assertEquals("second", chain.get(1));
         }
 
+        @Test
+        @DisplayName("Add at end after removing last element")
+        void addAtEndAfterRemovingLastElement() {
+            chain.add(0, "first");
+            chain.add(1, "second");
+            chain.remove(chain.size() - 1);
+            chain.add(chain.size(), "third");
+            
+            assertEquals(2, chain.size());
+            assertEquals("[first, third]", chain.toString());
+        }
+
         @Test
         @DisplayName("Remove with negative index throws IndexOutOfBoundsException")
         void removeWithNegativeIndexThrowsException() {
@@ -317,6 +329,106 @@ public class ChainTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cursor Tests")
+    class CursorTests {
+
+        @Test
+        @DisplayName("Get after inserting at front sees shifted elements")
+        void getAfterInsertingAtFront() {
+            chain.add(0, "B");
+            chain.add(1, "C");
+            assertEquals("C", chain.get(1));
+            
+            chain.add(0, "A");
+            assertEquals("B", chain.get(1));
+            assertEquals("C", chain.get(2));
+        }
+
+        @Test
+        @DisplayName("Get after removing the cached first node")
+        void getAfterRemovingCachedFirstNode() {
+            chain.add(0, "A");
+            chain.add(1, "B");
+            assertEquals("A", chain.get(0));
+            
+            chain.remove(0);
+            assertEquals("B", chain.get(0));
+            chain.add(0, "C");
+            assertEquals("[C, B]", chain.toString());
+        }
+
+        @Test
+        @DisplayName("Random positional operations match java.util.ArrayList")
+        void randomOperationsMatchArrayList() {
+            java.util.List<Object> expected = new java.util.ArrayList<>();
+            java.util.Random random = new java.util.Random(17);
+            for (int step = 0; step < 5000; step++) {
+                int op = random.nextInt(3);
+                if (op == 0 || expected.isEmpty()) {
+                    int index = random.nextInt(expected.size() + 1);
+                    expected.add(index, step);
+                    chain.add(index, step);
+                } else if (op == 1) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.get(index), chain.get(index));
+                } else {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), chain.remove(index));
+                }
+            }
+            assertEquals(expected.toString(), chain.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        @DisplayName("Spliterator reports ordered, sized and subsized")
+        void spliteratorCharacteristics() {
+            chain.add(0, "A");
+            java.util.Spliterator s = chain.spliterator();
+            assertTrue(s.hasCharacteristics(java.util.Spliterator.ORDERED));
+            assertTrue(s.hasCharacteristics(java.util.Spliterator.SIZED));
+            assertTrue(s.hasCharacteristics(java.util.Spliterator.SUBSIZED));
+            assertEquals(1, s.estimateSize());
+        }
+
+        @Test
+        @DisplayName("Sequential stream keeps list order")
+        void sequentialStreamKeepsOrder() {
+            for (int i = 0; i < 5; i++) {
+                chain.add(i, Integer.valueOf(i));
+            }
+            Object[] result = chain.stream().toArray();
+            assertArrayEquals(new Object[]{0, 1, 2, 3, 4}, result);
+        }
+
+        @Test
+        @DisplayName("Parallel stream over a large list sees every element once")
+        void parallelStreamSeesEveryElement() {
+            int n = 20000;
+            for (int i = 0; i < n; i++) {
+                chain.add(i, Integer.valueOf(i));
+            }
+            long sum = chain.parallelStream()
+                    .mapToLong(e -> ((Integer) e).longValue()).sum();
+            assertEquals((long) n * (n - 1) / 2, sum);
+            Object[] ordered = chain.parallelStream().toArray();
+            assertEquals(n, ordered.length);
+            assertEquals(n - 1, ordered[n - 1]);
+        }
+
+        @Test
+        @DisplayName("Splitting an empty list gives no elements")
+        void emptyListStream() {
+            assertEquals(0, chain.stream().count());
+            assertEquals(0, chain.parallelStream().count());
+        }
+    }
+
     @Nested
     @DisplayName("ToString Operation Tests")
     class ToStringOperationTests {
@@ -307,6 +307,106 @@ public class MyChainTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cursor Tests")
+    class CursorTests {
+
+        @Test
+        @DisplayName("Get after inserting at front sees shifted elements")
+        void getAfterInsertingAtFront() {
+            myChain.add(0, "B");
+            myChain.add(1, "C");
+            assertEquals("C", myChain.get(1));
+            
+            myChain.add(0, "A");
+            assertEquals("B", myChain.get(1));
+            assertEquals("C", myChain.get(2));
+        }
+
+        @Test
+        @DisplayName("Get after removing the cached first node")
+        void getAfterRemovingCachedFirstNode() {
+            myChain.add(0, "A");
+            myChain.add(1, "B");
+            assertEquals("A", myChain.get(0));
+            
+            myChain.remove(0);
+            assertEquals("B", myChain.get(0));
+            myChain.add(0, "C");
+            assertEquals("[C, B]", myChain.toString());
+        }
+
+        @Test
+        @DisplayName("Random positional operations match java.util.ArrayList")
+        void randomOperationsMatchArrayList() {
+            java.util.List<Object> expected = new java.util.ArrayList<>();
+            java.util.Random random = new java.util.Random(17);
+            for (int step = 0; step < 5000; step++) {
+                int op = random.nextInt(3);
+                if (op == 0 || expected.isEmpty()) {
+                    int index = random.nextInt(expected.size() + 1);
+                    expected.add(index, step);
+                    myChain.add(index, step);
+                } else if (op == 1) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.get(index), myChain.get(index));
+                } else {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), myChain.remove(index));
+                }
+            }
+            assertEquals(expected.toString(), myChain.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        @DisplayName("Spliterator reports ordered, sized and subsized")
+        void spliteratorCharacteristics() {
+            myChain.add(0, "A");
+            java.util.Spliterator s = myChain.spliterator();
+            assertTrue(s.hasCharacteristics(java.util.Spliterator.ORDERED));
+            assertTrue(s.hasCharacteristics(java.util.Spliterator.SIZED));
+            assertTrue(s.hasCharacteristics(java.util.Spliterator.SUBSIZED));
+            assertEquals(1, s.estimateSize());
+        }
+
+        @Test
+        @DisplayName("Sequential stream keeps list order")
+        void sequentialStreamKeepsOrder() {
+            for (int i = 0; i < 5; i++) {
+                myChain.add(i, Integer.valueOf(i));
+            }
+            Object[] result = myChain.stream().toArray();
+            assertArrayEquals(new Object[]{0, 1, 2, 3, 4}, result);
+        }
+
+        @Test
+        @DisplayName("Parallel stream over a large list sees every element once")
+        void parallelStreamSeesEveryElement() {
+            int n = 20000;
+            for (int i = 0; i < n; i++) {
+                myChain.add(i, Integer.valueOf(i));
+            }
+            long sum = myChain.parallelStream()
+                    .mapToLong(e -> ((Integer) e).longValue()).sum();
+            assertEquals((long) n * (n - 1) / 2, sum);
+            Object[] ordered = myChain.parallelStream().toArray();
+            assertEquals(n, ordered.length);
+            assertEquals(n - 1, ordered[n - 1]);
+        }
+
+        @Test
+        @DisplayName("Splitting an empty list gives no elements")
+        void emptyListStream() {
+            assertEquals(0, myChain.stream().count());
+            assertEquals(0, myChain.parallelStream().count());
+        }
+    }
+
     @Nested
     @DisplayName("ToString Operation Tests")
     class ToStringOperationTests {
@@ -513,6 +613,120 @@ public class MyChainTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tail Pointer and Bulk Append Tests")
+    class TailPointerTests {
+
+        @Test
+        @DisplayName("Append after removing last element")
+        void appendAfterRemovingLastElement() {
+            myChain.addRange(new Object[] {"A", "B", "C"});
+            myChain.remove(myChain.size() - 1);
+            myChain.add(myChain.size(), "D");
+            myChain.addRange(new Object[] {"E"});
+            
+            assertEquals("[A, B, D, E]", myChain.toString());
+            assertEquals(4, myChain.size());
+        }
+
+        @Test
+        @DisplayName("Append after removing every element from the end")
+        void appendAfterRemovingEveryElementFromTheEnd() {
+            myChain.addRange(new Object[] {"A", "B"});
+            myChain.remove(myChain.size() - 1);
+            myChain.remove(myChain.size() - 1);
+            assertTrue(myChain.isEmpty());
+            
+            myChain.add("C");
+            myChain.add(myChain.size(), "D");
+            
+            assertEquals("[C, D]", myChain.toString());
+            assertEquals("D", myChain.get(1));
+        }
+
+        @Test
+        @DisplayName("AddRange with empty array on empty chain")
+        void addRangeWithEmptyArrayOnEmptyChain() {
+            myChain.addRange(new Object[] {});
+            
+            assertTrue(myChain.isEmpty());
+            myChain.add("A");
+            assertEquals("[A]", myChain.toString());
+        }
+
+        @Test
+        @DisplayName("AddAll copies elements and leaves the source unchanged")
+        void addAllCopiesElements() {
+            myChain.add("A");
+            MyChain chain2 = new MyChain();
+            chain2.addRange(new Object[] {"B", "C"});
+            
+            myChain.addAll(chain2);
+            myChain.add("D");
+            
+            assertEquals("[A, B, C, D]", myChain.toString());
+            assertEquals("[B, C]", chain2.toString());
+        }
+
+        @Test
+        @DisplayName("AddAll of a chain to itself doubles the chain")
+        void addAllToItselfDoublesChain() {
+            myChain.addRange(new Object[] {"A", "B"});
+            myChain.addAll(myChain);
+            
+            assertEquals("[A, B, A, B]", myChain.toString());
+            assertEquals(4, myChain.size());
+        }
+
+        @Test
+        @DisplayName("Concatenate moves nodes and empties the source")
+        void concatenateMovesNodes() {
+            myChain.addRange(new Object[] {"A", "B"});
+            MyChain chain2 = new MyChain();
+            chain2.addRange(new Object[] {"C", "D"});
+            
+            myChain.concatenate(chain2);
+            myChain.add("E");
+            chain2.add("X");
+            
+            assertEquals("[A, B, C, D, E]", myChain.toString());
+            assertEquals(5, myChain.size());
+            assertEquals("[X]", chain2.toString());
+        }
+
+        @Test
+        @DisplayName("Concatenate onto an empty chain")
+        void concatenateOntoEmptyChain() {
+            MyChain chain2 = new MyChain();
+            chain2.addRange(new Object[] {"A", "B"});
+            
+            myChain.concatenate(chain2);
+            myChain.remove(1);
+            myChain.add("C");
+            
+            assertEquals("[A, C]", myChain.toString());
+            assertTrue(chain2.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Concatenate with itself throws IllegalArgumentException")
+        void concatenateWithItselfThrowsException() {
+            myChain.add("A");
+            assertThrows(IllegalArgumentException.class, () -> myChain.concatenate(myChain));
+        }
+
+        @Test
+        @DisplayName("Clear resets the chain")
+        void clearResetsChain() {
+            myChain.addRange(new Object[] {"A", "B"});
+            myChain.clear();
+            
+            assertTrue(myChain.isEmpty());
+            myChain.add("C");
+            assertEquals("[C]", myChain.toString());
+        }
+    }
+
     @Nested
     @DisplayName("Union Operation Tests")
     class UnionOperationTests {
@@ -731,6 +945,113 @@ public class MyChainTest {
         }
     }
 
+    @Nested
+    @DisplayName("Hash-Assisted Set Operation Tests")
+    class SetOperationTests {
+
+        private MyChain chainOf(Object... elements) {
+            MyChain chain = new MyChain();
+            chain.addRange(elements);
+            return chain;
+        }
+
+        @Test
+        @DisplayName("UnionDistinct drops duplicates and keeps first-occurrence order")
+        void unionDistinctDropsDuplicates() {
+            MyChain result = chainOf("C", "A", "C", "B").unionDistinct(chainOf("B", "D", "A", "D"));
+            
+            assertEquals("[C, A, B, D]", result.toString());
+        }
+
+        @Test
+        @DisplayName("Difference keeps elements not in the given chain")
+        void differenceKeepsElementsNotInGivenChain() {
+            MyChain result = chainOf("A", "B", "A", "C", "D").difference(chainOf("B", "D"));
+            
+            assertEquals("[A, C]", result.toString());
+        }
+
+        @Test
+        @DisplayName("SymmetricDifference keeps elements in exactly one chain")
+        void symmetricDifferenceKeepsElementsInExactlyOneChain() {
+            MyChain result = chainOf("A", "B", "C", "A").symmetricDifference(chainOf("C", "D", "D", "E"));
+            
+            assertEquals("[A, B, D, E]", result.toString());
+        }
+
+        @Test
+        @DisplayName("Set operations with empty chains")
+        void setOperationsWithEmptyChains() {
+            MyChain empty = new MyChain();
+            MyChain chain = chainOf("A", "A");
+            
+            assertEquals("[A]", chain.unionDistinct(empty).toString());
+            assertEquals("[A]", empty.unionDistinct(chain).toString());
+            assertEquals("[A]", chain.difference(empty).toString());
+            assertEquals("[]", empty.difference(chain).toString());
+            assertEquals("[A]", empty.symmetricDifference(chain).toString());
+        }
+
+        @Test
+        @DisplayName("Null elements are handled by the hash strategy")
+        void nullElementsAreHandled() {
+            MyChain result = chainOf(null, "A", null).intersection(chainOf("B", null));
+            
+            assertEquals("[null]", result.toString());
+        }
+
+        @Test
+        @DisplayName("Sort-merge fallback for colliding hash codes gives the same results")
+        void sortMergeFallbackForCollidingHashCodes() {
+            Object[] x = new Object[200];
+            Object[] y = new Object[100];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = new CollidingKey((i * 7) % 150);   // 150 distinct values, 50 repeated
+            }
+            for (int i = 0; i < y.length; i++) {
+                y[i] = new CollidingKey(100 + i);
+            }
+            assertTrue(MyChain.hasPoorHashCodes(x, y));
+            
+            MyChain intersection = chainOf(x).intersection(chainOf(y));
+            assertEquals(50, intersection.size());
+            assertEquals(new CollidingKey(105), intersection.get(0));   // 15 * 7 = 105
+            
+            boolean[] sorted = MyChain.sortMergeFirstOccurrences(x, y, false);
+            boolean[] hashed = MyChain.hashFirstOccurrences(x, y, false);
+            assertArrayEquals(hashed, sorted);
+            assertEquals(200, chainOf(x).unionDistinct(chainOf(y)).size());
+        }
+    }
+
+    /** Comparable key whose hash codes all collide. */
+    static class CollidingKey implements Comparable {
+        private final int value;
+
+        CollidingKey(int value) {
+            this.value = value;
+        }
+
+        public int compareTo(Object other) {
+            return Integer.compare(value, ((CollidingKey) other).value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey && ((CollidingKey) other).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
     @Nested
     @DisplayName("Complex Scenario Tests")
     class ComplexScenarioTests {
@@ -0,0 +1,35 @@
+
+
+/** a grid position (row, col) packed into one long, row in the
+  * high 32 bits and col in the low 32 bits; used with
+  * LongArrayStack and LongArrayQueue so that grid algorithms
+  * need no object per visited position */
+
+package utilities;
+
+public class PackedPosition
+{
+   /** @return the position (row, col) as a long */
+   public static long pack(int row, int col)
+      {return ((long) row << 32) | (col & 0xffffffffL);}
+
+   /** @return row of the packed position p */
+   public static int row(long p)
+      {return (int) (p >> 32);}
+
+   /** @return column of the packed position p */
+   public static int col(long p)
+      {return (int) p;}
+
+   /** @return the packed position p as "row col" */
+   public static String toString(long p)
+      {return row(p) + " " + col(p);}
+
+   /** test program */
+   public static void main(String [] args)
+   {
+      long p = pack(4095, -1);
+      System.out.println("Row is " + row(p) + ", column is " + col(p));
+      System.out.println("As a string: " + toString(p));
+   }
+}